@@ -0,0 +1,611 @@
+package frc.team_8840_lib.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a binding (a subclass of frc.team_8840_lib.utils.binding.Binding) for every class with
+ * {@code @AutoLog} or {@code @IOMethod} members, and checks the replay links of those classes.
+ *
+ * The binding reads, writes and replays the members with direct calls, so the runtime doesn't need reflection.
+ * A replaylink that doesn't point to a WRITE {@code @IOMethod} of the same type is a compile error.
+ */
+public class BindingProcessor extends AbstractProcessor {
+    static final String AUTO_LOG = "frc.team_8840_lib.info.console.AutoLog";
+    static final String IO_METHOD = "frc.team_8840_lib.utils.IO.IOMethod";
+    static final String REPLAYABLE = "frc.team_8840_lib.replay.Replayable";
+
+    static final String BINDING = "frc.team_8840_lib.utils.binding.Binding";
+    static final String LOG_TYPE = "frc.team_8840_lib.info.console.Logger.LogType";
+    static final String IO_VALUE = "frc.team_8840_lib.utils.IO.IOValue";
+    static final String IO_METHOD_TYPE = "frc.team_8840_lib.utils.IO.IOMethodType";
+
+    static final String SUFFIX = "_Binding";
+
+    /**
+     * An {@code @AutoLog} field or method.
+     */
+    private static class AutoLogMember {
+        String name;
+        String logType;
+        boolean isMethod;
+        long periodMs;
+        String link;
+
+        Element element;
+        TypeMirror type;
+    }
+
+    /**
+     * An {@code @IOMethod} method.
+     */
+    private static class IOMember {
+        String name;
+        String valueType;
+        String methodType;
+        boolean toNT;
+
+        ExecutableElement method;
+    }
+
+    private Elements elements;
+    private Types types;
+    private Messager messager;
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+        messager = processingEnv.getMessager();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        //Every type is looked at, since a class can get its auto logs from a superclass without having any annotations itself.
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (elements.getTypeElement(AUTO_LOG) == null || elements.getTypeElement(BINDING) == null) {
+            //Not compiling against the library.
+            return false;
+        }
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            processType(type);
+        }
+
+        return false;
+    }
+
+    private void processType(TypeElement type) {
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            processType(nested);
+        }
+
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.ENUM) return;
+
+        List<AutoLogMember> autoLogs = findAutoLogs(type);
+        List<IOMember> ioMembers = findIOMethods(type);
+
+        if (autoLogs.isEmpty() && ioMembers.isEmpty()) return;
+
+        //Abstract classes are checked and bound through each of their subclasses.
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return;
+
+        if (!validate(type, autoLogs, ioMembers)) return;
+
+        if (!isAccessibleFromPackage(type)) {
+            messager.printMessage(Diagnostic.Kind.NOTE, type.getSimpleName() + " is private, so it will be auto logged through reflection.", type);
+            return;
+        }
+
+        generate(type, autoLogs, ioMembers);
+    }
+
+    private List<AutoLogMember> findAutoLogs(TypeElement type) {
+        List<AutoLogMember> found = new ArrayList<>();
+
+        //Same as the runtime: the declared fields first, then the public methods (including inherited ones).
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            AnnotationMirror autoLog = getAnnotation(field, AUTO_LOG);
+            if (autoLog == null) continue;
+
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "Static @AutoLog fields aren't logged.", field);
+                continue;
+            }
+
+            AutoLogMember member = createAutoLog(autoLog, field, field.asType(), false);
+            if (member != null) found.add(member);
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            AnnotationMirror autoLog = getAnnotation(method, AUTO_LOG);
+            if (autoLog == null) continue;
+
+            if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+                if (method.getEnclosingElement().equals(type)) {
+                    messager.printMessage(Diagnostic.Kind.WARNING, "@AutoLog methods need to be public to be logged.", method);
+                }
+                continue;
+            }
+
+            if (method.getModifiers().contains(Modifier.STATIC)) {
+                messager.printMessage(Diagnostic.Kind.WARNING, "Static @AutoLog methods aren't logged.", method);
+                continue;
+            }
+
+            if (!method.getParameters().isEmpty()) {
+                report(Diagnostic.Kind.ERROR, "@AutoLog method " + method.getSimpleName() + " can't have parameters.", method, type);
+                continue;
+            }
+
+            AutoLogMember member = createAutoLog(autoLog, method, method.getReturnType(), true);
+            if (member != null) found.add(member);
+        }
+
+        return found;
+    }
+
+    private AutoLogMember createAutoLog(AnnotationMirror autoLog, Element element, TypeMirror type, boolean isMethod) {
+        AutoLogMember member = new AutoLogMember();
+
+        String name = (String) getValue(autoLog, "name");
+
+        member.name = (name.length() == 0 ? element.getSimpleName().toString() : name).replace('/', '|');
+        member.logType = logTypeOf(type);
+        member.isMethod = isMethod;
+        member.periodMs = ((Number) getValue(autoLog, "periodMs")).longValue();
+        member.link = (String) getValue(autoLog, "replaylink");
+        member.element = element;
+        member.type = type;
+
+        if (member.logType == null) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "Unknown log type " + type + " for auto log " + member.name + ". Please only use String, int, double, boolean, String[], double[], or byte[], or encode your information into a String!", element);
+            return null;
+        }
+
+        return member;
+    }
+
+    private List<IOMember> findIOMethods(TypeElement type) {
+        List<IOMember> found = new ArrayList<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            AnnotationMirror ioMethod = getAnnotation(method, IO_METHOD);
+            if (ioMethod == null) continue;
+
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+                if (method.getEnclosingElement().equals(type)) {
+                    messager.printMessage(Diagnostic.Kind.WARNING, "@IOMethod methods need to be public instance methods to be used.", method);
+                }
+                continue;
+            }
+
+            IOMember member = new IOMember();
+
+            member.name = (String) getValue(ioMethod, "name");
+            member.valueType = ((VariableElement) getValue(ioMethod, "value_type")).getSimpleName().toString();
+            member.methodType = ((VariableElement) getValue(ioMethod, "method_type")).getSimpleName().toString();
+            member.toNT = (Boolean) getValue(ioMethod, "toNT");
+            member.method = method;
+
+            found.add(member);
+        }
+
+        return found;
+    }
+
+    /**
+     * Checks the IO methods and the replay links of a class, the same way Replayable does when it's constructed.
+     * @return Whether the class is fine to generate a binding for
+     */
+    private boolean validate(TypeElement type, List<AutoLogMember> autoLogs, List<IOMember> ioMembers) {
+        boolean valid = true;
+
+        for (IOMember io : ioMembers) {
+            if (io.methodType.equals("WRITE") && io.method.getParameters().size() != 1) {
+                report(Diagnostic.Kind.ERROR, "WRITE @IOMethod " + io.name + " needs exactly one parameter.", io.method, type);
+                valid = false;
+            } else if (io.methodType.equals("READ") && (!io.method.getParameters().isEmpty() || io.method.getReturnType().getKind() == TypeKind.VOID)) {
+                report(Diagnostic.Kind.ERROR, "READ @IOMethod " + io.name + " can't have parameters, and needs to return a value.", io.method, type);
+                valid = false;
+            }
+        }
+
+        for (AutoLogMember autoLog : autoLogs) {
+            if (autoLog.link.length() == 0) continue;
+
+            IOMember target = findWriteMethod(ioMembers, autoLog.link);
+
+            if (target == null) {
+                report(Diagnostic.Kind.ERROR, "The replaylink \"" + autoLog.link + "\" of " + autoLog.name + " doesn't match any WRITE @IOMethod in " + type.getSimpleName() + ".", autoLog.element, type);
+                valid = false;
+                continue;
+            }
+
+            if (target.method.getParameters().size() != 1) continue;
+
+            TypeMirror parameter = target.method.getParameters().get(0).asType();
+
+            if (!autoLog.logType.equals(logTypeOf(parameter))) {
+                report(Diagnostic.Kind.ERROR, "The replaylink \"" + autoLog.link + "\" of " + autoLog.name + " replays a " + autoLog.type + ", but " + target.method.getSimpleName() + " takes a " + parameter + ".", autoLog.element, type);
+                valid = false;
+            }
+        }
+
+        TypeElement replayable = elements.getTypeElement(REPLAYABLE);
+
+        if (replayable != null && types.isSubtype(types.erasure(type.asType()), types.erasure(replayable.asType()))) {
+            Set<String> names = new HashSet<>();
+
+            for (AutoLogMember autoLog : autoLogs) {
+                if (!names.add(autoLog.isMethod ? autoLog.name : "field_" + autoLog.name)) {
+                    report(Diagnostic.Kind.ERROR, "All methods in a replayable class must have unique names, but " + autoLog.name + " is used more than once.", autoLog.element, type);
+                    valid = false;
+                }
+            }
+
+            for (IOMember io : ioMembers) {
+                if (!names.add(io.name)) {
+                    report(Diagnostic.Kind.ERROR, "All methods in a replayable class must have unique names, but " + io.name + " is used more than once.", io.method, type);
+                    valid = false;
+                }
+            }
+        }
+
+        return valid;
+    }
+
+    private static IOMember findWriteMethod(List<IOMember> ioMembers, String name) {
+        for (IOMember io : ioMembers) {
+            if (io.methodType.equals("WRITE") && io.name.equals(name)) return io;
+        }
+
+        return null;
+    }
+
+    private void generate(TypeElement type, List<AutoLogMember> autoLogs, List<IOMember> ioMembers) {
+        PackageElement packageElement = elements.getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+
+        String binaryName = elements.getBinaryName(type).toString();
+        String simpleName = (packageName.length() > 0 ? binaryName.substring(packageName.length() + 1) : binaryName).replace('$', '_') + SUFFIX;
+        String qualifiedName = (packageName.length() > 0 ? packageName + "." : "") + simpleName;
+
+        if (!generated.add(qualifiedName)) return;
+
+        String target = types.erasure(type.asType()).toString();
+
+        StringBuilder code = new StringBuilder();
+
+        if (packageName.length() > 0) code.append("package ").append(packageName).append(";\n\n");
+
+        code.append("/**\n");
+        code.append(" * Generated by ").append(BindingProcessor.class.getName()).append(" for {@link ").append(target).append("}. Do not edit.\n");
+        code.append(" */\n");
+        code.append("@SuppressWarnings({\"rawtypes\", \"unchecked\", \"cast\"})\n");
+        code.append("public final class ").append(simpleName).append(" extends ").append(BINDING).append(" {\n");
+
+        //Private fields can't be reached directly, so they get MethodHandles that are looked up once when the binding is loaded.
+        StringBuilder handles = new StringBuilder();
+        StringBuilder lookups = new StringBuilder();
+
+        for (int i = 0; i < autoLogs.size(); i++) {
+            AutoLogMember autoLog = autoLogs.get(i);
+            if (autoLog.isMethod || !autoLog.element.getModifiers().contains(Modifier.PRIVATE)) continue;
+
+            String fieldType = types.erasure(autoLog.type).toString();
+            String fieldName = autoLog.element.getSimpleName().toString();
+
+            handles.append("    private static final java.lang.invoke.MethodHandle GET_").append(i).append(";\n");
+            lookups.append("            GET_").append(i).append(" = lookup.findGetter(").append(target).append(".class, \"").append(fieldName).append("\", ").append(fieldType).append(".class);\n");
+
+            if (!autoLog.element.getModifiers().contains(Modifier.FINAL)) {
+                handles.append("    private static final java.lang.invoke.MethodHandle SET_").append(i).append(";\n");
+                lookups.append("            SET_").append(i).append(" = lookup.findSetter(").append(target).append(".class, \"").append(fieldName).append("\", ").append(fieldType).append(".class);\n");
+            }
+        }
+
+        if (handles.length() > 0) {
+            code.append(handles).append("\n");
+            code.append("    static {\n");
+            code.append("        try {\n");
+            code.append("            java.lang.invoke.MethodHandles.Lookup lookup = java.lang.invoke.MethodHandles.privateLookupIn(").append(target).append(".class, java.lang.invoke.MethodHandles.lookup());\n\n");
+            code.append(lookups);
+            code.append("        } catch (ReflectiveOperationException e) {\n");
+            code.append("            throw new ExceptionInInitializerError(e);\n");
+            code.append("        }\n");
+            code.append("    }\n\n");
+        }
+
+        //Constructor with the names and types of every member.
+        code.append("    public ").append(simpleName).append("() {\n");
+        code.append("        super(\n");
+        code.append("            ").append(target).append(".class,\n");
+
+        List<String> names = new ArrayList<>(), logTypes = new ArrayList<>(), isMethods = new ArrayList<>(), periods = new ArrayList<>(), links = new ArrayList<>();
+        for (AutoLogMember autoLog : autoLogs) {
+            names.add(literal(autoLog.name));
+            logTypes.add(LOG_TYPE + "." + autoLog.logType);
+            isMethods.add(String.valueOf(autoLog.isMethod));
+            periods.add(autoLog.periodMs + "L");
+            links.add(literal(autoLog.link));
+        }
+
+        List<String> ioNames = new ArrayList<>(), ioValueTypes = new ArrayList<>(), ioMethodTypes = new ArrayList<>(), ioToNT = new ArrayList<>();
+        for (IOMember io : ioMembers) {
+            ioNames.add(literal(io.name));
+            ioValueTypes.add(IO_VALUE + "." + io.valueType);
+            ioMethodTypes.add(IO_METHOD_TYPE + "." + io.methodType);
+            ioToNT.add(String.valueOf(io.toNT));
+        }
+
+        code.append("            ").append(array("String", names)).append(",\n");
+        code.append("            ").append(array(LOG_TYPE, logTypes)).append(",\n");
+        code.append("            ").append(array("boolean", isMethods)).append(",\n");
+        code.append("            ").append(array("long", periods)).append(",\n");
+        code.append("            ").append(array("String", links)).append(",\n");
+        code.append("            ").append(array("String", ioNames)).append(",\n");
+        code.append("            ").append(array(IO_VALUE, ioValueTypes)).append(",\n");
+        code.append("            ").append(array(IO_METHOD_TYPE, ioMethodTypes)).append(",\n");
+        code.append("            ").append(array("boolean", ioToNT)).append("\n");
+        code.append("        );\n");
+        code.append("    }\n");
+
+        //Getters, one switch per return type.
+        appendGetter(code, target, autoLogs, "double", "getDouble", "DOUBLE");
+        appendGetter(code, target, autoLogs, "int", "getInt", "INT");
+        appendGetter(code, target, autoLogs, "boolean", "getBoolean", "BOOLEAN");
+        appendGetter(code, target, autoLogs, "Object", "getObject", null);
+
+        //IO methods.
+        code.append("\n    @Override\n");
+        code.append("    public Object readIO(Object instance, int index) throws Throwable {\n");
+        code.append("        ").append(target).append(" target = (").append(target).append(") instance;\n\n");
+        code.append("        switch (index) {\n");
+        for (int i = 0; i < ioMembers.size(); i++) {
+            IOMember io = ioMembers.get(i);
+            if (!io.methodType.equals("READ")) continue;
+
+            code.append("            case ").append(i).append(": return target.").append(io.method.getSimpleName()).append("();\n");
+        }
+        code.append("            default: throw new IllegalArgumentException(\"No READ IO method at index \" + index);\n");
+        code.append("        }\n");
+        code.append("    }\n");
+
+        code.append("\n    @Override\n");
+        code.append("    public void writeIO(Object instance, int index, Object value) throws Throwable {\n");
+        code.append("        ").append(target).append(" target = (").append(target).append(") instance;\n\n");
+        code.append("        switch (index) {\n");
+        for (int i = 0; i < ioMembers.size(); i++) {
+            IOMember io = ioMembers.get(i);
+            if (!io.methodType.equals("WRITE")) continue;
+
+            code.append("            case ").append(i).append(": target.").append(io.method.getSimpleName()).append("(").append(cast(io.method.getParameters().get(0).asType())).append("value); return;\n");
+        }
+        code.append("            default: throw new IllegalArgumentException(\"No WRITE IO method at index \" + index);\n");
+        code.append("        }\n");
+        code.append("    }\n");
+
+        //Replay, with the links already resolved. The first auto log with a name wins, the same as the reflection based replay.
+        code.append("\n    @Override\n");
+        code.append("    public boolean replay(Object instance, String name, Object value) throws Throwable {\n");
+        code.append("        ").append(target).append(" target = (").append(target).append(") instance;\n\n");
+        code.append("        switch (name) {\n");
+
+        Set<String> replayed = new HashSet<>();
+
+        for (int i = 0; i < autoLogs.size(); i++) {
+            AutoLogMember autoLog = autoLogs.get(i);
+
+            if (!replayed.add(autoLog.name)) continue;
+
+            if (autoLog.link.length() > 0) {
+                IOMember io = findWriteMethod(ioMembers, autoLog.link);
+
+                code.append("            case ").append(literal(autoLog.name)).append(": target.").append(io.method.getSimpleName()).append("(").append(cast(io.method.getParameters().get(0).asType())).append("value); return true;\n");
+            } else if (!autoLog.isMethod && !autoLog.element.getModifiers().contains(Modifier.FINAL)) {
+                //Fields without a link replay into themselves.
+                if (autoLog.element.getModifiers().contains(Modifier.PRIVATE)) {
+                    code.append("            case ").append(literal(autoLog.name)).append(": SET_").append(i).append(".invokeExact(target, ").append(cast(autoLog.type)).append("value); return true;\n");
+                } else {
+                    code.append("            case ").append(literal(autoLog.name)).append(": target.").append(autoLog.element.getSimpleName()).append(" = ").append(cast(autoLog.type)).append("value; return true;\n");
+                }
+            }
+        }
+
+        code.append("            default: return false;\n");
+        code.append("        }\n");
+        code.append("    }\n");
+
+        code.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(code.toString());
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unable to write the binding of " + type.getSimpleName() + ": " + e.getMessage(), type);
+        }
+    }
+
+    private void appendGetter(StringBuilder code, String target, List<AutoLogMember> autoLogs, String returnType, String methodName, String logType) {
+        code.append("\n    @Override\n");
+        code.append("    public ").append(returnType).append(" ").append(methodName).append("(Object instance, int index) throws Throwable {\n");
+        code.append("        ").append(target).append(" target = (").append(target).append(") instance;\n\n");
+        code.append("        switch (index) {\n");
+
+        for (int i = 0; i < autoLogs.size(); i++) {
+            AutoLogMember autoLog = autoLogs.get(i);
+
+            boolean primitiveType = autoLog.logType.equals("DOUBLE") || autoLog.logType.equals("INT") || autoLog.logType.equals("BOOLEAN");
+
+            if (logType == null ? primitiveType : !autoLog.logType.equals(logType)) continue;
+
+            code.append("            case ").append(i).append(": return ");
+
+            if (autoLog.isMethod) {
+                code.append("target.").append(autoLog.element.getSimpleName()).append("()");
+            } else if (autoLog.element.getModifiers().contains(Modifier.PRIVATE)) {
+                code.append("(").append(types.erasure(autoLog.type)).append(") GET_").append(i).append(".invokeExact(target)");
+            } else {
+                code.append("target.").append(autoLog.element.getSimpleName());
+            }
+
+            code.append(";\n");
+        }
+
+        code.append("            default: throw new IllegalArgumentException(\"No ").append(logType == null ? "Object" : returnType).append(" auto log at index \" + index);\n");
+        code.append("        }\n");
+        code.append("    }\n");
+    }
+
+    /**
+     * @return The LogType (as its name) values of a Java type are logged as, or null if it can't be logged
+     */
+    private String logTypeOf(TypeMirror type) {
+        switch (types.erasure(type).toString()) {
+            case "java.lang.String":
+                return "STRING";
+            case "int":
+            case "java.lang.Integer":
+                return "INT";
+            case "double":
+            case "java.lang.Double":
+                return "DOUBLE";
+            case "boolean":
+            case "java.lang.Boolean":
+                return "BOOLEAN";
+            case "java.lang.String[]":
+                return "STRING_ARRAY";
+            case "double[]":
+            case "java.lang.Double[]":
+                return "DOUBLE_ARRAY";
+            case "byte[]":
+                return "BYTE_ARRAY";
+            default:
+                return null;
+        }
+    }
+
+    private String cast(TypeMirror type) {
+        return "(" + types.erasure(type) + ") ";
+    }
+
+    /**
+     * Checks if the binding (a top level class in the same package) can use the type.
+     */
+    private static boolean isAccessibleFromPackage(TypeElement type) {
+        Element element = type;
+
+        while (element instanceof TypeElement) {
+            TypeElement typeElement = (TypeElement) element;
+
+            if (typeElement.getModifiers().contains(Modifier.PRIVATE)) return false;
+            if (typeElement.getNestingKind() == NestingKind.LOCAL || typeElement.getNestingKind() == NestingKind.ANONYMOUS) return false;
+
+            element = element.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    /**
+     * Reports a problem on the member if it's in the source being compiled, or on the type if it's inherited from a compiled class.
+     */
+    private void report(Diagnostic.Kind kind, String message, Element member, TypeElement type) {
+        boolean inType = false;
+
+        for (Element enclosing = member.getEnclosingElement(); enclosing != null; enclosing = enclosing.getEnclosingElement()) {
+            if (enclosing.equals(type)) inType = true;
+        }
+
+        messager.printMessage(kind, message, inType ? member : type);
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+
+            if (annotation.getQualifiedName().contentEquals(annotationName)) return mirror;
+        }
+
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue().getValue();
+        }
+
+        return null;
+    }
+
+    private static String array(String type, List<String> values) {
+        return "new " + type + "[] { " + String.join(", ", values) + " }";
+    }
+
+    private static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    literal.append("\\\"");
+                    break;
+                case '\\':
+                    literal.append("\\\\");
+                    break;
+                case '\n':
+                    literal.append("\\n");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                    break;
+            }
+        }
+
+        return literal.append("\"").toString();
+    }
+}
@@ -10,7 +10,10 @@ import frc.team_8840_lib.info.console.AutoLog;
 import frc.team_8840_lib.info.console.Logger;
 import frc.team_8840_lib.info.console.Logger.LogType;
 import frc.team_8840_lib.input.communication.CommunicationManager;
+import frc.team_8840_lib.replay.ReplayContext;
 import frc.team_8840_lib.replay.Replayable;
+import frc.team_8840_lib.utils.binding.Binding;
+import frc.team_8840_lib.utils.binding.Bindings;
 import frc.team_8840_lib.utils.IO.IOLayer;
 import frc.team_8840_lib.utils.IO.IOMethod;
 import frc.team_8840_lib.utils.IO.IOMethodType;
@@ -43,6 +46,9 @@ public class IOManager implements Loggable {
     }
 
     public static void addIO(IOLayer layer) {
+        //Layers made for a batch replay aren't part of the robot's IO.
+        if (ReplayContext.current() != null) return;
+
         getInstance().addIOLayer(layer);
     }
 
@@ -102,42 +108,36 @@ public class IOManager implements Loggable {
                     );
             }
 
-            for (Method method : layer.getClass().getMethods()) {                
-                IOMethod iomethod = method.getAnnotation(IOMethod.class);
-
-                if (iomethod == null) {
-                    continue;
-                }
+            for (IOEntry iomethod : getIOEntries(layer.getClass())) {
+                if (!iomethod.toNT) continue;
 
-                if (!iomethod.toNT()) continue;
-
-                String key = layer.getBaseName() + "/" + layerCount.get(layer.getBaseName()) + "/" + iomethod.name();
+                String key = layer.getBaseName() + "/" + layerCount.get(layer.getBaseName()) + "/" + iomethod.name;
 
                 /*
                 We don't need the write methods since they're supposed to be invoked
                 when writing. All we're doing here is reading the methods so
                 it's not needed.
                 */
-                if (iomethod.method_type() == IOMethodType.WRITE) {
+                if (iomethod.methodType == IOMethodType.WRITE) {
                     hasWrite = true;
 
                     IOWriteInfo writeInfo = new IOWriteInfo(
                         key,
                         layer,
-                        method,
-                        iomethod.value_type()
+                        iomethod,
+                        iomethod.valueType
                     );
                     
                     if (outputingToComms) {
                         //just write the type of the value.
                         CommunicationManager.getInstance()
-                            .updateInfo("IO", key + "/t", iomethod.value_type().toString());
+                            .updateInfo("IO", key + "/t", iomethod.valueType.toString());
                     }
 
                     ioWriteInfo.add(writeInfo);
 
                     continue;
-                } else if (iomethod.method_type() == IOMethodType.READ) {
+                } else if (iomethod.methodType == IOMethodType.READ) {
                     hasRead = true;
                 }
 
@@ -146,18 +146,18 @@ public class IOManager implements Loggable {
                 }
 
                 try {
-                    if (iomethod.method_type() == IOMethodType.READ) {
+                    if (iomethod.methodType == IOMethodType.READ) {
                         data.get(layer.getBaseName()).add(
                             new IOInfo(
                                 key,
-                                method.invoke(layer),
-                                iomethod.value_type(),
+                                iomethod.read(layer),
+                                iomethod.valueType,
                                 perms,
                                 layer.isReal()
                             )
                         );
                     }
-                } catch (Exception e) {
+                } catch (Throwable e) {
                     e.printStackTrace();
                     throw new IllegalAccessError("[IOManager] All @IOMethod methods must be declared as public, or there may have been an issue with the method.");
                 }
@@ -249,47 +249,47 @@ public class IOManager implements Loggable {
 
                 recordedWriteChanges.put(key, lastEdited);
 
-                Method method = writeInfo.method;
+                IOEntry method = writeInfo.method;
                 IOLayer layer = writeInfo.layer;
 
                 IOValue valueType = writeInfo.type;
 
-                Logger.Log("[IOManager] Recieved IO Update for " + key + ".");
+                Logger.Debug("IOManager", "Recieved IO Update for %s.", key);
 
                 try {
                     switch (valueType) {
                         case DOUBLE:
-                            method.invoke(layer, (double) entry.getDouble(0d));
+                            method.write(layer, (double) entry.getDouble(0d));
                             break;
                         case INT:
-                            method.invoke(layer, (int) entry.getInteger(0L));
+                            method.write(layer, (int) entry.getInteger(0L));
                             break;
                         case STRING:
-                            method.invoke(layer, (String) entry.getString("ERROR"));
+                            method.write(layer, (String) entry.getString("ERROR"));
                             break;
                         case BOOLEAN:
-                            method.invoke(layer, (boolean) entry.getBoolean(false));
+                            method.write(layer, (boolean) entry.getBoolean(false));
                             break;
                         case BYTE_ARRAY:
-                            method.invoke(layer, (byte[]) entry.getRaw(new byte[0]));
+                            method.write(layer, (byte[]) entry.getRaw(new byte[0]));
                             break;
                         case DOUBLE_ARRAY:
-                            method.invoke(layer, (double[]) entry.getDoubleArray(new double[0]));
+                            method.write(layer, (double[]) entry.getDoubleArray(new double[0]));
                             break;
                         case LONG_ARRAY:
-                            method.invoke(layer, (long[]) entry.getIntegerArray(new long[0]));
+                            method.write(layer, (long[]) entry.getIntegerArray(new long[0]));
                             break;
                         case STRING_ARRAY:
-                            method.invoke(layer, (Object[]) entry.getStringArray(new String[0]));
+                            method.write(layer, (String[]) entry.getStringArray(new String[0]));
                             break;
                         case BOOLEAN_ARRAY:
-                            method.invoke(layer, (boolean[]) entry.getBooleanArray(new boolean[0]));
+                            method.write(layer, (boolean[]) entry.getBooleanArray(new boolean[0]));
                             break;
                         case NONE:
                         default:
                             break;
                     }
-                } catch (Exception e) {
+                } catch (Throwable e) {
                     e.printStackTrace();
                     throw new IllegalArgumentException("[IOManager] There was an issue parsing the value returned from the read method " + key + ". Are the types matched up?");
                 }
@@ -379,11 +379,11 @@ public class IOManager implements Loggable {
 
     private class IOWriteInfo {
         public String name;
-        public Method method;
+        public IOEntry method;
         public IOValue type;
         public IOLayer layer;
 
-        public IOWriteInfo(String name, IOLayer layer, Method method, IOValue type) {
+        public IOWriteInfo(String name, IOLayer layer, IOEntry method, IOValue type) {
             this.name = name;
             this.method = method;
             this.type = type;
@@ -391,6 +391,86 @@ public class IOManager implements Loggable {
         }
     }
 
+    /**
+     * An {@link IOMethod} of a class, either from its generated {@link Binding} or found through reflection.
+     */
+    private static class IOEntry {
+        public final String name;
+        public final IOValue valueType;
+        public final IOMethodType methodType;
+        public final boolean toNT;
+
+        private final Binding binding;
+        private final int index;
+        private final Method method;
+
+        public IOEntry(Binding binding, int index) {
+            this.name = binding.getIOName(index);
+            this.valueType = binding.getIOValueType(index);
+            this.methodType = binding.getIOMethodType(index);
+            this.toNT = binding.isIOToNT(index);
+
+            this.binding = binding;
+            this.index = index;
+            this.method = null;
+        }
+
+        public IOEntry(Method method, IOMethod iomethod) {
+            this.name = iomethod.name();
+            this.valueType = iomethod.value_type();
+            this.methodType = iomethod.method_type();
+            this.toNT = iomethod.toNT();
+
+            this.binding = null;
+            this.index = -1;
+            this.method = method;
+        }
+
+        public Object read(IOLayer layer) throws Throwable {
+            if (binding != null) return binding.readIO(layer, index);
+
+            return method.invoke(layer);
+        }
+
+        public void write(IOLayer layer, Object value) throws Throwable {
+            if (binding != null) {
+                binding.writeIO(layer, index, value);
+                return;
+            }
+
+            method.invoke(layer, value);
+        }
+    }
+
+    //The IO methods of each class, so classes are only scanned once.
+    private static final HashMap<Class<?>, IOEntry[]> ioEntries = new HashMap<>();
+
+    private static synchronized IOEntry[] getIOEntries(Class<?> klass) {
+        IOEntry[] entries = ioEntries.get(klass);
+        if (entries != null) return entries;
+
+        ArrayList<IOEntry> found = new ArrayList<>();
+
+        Binding binding = Bindings.of(klass);
+
+        if (binding != null) {
+            for (int i = 0; i < binding.getIOMethodCount(); i++) {
+                found.add(new IOEntry(binding, i));
+            }
+        } else {
+            for (Method method : klass.getMethods()) {
+                IOMethod iomethod = method.getAnnotation(IOMethod.class);
+
+                if (iomethod != null) found.add(new IOEntry(method, iomethod));
+            }
+        }
+
+        entries = found.toArray(new IOEntry[0]);
+        ioEntries.put(klass, entries);
+
+        return entries;
+    }
+
     public String getBaseName() {
         return "IOManager";
     }
@@ -8,7 +8,8 @@ import frc.team_8840_lib.utils.IO.IOLayer;
 import frc.team_8840_lib.utils.IO.IOMethod;
 import frc.team_8840_lib.utils.IO.IOMethodType;
 import frc.team_8840_lib.utils.IO.IOValue;
-import frc.team_8840_lib.utils.buffer.ByteConversions;
+import frc.team_8840_lib.utils.buffer.BufferPool;
+import frc.team_8840_lib.utils.buffer.BufferWriter;
 import frc.team_8840_lib.utils.logging.Loggable;
 
 public class IOPowerDistribution extends IOLayer implements Loggable {
@@ -146,12 +147,9 @@ public class IOPowerDistribution extends IOLayer implements Loggable {
          * 7+: current of channel 0 to n
          */
 
-        try {
-            byte[] voltageEncoded = ByteConversions.doubleToByteArray(voltage);
-            byte[] nOfChannelsEncoded = ByteConversions.doubleToByteArray((double) nOfChannels);
-            byte[] tempatureEncoded = ByteConversions.doubleToByteArray(tempature);
-            byte[] totalCurrentEncoded = ByteConversions.doubleToByteArray(totalCurrent);
+        BufferWriter writer = BufferPool.acquire();
 
+        try {
             /*
              * Format is as follow
              * voltage,
@@ -167,58 +165,22 @@ public class IOPowerDistribution extends IOLayer implements Loggable {
              * etc..
              */
 
-            byte[] data = new byte[4 + voltageEncoded.length + tempatureEncoded.length + totalCurrentEncoded.length + nOfChannelsEncoded.length + (8 * nOfChannels)];
-
-            int index = 0;
-
-            for (int i = 0; i < voltageEncoded.length; i++) {
-                data[index] = voltageEncoded[i];
-                index++;
-            }
-
-            data[index] = 0x00;
-
-            index++;
-
-            for (int i = 0; i < tempatureEncoded.length; i++) {
-                data[index] = tempatureEncoded[i];
-                index++;
-            }
-
-            data[index] = 0x00;
+            writer.ensure(4 * 9 + 8 * nOfChannels);
 
-            index++;
-
-            for (int i = 0; i < totalCurrentEncoded.length; i++) {
-                data[index] = tempatureEncoded[i];
-                index++;
-            }
-
-            data[index] = 0x00;
-
-            index++;
-
-            for (int i = 0; i < nOfChannelsEncoded.length; i++) {
-                data[index] = nOfChannelsEncoded[i];
-                index++;
-            }
-
-            data[index] = 0x00;
-
-            index++;
+            writer.putDouble(voltage).putByte((byte) 0x00);
+            writer.putDouble(tempature).putByte((byte) 0x00);
+            writer.putDouble(totalCurrent).putByte((byte) 0x00);
+            writer.putDouble((double) nOfChannels).putByte((byte) 0x00);
 
             for (int i = 0; i < nOfChannels; i++) {
-                byte[] currentEncoded = ByteConversions.doubleToByteArray(getCurrent(i));
-
-                for (int j = 0; j < currentEncoded.length; j++) {
-                    data[index] = currentEncoded[j];
-                    index++;
-                }
+                writer.putDouble(getCurrent(i));
             }
 
-            return data;
+            return writer.toByteArray();
         } catch (Exception e) {
             return new byte[0];
+        } finally {
+            BufferPool.release(writer);
         }
     }
 }
@@ -188,7 +188,7 @@ public class SwerveDrive extends Replayable {
 
     /* Logging Methods */
 
-    @AutoLog(name = "Gyroscope", replaylink = "replayGyroscope")
+    @AutoLog(name = "Gyroscope", replaylink = "replayGyroscope", periodMs = 20)
     public double[] getPointing() {
         return m_pigeon.getYawPitchRoll();
     }
@@ -212,7 +212,7 @@ public class SwerveDrive extends Replayable {
         m_replayOpenLoop = openLoop;
     }
 
-    @AutoLog(name = "Angles", replaylink = "replayAngles")
+    @AutoLog(name = "Angles", replaylink = "replayAngles", periodMs = 20)
     public double[] getAngles() {
         return new double[] {
             m_frontRight.getAngle().getDegrees(),
@@ -239,7 +239,7 @@ public class SwerveDrive extends Replayable {
         m_backLeft.setAngle(rotAngles[3], m_isInitialized);
     }
 
-    @AutoLog(name = "Speeds", replaylink = "replaySpeeds")
+    @AutoLog(name = "Speeds", replaylink = "replaySpeeds", periodMs = 20)
     public double[] getSpeeds() {
         return new double[] {
             m_frontRight.getSpeed().get(Type.METERS),
@@ -10,5 +10,11 @@ public @interface AutoLog {
     public String name() default "";
 
     public String replaylink() default "";
+
+    /**
+     * How often the value is logged, in milliseconds. 0 logs it at the default interval ({@link Logger#getLogInterval()}).
+     * Values with the same period are logged together in one rate tier.
+     */
+    public long periodMs() default 0;
 }
 
@@ -0,0 +1,285 @@
+package frc.team_8840_lib.info.console;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.binding.Binding;
+import frc.team_8840_lib.utils.binding.Bindings;
+import frc.team_8840_lib.utils.logging.Loggable;
+
+/**
+ * The list of {@link AutoLog} fields and methods of a class, found once through reflection and stored as MethodHandles.
+ * This way, the auto logging thread only has to invoke the handles every cycle instead of scanning the class again.
+ * If the class has a generated {@link Binding}, that's used instead, and no reflection is needed at all.
+ */
+public class AutoLogPlan {
+    private static final HashMap<Class<?>, AutoLogPlan> plans = new HashMap<>();
+
+    /**
+     * Returns the plan of a class, creating it the first time the class is seen.
+     * @param klass The class to get the plan of
+     * @return The plan of the class
+     */
+    public static synchronized AutoLogPlan of(Class<?> klass) {
+        AutoLogPlan plan = plans.get(klass);
+
+        if (plan == null) {
+            plan = new AutoLogPlan(klass);
+            plans.put(klass, plan);
+        }
+
+        return plan;
+    }
+
+    /**
+     * A single auto logged field or method.
+     */
+    public static class Accessor {
+        private final String name;
+        private final LogType type;
+        private final boolean isMethod;
+        private final long periodMs;
+
+        //Adapted to (Object) -> double/int/boolean for the primitive types, and (Object) -> Object for the rest.
+        private final MethodHandle getter;
+
+        //Set instead of the getter when the class has a generated binding.
+        private final Binding binding;
+        private final int bindingIndex;
+
+        private Accessor(Binding binding, int bindingIndex) {
+            this.name = binding.getAutoLogName(bindingIndex);
+            this.type = binding.getAutoLogType(bindingIndex);
+            this.isMethod = binding.isAutoLogMethod(bindingIndex);
+            this.periodMs = binding.getAutoLogPeriod(bindingIndex);
+
+            this.getter = null;
+            this.binding = binding;
+            this.bindingIndex = bindingIndex;
+        }
+
+        private Accessor(String name, LogType type, boolean isMethod, long periodMs, MethodHandle getter) {
+            this.name = name;
+            this.type = type;
+            this.isMethod = isMethod;
+            this.periodMs = periodMs;
+
+            this.binding = null;
+            this.bindingIndex = -1;
+
+            switch (type) {
+                case DOUBLE:
+                    this.getter = getter.asType(MethodType.methodType(double.class, Object.class));
+                    break;
+                case INT:
+                    this.getter = getter.asType(MethodType.methodType(int.class, Object.class));
+                    break;
+                case BOOLEAN:
+                    this.getter = getter.asType(MethodType.methodType(boolean.class, Object.class));
+                    break;
+                default:
+                    this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+                    break;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LogType getType() {
+            return type;
+        }
+
+        public boolean isMethod() {
+            return isMethod;
+        }
+
+        /**
+         * @return How often the value is logged in milliseconds, or 0 for the default interval
+         */
+        public long getPeriodMs() {
+            return periodMs;
+        }
+
+        public double getDouble(Object instance) throws Throwable {
+            if (binding != null) return binding.getDouble(instance, bindingIndex);
+
+            return (double) getter.invokeExact(instance);
+        }
+
+        public int getInt(Object instance) throws Throwable {
+            if (binding != null) return binding.getInt(instance, bindingIndex);
+
+            return (int) getter.invokeExact(instance);
+        }
+
+        public boolean getBoolean(Object instance) throws Throwable {
+            if (binding != null) return binding.getBoolean(instance, bindingIndex);
+
+            return (boolean) getter.invokeExact(instance);
+        }
+
+        /**
+         * Returns the value of a non-primitive type (String, String[], double[] or byte[]).
+         * @param instance The instance to get the value from
+         * @return The value
+         * @throws Throwable Anything thrown by the field/method
+         */
+        public Object getObject(Object instance) throws Throwable {
+            if (binding != null) return binding.getObject(instance, bindingIndex);
+
+            return (Object) getter.invokeExact(instance);
+        }
+    }
+
+    /**
+     * An instance that's being auto logged, with the reference numbers of each of its values.
+     */
+    public static class Target {
+        private final Loggable loggable;
+        private final AutoLogPlan plan;
+        private final String[] names;
+        private final int[] references;
+        private final int[] tiers;
+
+        protected Target(Loggable loggable, AutoLogPlan plan, int[] references, int[] tiers) {
+            this.loggable = loggable;
+            this.plan = plan;
+            this.references = references;
+            this.tiers = tiers;
+
+            this.names = new String[plan.accessors.length];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = loggable.getBaseName() + "|" + plan.accessors[i].name;
+            }
+        }
+
+        public Loggable getLoggable() {
+            return loggable;
+        }
+
+        public AutoLogPlan getPlan() {
+            return plan;
+        }
+
+        /**
+         * @param index Index of the accessor in the plan
+         * @return The full name (base name + "|" + name) of the value
+         */
+        public String getName(int index) {
+            return names[index];
+        }
+
+        /**
+         * @param index Index of the accessor in the plan
+         * @return The reference number of the value
+         */
+        public int getReference(int index) {
+            return references[index];
+        }
+
+        /**
+         * @param index Index of the accessor in the plan
+         * @return The rate tier the value is logged in
+         */
+        public int getTier(int index) {
+            return tiers[index];
+        }
+    }
+
+    private final Class<?> klass;
+    private final Accessor[] accessors;
+
+    @SuppressWarnings("deprecation")
+    private AutoLogPlan(Class<?> klass) {
+        this.klass = klass;
+
+        ArrayList<Accessor> found = new ArrayList<>();
+
+        Binding binding = Bindings.of(klass);
+
+        if (binding != null) {
+            for (int i = 0; i < binding.getAutoLogCount(); i++) {
+                found.add(new Accessor(binding, i));
+            }
+
+            accessors = found.toArray(new Accessor[0]);
+            return;
+        }
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        //Same order as before: declared fields first, then the public methods.
+        for (Field field : klass.getDeclaredFields()) {
+            AutoLog autoLog = field.getAnnotation(AutoLog.class);
+            if (autoLog == null) continue;
+
+            String name = resolveName(autoLog, field.getName());
+            LogType type = LogType.fromClass(field.getType());
+
+            if (!checkType(name, type)) continue;
+
+            try {
+                field.setAccessible(true);
+                found.add(new Accessor(name, type, false, autoLog.periodMs(), lookup.unreflectGetter(field)));
+            } catch (Exception e) {
+                Logger.Log("[Logger] Unable to access auto log " + name + " in " + klass.getSimpleName() + ". It will not be logged.");
+                e.printStackTrace();
+            }
+        }
+
+        for (Method method : klass.getMethods()) {
+            AutoLog autoLog = method.getAnnotation(AutoLog.class);
+            if (autoLog == null) continue;
+
+            String name = resolveName(autoLog, method.getName());
+            LogType type = LogType.fromClass(method.getReturnType());
+
+            if (!checkType(name, type)) continue;
+
+            try {
+                method.setAccessible(true);
+                found.add(new Accessor(name, type, true, autoLog.periodMs(), lookup.unreflect(method)));
+            } catch (Exception e) {
+                Logger.Log("[Logger] Unable to access auto log " + name + " in " + klass.getSimpleName() + ". It will not be logged.");
+                e.printStackTrace();
+            }
+        }
+
+        accessors = found.toArray(new Accessor[0]);
+    }
+
+    private static String resolveName(AutoLog autoLog, String memberName) {
+        String name = autoLog.name();
+
+        if (name.length() == 0) {
+            name = memberName;
+        }
+
+        //replace all slashes with pipes, just in case.
+        return name.replace('/', '|');
+    }
+
+    private boolean checkType(String name, LogType type) {
+        if (type != LogType.UNKNOWN) return true;
+
+        Logger.Log("[Logger] Unknown log type for auto log " + name + " in " + klass.getSimpleName() + "! Please only use String, int, double, boolean, String[], double[], or byte[], or encode your information into a String!");
+
+        return false;
+    }
+
+    public Class<?> getTargetClass() {
+        return klass;
+    }
+
+    public Accessor[] getAccessors() {
+        return accessors;
+    }
+}
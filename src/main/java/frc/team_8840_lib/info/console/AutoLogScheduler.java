@@ -0,0 +1,127 @@
+package frc.team_8840_lib.info.console;
+
+import java.util.Arrays;
+
+/**
+ * Groups auto logged values into rate tiers, one per distinct {@link AutoLog#periodMs()}.
+ * The logging timer runs at a single base tick (the greatest common divisor of every period), and each tick fires the tiers whose period has elapsed.
+ * The fired tiers are passed around as a bit mask, where bit n is tier n.
+ */
+class AutoLogScheduler {
+    //An int mask, so there can be at most 32 tiers.
+    static final int MAX_TIERS = 32;
+
+    //The tick isn't lowered past this when a tier is added while running, since the timer would run too often.
+    static final long MIN_TICK = 5;
+
+    private long defaultPeriod;
+    private long[] periods = new long[0];
+
+    private long tick = 0;
+
+    AutoLogScheduler(long defaultPeriod) {
+        this.defaultPeriod = defaultPeriod;
+    }
+
+    /**
+     * Returns the tier of a period, creating it if it doesn't exist yet.
+     * If the scheduler is already running and the period isn't a multiple of the base tick, the tick is lowered to fit it
+     * (the caller has to check {@link #getTick()} and reschedule), unless that would make it shorter than {@link #MIN_TICK}.
+     * Then the period is rounded to the nearest multiple of the tick instead.
+     * @param periodMs The period in milliseconds, or 0 (or less) for the default period
+     * @return The tier index
+     */
+    synchronized int tierOf(long periodMs) {
+        long period = periodMs > 0 ? periodMs : defaultPeriod;
+
+        if (tick > 0 && period % tick != 0) {
+            long lowered = gcd(tick, period);
+
+            if (lowered >= MIN_TICK) {
+                Logger.Log("[Logger] Auto log period of " + period + "ms is not a multiple of the " + tick + "ms logging tick. Lowering the tick to " + lowered + "ms.");
+
+                tick = lowered;
+            } else {
+                long rounded = Math.max(tick, Math.round((double) period / tick) * tick);
+
+                Logger.Log("[Logger] Auto log period of " + period + "ms is not a multiple of the " + tick + "ms logging tick. It will be logged every " + rounded + "ms instead.");
+
+                period = rounded;
+            }
+        }
+
+        for (int i = 0; i < periods.length; i++) {
+            if (periods[i] == period) return i;
+        }
+
+        if (periods.length >= MAX_TIERS) {
+            //Use the closest faster tier instead, so the value is still logged at least as often as asked.
+            int closest = 0;
+            for (int i = 1; i < periods.length; i++) {
+                if (periods[i] <= period && (periods[closest] > period || periods[i] > periods[closest])) closest = i;
+            }
+
+            Logger.Log("[Logger] Too many auto log periods! Logging the " + period + "ms values every " + periods[closest] + "ms instead.");
+
+            return closest;
+        }
+
+        periods = Arrays.copyOf(periods, periods.length + 1);
+        periods[periods.length - 1] = period;
+
+        return periods.length - 1;
+    }
+
+    /**
+     * Locks in the base tick, which is the greatest common divisor of the default period and every tier created so far.
+     * @return The base tick in milliseconds
+     */
+    synchronized long start() {
+        long gcd = defaultPeriod;
+
+        for (long period : periods) {
+            gcd = gcd(gcd, period);
+        }
+
+        tick = gcd;
+
+        return tick;
+    }
+
+    /**
+     * Returns the tiers that fire on a tick.
+     * @param tickCount The number of ticks since the scheduler started
+     * @return The mask of the tiers that fire
+     */
+    synchronized int firingMask(long tickCount) {
+        int mask = 0;
+
+        for (int i = 0; i < periods.length; i++) {
+            if (tickCount % (periods[i] / tick) == 0) mask |= 1 << i;
+        }
+
+        return mask;
+    }
+
+    synchronized long getTick() {
+        return tick;
+    }
+
+    synchronized long getPeriod(int tier) {
+        return periods[tier];
+    }
+
+    synchronized int getTierCount() {
+        return periods.length;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+
+        return a;
+    }
+}
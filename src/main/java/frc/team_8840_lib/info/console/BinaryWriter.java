@@ -0,0 +1,292 @@
+package frc.team_8840_lib.info.console;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.buffer.BufferWriter;
+import frc.team_8840_lib.utils.logging.BinaryLogFormat;
+import frc.team_8840_lib.utils.logging.LogWriter;
+
+/**
+ * A LogWriter that saves everything in a typed, length-prefixed binary format instead of text lines.
+ * Datapoints are saved as their raw values, so nothing has to be formatted into a string when saving or parsed when replaying.
+ * See {@link BinaryLogFormat} for the layout of the file.
+ */
+public class BinaryWriter extends LogWriter {
+
+    private String[] args;
+
+    public BinaryWriter() {
+        this.args = new String[] { "default" };
+    }
+
+    public BinaryWriter(String ...args) {
+        this.args = args;
+    }
+
+    public static String getExtension() {
+        return BinaryLogFormat.EXTENSION;
+    }
+
+    private String filePath;
+
+    private OutputStream out;
+
+    //Reused for every record, grows when a record doesn't fit.
+    private BufferWriter record = new BufferWriter(1024);
+
+    private boolean initializedFile = false;
+
+    @Override
+    public synchronized void initialize() {
+        filePath = args[0];
+
+        if (args[0] == "default") {
+            filePath = FileWriter.getDefaultFilePath(getExtension());
+        }
+
+        File file = new File(filePath);
+
+        try {
+            openOutput(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+
+        initializedFile = true;
+
+        saveLine("Successfully generated log file at " + new Date().getTime() + ".");
+    }
+
+    @Override
+    public void saveLine(String line) {
+        saveString(BinaryLogFormat.MESSAGE, line);
+    }
+
+    @Override
+    public void saveInfo(String encodedInfo) {
+        if (encodedInfo == null) return;
+
+        saveString(BinaryLogFormat.INFO, encodedInfo);
+    }
+
+    @Override
+    public synchronized void saveCycle(int cycle, boolean early, int tiers) {
+        if (!start(BinaryLogFormat.CYCLE, 9)) return;
+
+        record.putInt(cycle);
+        record.putByte(early ? BinaryLogFormat.CYCLE_FLAG_EARLY : 0);
+        record.putInt(tiers);
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveDeclaration(String name, LogType type, int reference) {
+        byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+
+        if (!start(BinaryLogFormat.DECLARATION, 5 + encodedName.length)) return;
+
+        record.putInt(reference);
+        record.putByte((byte) type.smallString().charAt(0));
+        record.putBytes(encodedName);
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveData(int reference, String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+
+        if (!start(BinaryLogFormat.DATA, 4 + encoded.length)) return;
+
+        record.putInt(reference);
+        record.putBytes(encoded);
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveData(int reference, int value) {
+        if (!start(BinaryLogFormat.DATA, 8)) return;
+
+        record.putInt(reference);
+        record.putInt(value);
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveData(int reference, double value) {
+        if (!start(BinaryLogFormat.DATA, 12)) return;
+
+        record.putInt(reference);
+        record.putDouble(value);
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveData(int reference, boolean value) {
+        if (!start(BinaryLogFormat.DATA, 5)) return;
+
+        record.putInt(reference);
+        record.putBoolean(value);
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveData(int reference, String[] value) {
+        byte[][] encoded = new byte[value.length][];
+        int length = 8;
+
+        for (int i = 0; i < value.length; i++) {
+            encoded[i] = value[i].getBytes(StandardCharsets.UTF_8);
+            length += 4 + encoded[i].length;
+        }
+
+        if (!start(BinaryLogFormat.DATA, length)) return;
+
+        record.putInt(reference);
+        record.putInt(encoded.length);
+
+        for (byte[] element : encoded) {
+            record.putInt(element.length);
+            record.putBytes(element);
+        }
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveData(int reference, double[] value) {
+        if (!start(BinaryLogFormat.DATA, 8 + 8 * value.length)) return;
+
+        record.putInt(reference);
+        record.putInt(value.length);
+
+        for (double d : value) {
+            record.putDouble(d);
+        }
+
+        finish();
+    }
+
+    @Override
+    public synchronized void saveData(int reference, byte[] value) {
+        if (!start(BinaryLogFormat.DATA, 4 + value.length)) return;
+
+        record.putInt(reference);
+        record.putBytes(value);
+
+        finish();
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (!initializedFile) return;
+
+        try {
+            flushOutput();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!initializedFile) return;
+
+        saveLine("Successfully closed log file at " + new Date().getTime());
+
+        try {
+            closeOutput();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        initializedFile = false;
+    }
+
+    private synchronized void saveString(byte tag, String value) {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+
+        if (!start(tag, encoded.length)) return;
+
+        record.putBytes(encoded);
+
+        finish();
+    }
+
+    /**
+     * Starts a new record in the record buffer.
+     * @param tag The tag of the record
+     * @param payloadLength The length of the payload that will be put into the buffer
+     * @return Whether the record can be written (false if the file was never initialized)
+     */
+    private boolean start(byte tag, int payloadLength) {
+        if (!initializedFile) return false;
+
+        record.reset().ensure(BinaryLogFormat.RECORD_HEADER_LENGTH + payloadLength);
+
+        record.putByte(tag);
+        record.putInt(payloadLength);
+
+        return true;
+    }
+
+    private void finish() {
+        try {
+            writeRecord(record.array(), record.position());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /*
+     * Output hooks. By default, the file is written through a buffered stream.
+     * Subclasses can override these to store the records somewhere else, while keeping the same record encoding.
+     */
+
+    /**
+     * Opens the file and writes the header.
+     * @param file The log file
+     * @throws IOException If the file can't be opened
+     */
+    protected void openOutput(File file) throws IOException {
+        out = new BufferedOutputStream(new FileOutputStream(file, false));
+
+        out.write(BinaryLogFormat.MAGIC);
+        out.write(BinaryLogFormat.VERSION);
+    }
+
+    /**
+     * Writes a complete record.
+     * @param record The array holding the record, starting at 0
+     * @param length The length of the record
+     * @throws IOException If the record can't be written
+     */
+    protected void writeRecord(byte[] record, int length) throws IOException {
+        out.write(record, 0, length);
+    }
+
+    protected void flushOutput() throws IOException {
+        out.flush();
+    }
+
+    protected void closeOutput() throws IOException {
+        out.close();
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+}
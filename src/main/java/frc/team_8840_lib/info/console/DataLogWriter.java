@@ -0,0 +1,213 @@
+package frc.team_8840_lib.info.console;
+
+import java.io.File;
+import java.util.Arrays;
+
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DataLogEntry;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.IntegerLogEntry;
+import edu.wpi.first.util.datalog.RawLogEntry;
+import edu.wpi.first.util.datalog.StringArrayLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.logging.LogWriter;
+
+/**
+ * A LogWriter that saves the log in the WPILib DataLog format (.wpilog), so it can be opened in the standard log viewers.
+ *
+ * Every auto logged value becomes a DataLog entry named {@link #AUTO_LOG_PREFIX} + its full name, with the matching type
+ * (double, int64, boolean, string, double[], string[] or raw). Console lines go into the "messages" entry, info lines into
+ * {@link #INFO_ENTRY}, and the auto log cycles into {@link #CYCLE_ENTRY} and {@link #TIERS_ENTRY} (0 tiers means an early cycle).
+ * {@link frc.team_8840_lib.replay.ReplayLog} can read these files back for replay.
+ */
+public class DataLogWriter extends LogWriter {
+    public static final String EXTENSION = "wpilog";
+
+    public static final String AUTO_LOG_PREFIX = "AutoLog/";
+    public static final String MESSAGES_ENTRY = "messages";
+    public static final String INFO_ENTRY = "8840/info";
+    public static final String CYCLE_ENTRY = "8840/cycle";
+    public static final String TIERS_ENTRY = "8840/tiers";
+
+    private String[] args;
+
+    public DataLogWriter() {
+        this.args = new String[] { "default" };
+    }
+
+    public DataLogWriter(String ...args) {
+        this.args = args;
+    }
+
+    public static String getExtension() {
+        return EXTENSION;
+    }
+
+    private DataLog log;
+
+    private StringLogEntry messages;
+    private StringLogEntry info;
+    private IntegerLogEntry cycles;
+    private IntegerLogEntry tiers;
+
+    //The DataLog entry of each reference number.
+    private DataLogEntry[] entries = new DataLogEntry[64];
+
+    private boolean initializedFile = false;
+
+    @Override
+    public synchronized void initialize() {
+        String filePath = args[0];
+
+        if (args[0] == "default") {
+            filePath = FileWriter.getDefaultFilePath(EXTENSION);
+        }
+
+        File file = new File(filePath).getAbsoluteFile();
+
+        try {
+            log = new DataLog(file.getParent(), file.getName());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return;
+        }
+
+        messages = new StringLogEntry(log, MESSAGES_ENTRY);
+        info = new StringLogEntry(log, INFO_ENTRY);
+        cycles = new IntegerLogEntry(log, CYCLE_ENTRY);
+        tiers = new IntegerLogEntry(log, TIERS_ENTRY);
+
+        initializedFile = true;
+
+        saveLine("Successfully generated log file at " + System.currentTimeMillis() + ".");
+    }
+
+    @Override
+    public synchronized void saveLine(String line) {
+        if (!initializedFile) return;
+
+        messages.append(line);
+    }
+
+    @Override
+    public synchronized void saveInfo(String encodedInfo) {
+        if (!initializedFile || encodedInfo == null) return;
+
+        info.append(encodedInfo);
+    }
+
+    @Override
+    public synchronized void saveCycle(int cycle, boolean early, int tiers) {
+        if (!initializedFile) return;
+
+        //The tiers go first, so they're known by the time the cycle is read back.
+        this.tiers.append(early ? 0 : tiers);
+        this.cycles.append(cycle);
+    }
+
+    @Override
+    public synchronized void saveDeclaration(String name, LogType type, int reference) {
+        if (!initializedFile) return;
+
+        if (reference >= entries.length) {
+            entries = Arrays.copyOf(entries, Math.max(reference + 1, entries.length * 2));
+        }
+
+        String entryName = AUTO_LOG_PREFIX + name;
+
+        switch (type) {
+            case DOUBLE:
+                entries[reference] = new DoubleLogEntry(log, entryName);
+                break;
+            case INT:
+                entries[reference] = new IntegerLogEntry(log, entryName);
+                break;
+            case BOOLEAN:
+                entries[reference] = new BooleanLogEntry(log, entryName);
+                break;
+            case STRING_ARRAY:
+                entries[reference] = new StringArrayLogEntry(log, entryName);
+                break;
+            case DOUBLE_ARRAY:
+                entries[reference] = new DoubleArrayLogEntry(log, entryName);
+                break;
+            case BYTE_ARRAY:
+                entries[reference] = new RawLogEntry(log, entryName);
+                break;
+            case STRING:
+            default:
+                entries[reference] = new StringLogEntry(log, entryName);
+                break;
+        }
+    }
+
+    @Override
+    public synchronized void saveData(int reference, String value) {
+        if (!initializedFile) return;
+
+        ((StringLogEntry) entries[reference]).append(value);
+    }
+
+    @Override
+    public synchronized void saveData(int reference, int value) {
+        if (!initializedFile) return;
+
+        ((IntegerLogEntry) entries[reference]).append(value);
+    }
+
+    @Override
+    public synchronized void saveData(int reference, double value) {
+        if (!initializedFile) return;
+
+        ((DoubleLogEntry) entries[reference]).append(value);
+    }
+
+    @Override
+    public synchronized void saveData(int reference, boolean value) {
+        if (!initializedFile) return;
+
+        ((BooleanLogEntry) entries[reference]).append(value);
+    }
+
+    @Override
+    public synchronized void saveData(int reference, String[] value) {
+        if (!initializedFile) return;
+
+        ((StringArrayLogEntry) entries[reference]).append(value);
+    }
+
+    @Override
+    public synchronized void saveData(int reference, double[] value) {
+        if (!initializedFile) return;
+
+        ((DoubleArrayLogEntry) entries[reference]).append(value);
+    }
+
+    @Override
+    public synchronized void saveData(int reference, byte[] value) {
+        if (!initializedFile) return;
+
+        ((RawLogEntry) entries[reference]).append(value);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (!initializedFile) return;
+
+        log.flush();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!initializedFile) return;
+
+        saveLine("Successfully closed log file at " + System.currentTimeMillis());
+
+        log.close();
+
+        initializedFile = false;
+    }
+}
@@ -1,10 +1,21 @@
 package frc.team_8840_lib.info.console;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import frc.team_8840_lib.utils.logging.LogStorage;
 import frc.team_8840_lib.utils.logging.LogWriter;
 
 public class FileWriter extends LogWriter {
@@ -27,32 +38,176 @@ public class FileWriter extends LogWriter {
         return extension;
     }
 
+    /**
+     * Creates the default log folder (~/8840applogs) if needed, and returns a new log file path in it based on the current time.
+     * @param extension The extension of the log file
+     * @return The path of the new log file
+     */
+    public static String getDefaultFilePath(String extension) {
+        File homeFolder = getDefaultFolder();
+        String homeFolderPath = homeFolder.getPath();
+
+        if (!homeFolder.exists()) {
+            homeFolder.mkdir();
+        }
+
+        Calendar cal = Calendar.getInstance();
+        //Set timezone to San Francisco
+        cal.setTimeZone(TimeZone.getTimeZone("America/Los_Angeles"));
+        cal.setTime(new Date());
+
+        return homeFolderPath + "/" + cal.get(Calendar.MONTH) + "-" + cal.get(Calendar.DAY_OF_MONTH) + "-" + cal.get(Calendar.YEAR) + "_" + cal.get(Calendar.HOUR) + "-" + cal.get(Calendar.SECOND) + "." + extension;
+    }
+
+    /**
+     * @return The default log folder, ~/8840applogs
+     */
+    public static File getDefaultFolder() {
+        return new File(System.getProperty("user.home"), "8840applogs");
+    }
+
     private String filePath;
 
     private boolean initializedFile = false;
 
+    /*
+     * Async mode: lines are put into a bounded queue, and a flush thread writes them to one open stream.
+     * The stream is flushed to the file once enough bytes are waiting, or once enough time has passed.
+     */
+    private boolean async = true;
+    private int queueCapacity = 4096;
+    private int flushBytes = 8192;
+    private long flushIntervalMs = 250;
+
+    private BlockingQueue<String> queue;
+    private Writer out;
+    private Thread flushThread;
+    private volatile boolean running = false;
+
+    //Compared by reference, so a line with the same text won't be mistaken for it.
+    private static final String FLUSH_REQUEST = new String("flush");
+
+    /*
+     * Segments (async mode only): the session rolls over to a new file once the current one is big or old enough.
+     * Closed segments are gzipped in the background, and the oldest sessions in the folder are deleted to stay under the quota.
+     */
+    private long segmentBytes = 4 * 1024 * 1024;
+    private long segmentMs = 0;
+    private boolean compress = true;
+    public static final long DEFAULT_QUOTA_BYTES = 128 * 1024 * 1024;
+
+    //-1 until set: the default quota in the default log folder, and no quota anywhere else.
+    private long quotaBytes = -1;
+
+    private String basePath;
+    private String segmentExtension;
+    private ArrayList<File> segments = new ArrayList<>();
+    private File manifest;
+
+    private long segmentWrittenBytes = 0;
+    private long segmentStart = 0;
+
+    /**
+     * Sets whether lines are written through the async flush thread (default), or directly appended to the file every line.
+     * Needs to be called before the writer is initialized.
+     * @param async Whether to use the async flush thread
+     * @return The FileWriter
+     */
+    public FileWriter setAsync(boolean async) {
+        this.async = async;
+        return this;
+    }
+
+    /**
+     * Sets when the flush thread flushes the lines to the file.
+     * @param flushBytes Flush once this many bytes are waiting to be written
+     * @param flushIntervalMs Flush once this many milliseconds have passed since the last flush
+     * @return The FileWriter
+     */
+    public FileWriter setFlushPolicy(int flushBytes, long flushIntervalMs) {
+        this.flushBytes = flushBytes;
+        this.flushIntervalMs = flushIntervalMs;
+        return this;
+    }
+
+    /**
+     * Sets how many lines can be waiting for the flush thread before saving a line blocks.
+     * Needs to be called before the writer is initialized.
+     * @param queueCapacity The capacity of the queue
+     * @return The FileWriter
+     */
+    public FileWriter setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Sets when the log rolls over to a new segment. Only used in async mode.
+     * Needs to be called before the writer is initialized.
+     * @param segmentBytes Roll over once a segment is this many bytes, or 0 for no size limit (default 4MB)
+     * @param segmentMs Roll over once a segment is this many milliseconds old, or 0 for no time limit (default)
+     * @return The FileWriter
+     */
+    public FileWriter setSegmentPolicy(long segmentBytes, long segmentMs) {
+        this.segmentBytes = segmentBytes;
+        this.segmentMs = segmentMs;
+        return this;
+    }
+
+    /**
+     * Sets whether closed segments are gzipped in the background (default true).
+     * @param compress Whether to compress closed segments
+     * @return The FileWriter
+     */
+    public FileWriter setCompression(boolean compress) {
+        this.compress = compress;
+        return this;
+    }
+
+    /**
+     * Sets the most space the sessions in the log folder can take up. The oldest sessions are deleted once it's exceeded.
+     * Only sessions written by a FileWriter (a .baylog manifest and the segments it lists) are counted or deleted, see {@link LogStorage#enforceQuota(File, long, java.util.List)}.
+     * By default, logs in the default folder (~/8840applogs) have a quota of {@link #DEFAULT_QUOTA_BYTES}, and logs anywhere else have none.
+     * Needs to be called before the writer is initialized.
+     * @param quotaBytes The quota in bytes, or 0 for no quota
+     * @return The FileWriter
+     */
+    public FileWriter setQuota(long quotaBytes) {
+        this.quotaBytes = quotaBytes;
+        return this;
+    }
+
+    private static boolean isInDefaultFolder(File file) {
+        try {
+            return file.getAbsoluteFile().getParentFile().getCanonicalFile().equals(getDefaultFolder().getCanonicalFile());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private boolean isSegmented() {
+        return async && (segmentBytes > 0 || segmentMs > 0);
+    }
+
+    /**
+     * @return The manifest of the session, or null if the log isn't segmented
+     */
+    public File getManifest() {
+        return manifest;
+    }
+
     @Override
     public void initialize() {
         filePath = args[0];
 
         if (args[0] == "default") {
-            String homeFolderPath = System.getProperty("user.home") + "/8840applogs";
-            File homeFolder = new File(homeFolderPath);
-
-            if (!homeFolder.exists()) {
-                homeFolder.mkdir();
-            }
-
-            Calendar cal = Calendar.getInstance();
-            //Set timezone to San Francisco
-            cal.setTimeZone(TimeZone.getTimeZone("America/Los_Angeles"));
-            cal.setTime(new Date());
-
-            filePath = homeFolderPath + "/" + cal.get(Calendar.MONTH) + "-" + cal.get(Calendar.DAY_OF_MONTH) + "-" + cal.get(Calendar.YEAR) + "_" + cal.get(Calendar.HOUR) + "-" + cal.get(Calendar.SECOND) + "." + extension;
+            filePath = getDefaultFilePath(extension);
         }
 
         File file = new File(filePath);
 
+        if (quotaBytes < 0) quotaBytes = isInDefaultFolder(file) ? DEFAULT_QUOTA_BYTES : 0;
+
         if (!file.exists()) {
             try {
                 file.createNewFile();
@@ -72,6 +227,39 @@ public class FileWriter extends LogWriter {
             e.printStackTrace();
         }
 
+        if (async) {
+            try {
+                out = open(file);
+            } catch (Exception e) {
+                e.printStackTrace();
+                return;
+            }
+
+            segments.clear();
+            segments.add(file);
+
+            if (isSegmented()) {
+                int dot = filePath.lastIndexOf(".");
+                basePath = dot > filePath.lastIndexOf("/") ? filePath.substring(0, dot) : filePath;
+                segmentExtension = dot > filePath.lastIndexOf("/") ? filePath.substring(dot + 1) : extension;
+
+                manifest = new File(basePath + "." + LogStorage.MANIFEST_EXTENSION);
+                LogStorage.writeManifest(manifest, segments);
+
+                segmentWrittenBytes = file.length();
+                segmentStart = System.currentTimeMillis();
+            }
+
+            if (quotaBytes > 0) LogStorage.enforceQuota(file.getAbsoluteFile().getParentFile(), quotaBytes, sessionFiles());
+
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            running = true;
+
+            flushThread = new Thread(this::runFlushThread, "FileWriter Flush Thread");
+            flushThread.setDaemon(true);
+            flushThread.start();
+        }
+
         initializedFile = true;
     }
 
@@ -79,6 +267,11 @@ public class FileWriter extends LogWriter {
     public void saveLine(String line) {
         if (!initializedFile) return;
 
+        if (async) {
+            enqueue(line);
+            return;
+        }
+
         //Append line to file
         try {
             java.io.FileWriter fw = new java.io.FileWriter(filePath, true);
@@ -93,10 +286,15 @@ public class FileWriter extends LogWriter {
     public void saveInfo(String encodedInfo) {
         if (!initializedFile) return;
 
+        if (encodedInfo == null) return;
+
+        if (async) {
+            enqueue(encodedInfo);
+            return;
+        }
+
         //Append line to file
         try {
-            if (encodedInfo == null) return;
-
             java.io.FileWriter fw = new java.io.FileWriter(filePath, true);
             fw.write(encodedInfo + "\n");
             fw.close();
@@ -105,10 +303,43 @@ public class FileWriter extends LogWriter {
         }
     }
 
+    /**
+     * Asks the flush thread to write everything that's waiting to the file, without waiting for it to happen.
+     */
+    @Override
+    public void flush() {
+        if (!initializedFile || !async) return;
+
+        enqueue(FLUSH_REQUEST);
+    }
+
     @Override
     public void close() {
         //Append string to file
         String str = "Successfully closed log file at " + new Date().getTime() + "";
+
+        if (initializedFile && async) {
+            initializedFile = false;
+
+            //Write the closing message after all of the waiting lines, then stop the flush thread.
+            enqueue(str);
+            running = false;
+
+            try {
+                flushThread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            //The last segment is closed now too.
+            if (isSegmented() && compress) {
+                LogStorage.compressInBackground(segments.get(segments.size() - 1), quotaBytes, sessionFiles());
+                LogStorage.awaitCompression(2000);
+            }
+
+            return;
+        }
+
         try {
             java.io.FileWriter fw = new java.io.FileWriter(filePath, true);
             fw.write(str);
@@ -117,4 +348,122 @@ public class FileWriter extends LogWriter {
             e.printStackTrace();
         }
     }
+
+    private Writer open(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8), flushBytes);
+    }
+
+    /**
+     * @return Every segment of the current session, plus the manifest
+     */
+    private ArrayList<File> sessionFiles() {
+        ArrayList<File> files = new ArrayList<>(segments);
+        if (manifest != null) files.add(manifest);
+        return files;
+    }
+
+    /**
+     * Closes the current segment and starts writing to the next one. Only called by the flush thread.
+     */
+    private void rollOver() throws IOException {
+        out.close();
+
+        File closed = segments.get(segments.size() - 1);
+        File next = new File(LogStorage.getSegmentPath(basePath, segments.size(), segmentExtension));
+
+        out = open(next);
+
+        segments.add(next);
+        LogStorage.writeManifest(manifest, segments);
+
+        segmentWrittenBytes = 0;
+        segmentStart = System.currentTimeMillis();
+
+        if (compress) {
+            LogStorage.compressInBackground(closed, quotaBytes, sessionFiles());
+        } else if (quotaBytes > 0) {
+            LogStorage.enforceQuota(next.getAbsoluteFile().getParentFile(), quotaBytes, sessionFiles());
+        }
+    }
+
+    private void enqueue(String line) {
+        try {
+            queue.put(line);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @param line A line
+     * @return The number of bytes the line takes up in the file (UTF-8), without encoding it
+     */
+    private static int encodedLength(String line) {
+        int length = 0;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < line.length() && Character.isLowSurrogate(line.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    private void runFlushThread() {
+        int waitingBytes = 0;
+        long lastFlush = System.currentTimeMillis();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                String line = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+
+                if (line != null && line != FLUSH_REQUEST) {
+                    out.write(line);
+                    out.write('\n');
+
+                    int length = encodedLength(line) + 1;
+
+                    waitingBytes += length;
+                    segmentWrittenBytes += length;
+                }
+
+                long now = System.currentTimeMillis();
+
+                if (isSegmented() && ((segmentBytes > 0 && segmentWrittenBytes >= segmentBytes) || (segmentMs > 0 && now - segmentStart >= segmentMs))) {
+                    rollOver();
+
+                    waitingBytes = 0;
+                    lastFlush = now;
+                    continue;
+                }
+
+                if (line == FLUSH_REQUEST || (waitingBytes > 0 && (waitingBytes >= flushBytes || now - lastFlush >= flushIntervalMs))) {
+                    out.flush();
+
+                    waitingBytes = 0;
+                    lastFlush = now;
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        try {
+            out.close();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
 }
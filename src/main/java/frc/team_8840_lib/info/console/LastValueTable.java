@@ -0,0 +1,107 @@
+package frc.team_8840_lib.info.console;
+
+import java.util.Arrays;
+
+/**
+ * The last saved value of every auto logged reference, kept in primitive arrays indexed by the reference number.
+ * This lets the logging thread reject unchanged values without boxing, formatting or allocating anything.
+ * Arrays are compared by their hash and length instead of being copied.
+ */
+class LastValueTable {
+    private boolean[] has = new boolean[0];
+
+    private double[] doubles = new double[0];
+    private long[] longs = new long[0];
+    private boolean[] booleans = new boolean[0];
+    private Object[] strings = new Object[0];
+
+    private int[] hashes = new int[0];
+    private int[] lengths = new int[0];
+
+    /**
+     * Makes sure there's a slot for the reference. Allocates only when the table needs to grow.
+     * @param reference The reference number
+     */
+    void ensure(int reference) {
+        if (reference < has.length) return;
+
+        int size = Math.max(16, Math.max(reference + 1, has.length * 2));
+
+        has = Arrays.copyOf(has, size);
+        doubles = Arrays.copyOf(doubles, size);
+        longs = Arrays.copyOf(longs, size);
+        booleans = Arrays.copyOf(booleans, size);
+        strings = Arrays.copyOf(strings, size);
+        hashes = Arrays.copyOf(hashes, size);
+        lengths = Arrays.copyOf(lengths, size);
+    }
+
+    boolean changed(int reference, double value) {
+        ensure(reference);
+
+        //Compare the bits, so NaN is equal to itself and -0.0 isn't equal to 0.0 (same as comparing the strings).
+        if (has[reference] && Double.doubleToLongBits(doubles[reference]) == Double.doubleToLongBits(value)) return false;
+
+        has[reference] = true;
+        doubles[reference] = value;
+
+        return true;
+    }
+
+    boolean changed(int reference, long value) {
+        ensure(reference);
+
+        if (has[reference] && longs[reference] == value) return false;
+
+        has[reference] = true;
+        longs[reference] = value;
+
+        return true;
+    }
+
+    boolean changed(int reference, boolean value) {
+        ensure(reference);
+
+        if (has[reference] && booleans[reference] == value) return false;
+
+        has[reference] = true;
+        booleans[reference] = value;
+
+        return true;
+    }
+
+    boolean changed(int reference, String value) {
+        ensure(reference);
+
+        if (has[reference] && value.equals(strings[reference])) return false;
+
+        has[reference] = true;
+        strings[reference] = value;
+
+        return true;
+    }
+
+    boolean changed(int reference, double[] value) {
+        return changedArray(reference, Arrays.hashCode(value), value.length);
+    }
+
+    boolean changed(int reference, byte[] value) {
+        return changedArray(reference, Arrays.hashCode(value), value.length);
+    }
+
+    boolean changed(int reference, String[] value) {
+        return changedArray(reference, Arrays.hashCode(value), value.length);
+    }
+
+    private boolean changedArray(int reference, int hash, int length) {
+        ensure(reference);
+
+        if (has[reference] && hashes[reference] == hash && lengths[reference] == length) return false;
+
+        has[reference] = true;
+        hashes[reference] = hash;
+        lengths[reference] = length;
+
+        return true;
+    }
+}
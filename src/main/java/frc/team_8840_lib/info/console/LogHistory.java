@@ -0,0 +1,208 @@
+package frc.team_8840_lib.info.console;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The recent messages of each log group (the first argument of {@link Logger#Log(String, String)}).
+ * Each group keeps a fixed number of messages in a ring buffer, so the oldest ones are overwritten instead of the history growing forever.
+ * Every message gets a sequence number (shared by all groups), so clients can ask for only the messages they haven't seen yet.
+ */
+public class LogHistory {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * A single message in the history.
+     */
+    public static class Entry {
+        private final long sequence;
+        private final String group;
+        private final String message;
+
+        private Entry(long sequence, String group, String message) {
+            this.sequence = sequence;
+            this.group = group;
+            this.message = message;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getGroup() {
+            return group;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * The ring buffer of a single group.
+     */
+    private static class GroupBuffer {
+        private String[] messages;
+        private long[] sequences;
+
+        //Total number of messages ever added, so the newest message is at (count - 1) % capacity.
+        private long count = 0;
+
+        GroupBuffer(int capacity) {
+            messages = new String[capacity];
+            sequences = new long[capacity];
+        }
+
+        synchronized void add(long sequence, String message) {
+            int index = (int) (count % messages.length);
+
+            messages[index] = message;
+            sequences[index] = sequence;
+
+            count++;
+        }
+
+        synchronized void resize(int capacity) {
+            int kept = (int) Math.min(count, Math.min(capacity, messages.length));
+
+            String[] newMessages = new String[capacity];
+            long[] newSequences = new long[capacity];
+
+            //Keep the newest messages, in order.
+            for (int i = 0; i < kept; i++) {
+                int index = (int) ((count - kept + i) % messages.length);
+                newMessages[i] = messages[index];
+                newSequences[i] = sequences[index];
+            }
+
+            messages = newMessages;
+            sequences = newSequences;
+            count = kept;
+        }
+
+        /**
+         * Copies the messages out, oldest first.
+         * @param group The name of the group
+         * @param limit The maximum number of messages to copy (the newest ones are kept)
+         * @param after Only messages with a sequence number larger than this are copied
+         * @param into The list to add the messages to
+         */
+        synchronized void copy(String group, int limit, long after, ArrayList<Entry> into) {
+            int stored = (int) Math.min(count, messages.length);
+
+            int start = stored;
+            //Walk backwards from the newest message until the limit or the sequence number is reached.
+            while (start > 0 && stored - start < limit && sequences[(int) ((count - stored + start - 1) % messages.length)] > after) {
+                start--;
+            }
+
+            for (int i = start; i < stored; i++) {
+                int index = (int) ((count - stored + i) % messages.length);
+                into.add(new Entry(sequences[index], group, messages[index]));
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<String, GroupBuffer> groups = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile int capacity;
+
+    public LogHistory(int capacity) {
+        setCapacity(capacity);
+    }
+
+    public LogHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Sets the number of messages kept for each group. Existing groups are resized, keeping their newest messages.
+     * @param capacity The number of messages per group
+     */
+    public void setCapacity(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("The log history size must be at least 1.");
+
+        this.capacity = capacity;
+
+        for (GroupBuffer buffer : groups.values()) {
+            buffer.resize(capacity);
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds a message to a group.
+     * @param group The name of the group
+     * @param message The message
+     * @return The sequence number of the message
+     */
+    public long add(String group, String message) {
+        long number = sequence.incrementAndGet();
+
+        groups.computeIfAbsent(group, name -> new GroupBuffer(capacity)).add(number, message);
+
+        return number;
+    }
+
+    /**
+     * @return The names of every group that has logged something
+     */
+    public String[] getGroups() {
+        return groups.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * @return The sequence number of the newest message, of any group
+     */
+    public long getLatestSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Returns the newest messages of a group, oldest first.
+     * @param group The name of the group
+     * @param n The maximum number of messages
+     * @return The messages, or an empty list if the group doesn't exist
+     */
+    public ArrayList<Entry> getLast(String group, int n) {
+        return getSince(group, 0, n);
+    }
+
+    /**
+     * Returns the messages of a group logged after a sequence number, oldest first.
+     * @param group The name of the group
+     * @param sequence The sequence number of the last message seen
+     * @return The messages that are still kept, or an empty list if the group doesn't exist
+     */
+    public ArrayList<Entry> getSince(String group, long sequence) {
+        return getSince(group, sequence, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the newest messages of a group logged after a sequence number, oldest first.
+     * @param group The name of the group
+     * @param sequence The sequence number of the last message seen
+     * @param n The maximum number of messages
+     * @return The messages, or an empty list if the group doesn't exist
+     */
+    public ArrayList<Entry> getSince(String group, long sequence, int n) {
+        ArrayList<Entry> entries = new ArrayList<>();
+
+        GroupBuffer buffer = groups.get(group);
+        if (buffer != null && n > 0) buffer.copy(group, n, sequence, entries);
+
+        return entries;
+    }
+
+    /**
+     * Removes every message of every group.
+     */
+    public void clear() {
+        groups.clear();
+    }
+}
@@ -0,0 +1,37 @@
+package frc.team_8840_lib.info.console;
+
+/**
+ * The severity of a log message. A message is only emitted if its level is at least the threshold of its group
+ * (see {@link Logger#setLevel(String, LogLevel)}), so debug messages cost nothing when the threshold is {@link #INFO} or higher.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARNING,
+    ERROR,
+    /**
+     * Only used as a threshold, to turn off every message of a group.
+     */
+    OFF;
+
+    /**
+     * @param threshold The threshold to compare to
+     * @return Whether a message of this level passes the threshold
+     */
+    public boolean passes(LogLevel threshold) {
+        return this != OFF && this.ordinal() >= threshold.ordinal();
+    }
+
+    /**
+     * Gets a level from its name, ignoring case. Used for reading levels from preferences or requests.
+     * @param name The name of the level
+     * @return The level, or null if there isn't one with that name
+     */
+    public static LogLevel fromName(String name) {
+        for (LogLevel level : values()) {
+            if (level.name().equalsIgnoreCase(name)) return level;
+        }
+
+        return null;
+    }
+}
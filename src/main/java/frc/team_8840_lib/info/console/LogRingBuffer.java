@@ -0,0 +1,136 @@
+package frc.team_8840_lib.info.console;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import frc.team_8840_lib.utils.time.TimeStamp;
+
+/**
+ * A multi-producer, single-consumer ring buffer of preallocated log events.
+ * Any thread can claim an event, fill it in and publish it without locking. Only the Logger thread consumes them.
+ * If the buffer is full, the event is dropped (and counted) instead of making the caller wait.
+ */
+class LogRingBuffer {
+    /**
+     * A log event. These are reused, so they should only be touched between claiming and publishing (producers),
+     * or between polling and releasing (consumer).
+     */
+    static class Event {
+        static final int LOG = 0;
+        static final int LINES = 1;
+        static final int SAVE_ONLY = 2;
+        static final int AUTO_LOG = 3;
+        static final int FLUSH = 4;
+
+        long sequence;
+
+        int kind;
+        String group;
+        String message;
+        String[] messages;
+        boolean newLine;
+
+        //The time is read by the caller, then formatted by the Logger thread.
+        TimeStamp timeStamp;
+        boolean timeKnown;
+        long realTime;
+        double phaseTime;
+        double robotTime;
+
+        void clear() {
+            group = null;
+            message = null;
+            messages = null;
+        }
+    }
+
+    private final Event[] events;
+    private final AtomicLongArray published;
+    private final int mask;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed = 0;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param capacity The number of events, rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+        events = new Event[size];
+        published = new AtomicLongArray(size);
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            events[i] = new Event();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Claims the next event to be filled in by the caller. The event must be published afterwards.
+     * @return The event, or null if the buffer is full
+     */
+    Event claim() {
+        while (true) {
+            long sequence = claimed.get();
+
+            if (sequence - consumed >= events.length) {
+                dropped.incrementAndGet();
+                return null;
+            }
+
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                Event event = events[(int) (sequence & mask)];
+                event.sequence = sequence;
+                return event;
+            }
+        }
+    }
+
+    /**
+     * Makes a claimed event visible to the consumer.
+     * @param event The event
+     */
+    void publish(Event event) {
+        published.set((int) (event.sequence & mask), event.sequence);
+    }
+
+    /**
+     * Returns the next published event without removing it. Consumer only.
+     * @return The next event, or null if it hasn't been published yet
+     */
+    Event poll() {
+        long sequence = consumed;
+        int index = (int) (sequence & mask);
+
+        if (published.get(index) != sequence) return null;
+
+        return events[index];
+    }
+
+    /**
+     * Releases the event returned by {@link #poll()} so it can be claimed again. Consumer only.
+     * @param event The event
+     */
+    void release(Event event) {
+        event.clear();
+        consumed = event.sequence + 1;
+    }
+
+    /**
+     * @return Whether every claimed event has been consumed
+     */
+    boolean isEmpty() {
+        return consumed == claimed.get();
+    }
+
+    /**
+     * @return The number of events dropped because the buffer was full
+     */
+    long getDropped() {
+        return dropped.get();
+    }
+}
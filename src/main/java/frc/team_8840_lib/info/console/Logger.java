@@ -1,13 +1,16 @@
 package frc.team_8840_lib.info.console;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
@@ -31,7 +34,7 @@ public class Logger implements Loggable {
             "Don't break the robot",
     };
 
-    private static HashMap<String, ArrayList<String>> threads = new HashMap<>();
+    private static final LogHistory history = new LogHistory();
 
     public static void logCompetitionStart() {
         Log("\n-- Competition started! --", TimeStamp.All);
@@ -59,31 +62,208 @@ public class Logger implements Loggable {
     }
 
     private static void addToThread(String threadName, String message) {
-        if (!Logger.threads.containsKey(threadName)) {
-            Logger.threads.put(threadName, new ArrayList<>());
+        history.add(threadName, message);
+    }
+
+    /**
+     * Returns the recent messages of each log group, which can be queried by group, count or sequence number.
+     * @return The log history
+     */
+    public static LogHistory getHistory() {
+        return history;
+    }
+
+    /**
+     * Sets the number of messages kept for each log group. Older messages are dropped once a group is full.
+     * @param size The number of messages per group (default {@link LogHistory#DEFAULT_CAPACITY})
+     */
+    public static void setGroupHistorySize(int size) {
+        history.setCapacity(size);
+    }
+
+    //Threshold of messages without their own group threshold (including messages without a group).
+    private static volatile LogLevel defaultLevel = LogLevel.INFO;
+    private static final ConcurrentHashMap<String, LogLevel> groupLevels = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the default threshold, used for every group without its own threshold and for messages without a group.
+     * Can be changed at any time, from any thread.
+     * @param level The lowest level that is emitted (default {@link LogLevel#INFO})
+     */
+    public static void setLevel(LogLevel level) {
+        defaultLevel = level;
+    }
+
+    /**
+     * Sets the threshold of a group. Can be changed at any time, from any thread.
+     * @param group The group
+     * @param level The lowest level of the group that is emitted, or null to go back to the default threshold
+     */
+    public static void setLevel(String group, LogLevel level) {
+        if (level == null) {
+            groupLevels.remove(group);
+        } else {
+            groupLevels.put(group, level);
         }
+    }
+
+    /**
+     * @param group The group, or null for messages without a group
+     * @return The threshold of the group
+     */
+    public static LogLevel getLevel(String group) {
+        if (group == null) return defaultLevel;
+
+        return groupLevels.getOrDefault(group, defaultLevel);
+    }
+
+    /**
+     * Checks if a message would be emitted, which can be used to skip work that only goes into the message.
+     * @param level The level of the message
+     * @param group The group of the message, or null
+     * @return Whether it would be emitted
+     */
+    public static boolean isLoggable(LogLevel level, String group) {
+        return level.passes(getLevel(group));
+    }
+
+    /*
+     * Every Log call is put into a lock-free ring buffer, so that callers from any thread never wait on the console or the LogWriter.
+     * The Logger thread is the only one that takes events out, formats them, prints them and saves them.
+     * The auto log ticks and flushes are events too, so the LogWriter is only ever used by the Logger thread once it's initialized.
+     */
+    private static final LogRingBuffer events = new LogRingBuffer(2048);
+    private static Thread loggerThread;
+    private static volatile boolean loggerThreadRunning = false;
+    private static long reportedDropped = 0;
+
+    static {
+        startLoggerThread();
+    }
 
-        Logger.threads.get(threadName).add(message);
+    private static void startLoggerThread() {
+        loggerThreadRunning = true;
+
+        loggerThread = new Thread(Logger::runLoggerThread, "Logger Thread");
+        loggerThread.setDaemon(true);
+        loggerThread.start();
     }
 
-    private static String getTimeLogString(TimeStamp timeStamp) {
+    private static void runLoggerThread() {
+        while (loggerThreadRunning || !events.isEmpty()) {
+            LogRingBuffer.Event event = events.poll();
+
+            if (event == null) {
+                LockSupport.parkNanos(1_000_000);
+                continue;
+            }
+
+            try {
+                handle(event);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+
+            events.release(event);
+
+            long dropped = events.getDropped();
+            if (dropped != reportedDropped) {
+                p("[Logger] Dropped " + (dropped - reportedDropped) + " messages since the log buffer was full.", true);
+                reportedDropped = dropped;
+            }
+        }
+    }
+
+    /**
+     * Stops the Logger thread after everything that has been logged so far is handled.
+     */
+    private static void drain() {
+        loggerThreadRunning = false;
+
+        try {
+            loggerThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void handle(LogRingBuffer.Event event) {
+        switch (event.kind) {
+            case LogRingBuffer.Event.LOG:
+                if (event.group != null) addToThread(event.group, event.message);
+
+                p(formatTimePrefix(getTimeLogString(event)) + event.message, event.newLine);
+                break;
+            case LogRingBuffer.Event.LINES:
+                p(formatTimePrefix(getTimeLogString(event)), event.newLine);
+                for (String message : event.messages) p(message, true);
+                break;
+            case LogRingBuffer.Event.SAVE_ONLY:
+                saveAndUpdate(event.message);
+                break;
+            case LogRingBuffer.Event.AUTO_LOG:
+                saveDueAutoLogs();
+                break;
+            case LogRingBuffer.Event.FLUSH:
+                if (writer != null && !errorWhileInitializingWriter) writer.flush();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Reads the current time, then claims an event and puts the time into it.
+     * Anything that can throw has to happen before the event is claimed: a claimed event that's never published
+     * blocks the Logger thread at its sequence, and every message after it would be dropped once the buffer fills.
+     * @param kind The kind of event
+     * @param timeStamp The time stamp to use
+     * @return The event, or null if the buffer is full
+     */
+    private static LogRingBuffer.Event claim(int kind, TimeStamp timeStamp) {
+        TimeKeeper timeKeeper = TimeKeeper.getInstance();
+        boolean timeKnown = timeKeeper != null;
+
+        long realTime = 0;
+        double robotTime = 0;
+        double phaseTime = 0;
+
+        if (timeKnown && timeStamp != TimeStamp.None) {
+            realTime = System.currentTimeMillis();
+            robotTime = timeStamp == TimeStamp.RobotTime ? timeKeeper.getRobotTime() : 0;
+            phaseTime = timeStamp == TimeStamp.GameTime || timeStamp == TimeStamp.BothRealAndGameTime ? timeKeeper.getPhaseTime(GamePhase.getCurrentPhase()) : 0;
+        }
+
+        LogRingBuffer.Event event = events.claim();
+        if (event == null) return null;
+
+        event.kind = kind;
+        event.timeStamp = timeStamp;
+        event.timeKnown = timeKnown;
+        event.realTime = realTime;
+        event.robotTime = robotTime;
+        event.phaseTime = phaseTime;
+
+        return event;
+    }
+
+    private static String getTimeLogString(LogRingBuffer.Event event) {
         String time = "";
 
-        if (TimeKeeper.getInstance() == null) {
+        if (!event.timeKnown) {
             return "PRE_INIT";
         }
 
-        switch (timeStamp) {
+        switch (event.timeStamp) {
             case BothRealAndGameTime:
             case RealTime:
-                time = "RT: " + TimeKeeper.getInstance().getRealTimeStr();
-                if (timeStamp == TimeStamp.RealTime) break;
+                time = "RT: " + new Date(event.realTime).toString();
+                if (event.timeStamp == TimeStamp.RealTime) break;
             case GameTime:
-                GamePhase gamePhase = GamePhase.getCurrentPhase();
-                time += (timeStamp == TimeStamp.BothRealAndGameTime ? ", " : "") + "GT: " + TimeKeeper.getInstance().getPhaseTime(gamePhase) + "s";
+                time += (event.timeStamp == TimeStamp.BothRealAndGameTime ? ", " : "") + "GT: " + event.phaseTime + "s";
                 break;
             case RobotTime:
-                time += "RBT: " + TimeKeeper.getInstance().getRobotTime() + "s";
+                time += "RBT: " + event.robotTime + "s";
                 break;
             default:
                 break;
@@ -99,24 +279,120 @@ public class Logger implements Loggable {
     }
 
     public static void Error(String group, Exception e) {
+        if (!isLoggable(LogLevel.ERROR, group)) return;
+
         e.printStackTrace();
         if (writer != null) {
-            saveAndUpdate("ERROR: " + e.getMessage());
+            String message = "ERROR: " + e.getMessage();
+
+            LogRingBuffer.Event event = claim(LogRingBuffer.Event.SAVE_ONLY, TimeStamp.None);
+            if (event == null) return;
+
+            event.message = message;
+
+            events.publish(event);
         }
     }
 
     public static void Log(String group, String message) {
-        addToThread(group, message);
-        Log("[" + group + "] " + message);
+        Log(LogLevel.INFO, group, message);
+    }
+
+    /**
+     * Logs a message of a group, if the level passes the threshold of the group.
+     * @param level The level of the message
+     * @param group The group of the message
+     * @param message The message
+     */
+    public static void Log(LogLevel level, String group, String message) {
+        if (!isLoggable(level, group)) return;
+
+        publishGroupMessage(group, message);
+    }
+
+    /**
+     * Logs a message of a group, only building it if the level passes the threshold of the group.
+     * @param level The level of the message
+     * @param group The group of the message
+     * @param message Builds the message
+     */
+    public static void Log(LogLevel level, String group, Supplier<String> message) {
+        if (!isLoggable(level, group)) return;
+
+        publishGroupMessage(group, message.get());
+    }
+
+    /**
+     * Logs a message of a group, only formatting it (see {@link String#format(String, Object...)}) if the level passes the threshold of the group.
+     * @param level The level of the message
+     * @param group The group of the message
+     * @param format The format of the message
+     * @param args The arguments of the format
+     */
+    public static void Log(LogLevel level, String group, String format, Object ...args) {
+        if (!isLoggable(level, group)) return;
+
+        publishGroupMessage(group, String.format(format, args));
+    }
+
+    /**
+     * Logs a {@link LogLevel#DEBUG} message, which is only built if debug messages of the group are emitted.
+     * @param group The group of the message
+     * @param message Builds the message
+     */
+    public static void Debug(String group, Supplier<String> message) {
+        Log(LogLevel.DEBUG, group, message);
+    }
+
+    /**
+     * Logs a {@link LogLevel#DEBUG} message, which is only formatted if debug messages of the group are emitted.
+     * @param group The group of the message
+     * @param format The format of the message
+     * @param args The arguments of the format
+     */
+    public static void Debug(String group, String format, Object ...args) {
+        Log(LogLevel.DEBUG, group, format, args);
+    }
+
+    public static void Warn(String group, String message) {
+        Log(LogLevel.WARNING, group, message);
+    }
+
+    private static void publishGroupMessage(String group, String message) {
+        String groupMessage = "[" + group + "] " + message;
+
+        LogRingBuffer.Event event = claim(LogRingBuffer.Event.LOG, TimeStamp.BothRealAndGameTime);
+        if (event == null) return;
+
+        event.group = group;
+        event.message = groupMessage;
+        event.newLine = true;
+
+        events.publish(event);
     }
 
     public static void Log(String message, TimeStamp timeStamp, boolean newLine) {
-        p(formatTimePrefix(getTimeLogString(timeStamp)) + message, newLine);
+        if (!isLoggable(LogLevel.INFO, null)) return;
+
+        LogRingBuffer.Event event = claim(LogRingBuffer.Event.LOG, timeStamp);
+        if (event == null) return;
+
+        event.message = message;
+        event.newLine = newLine;
+
+        events.publish(event);
     }
 
     public static void Log(String[] messages, TimeStamp timeStamp, boolean newLine) {
-        p(formatTimePrefix(getTimeLogString(timeStamp)), newLine);
-        for (String message : messages) p(message, true);
+        if (!isLoggable(LogLevel.INFO, null)) return;
+
+        LogRingBuffer.Event event = claim(LogRingBuffer.Event.LINES, timeStamp);
+        if (event == null) return;
+
+        event.messages = messages;
+        event.newLine = newLine;
+
+        events.publish(event);
     }
 
     public static void Log(String[] messages, TimeStamp timeStamp) {
@@ -135,6 +411,7 @@ public class Logger implements Loggable {
         Log(message, TimeStamp.BothRealAndGameTime, true);
     }
 
+    //Only used by the Logger thread.
     private static String currentLine = "";
 
     private static void p(String raw, boolean printLN) {
@@ -153,12 +430,44 @@ public class Logger implements Loggable {
         }
     }
 
-    private static ArrayList<Loggable> loggingClasses;
+    private static CopyOnWriteArrayList<AutoLogPlan.Target> loggingClasses;
 
+    /**
+     * Adds a class to be auto logged. The {@link AutoLog} fields and methods of the class are found here (once per class),
+     * and each of them is assigned a reference number, so the logging thread only has to read the values each cycle.
+     * @param logger The class to auto log
+     */
     public static void addClassToBeAutoLogged(Loggable logger) {
-        if (loggingClasses == null) loggingClasses = new ArrayList<Loggable>();
+        if (loggingClasses == null) loggingClasses = new CopyOnWriteArrayList<AutoLogPlan.Target>();
+
+        AutoLogPlan plan = AutoLogPlan.of(logger.getClass());
+        AutoLogPlan.Accessor[] accessors = plan.getAccessors();
 
-        loggingClasses.add(logger);
+        int[] references = new int[accessors.length];
+        int[] tiers = new int[accessors.length];
+
+        synchronized (autoLogLock) {
+            for (int i = 0; i < accessors.length; i++) {
+                tiers[i] = scheduler.tierOf(accessors[i].getPeriodMs());
+            }
+
+            //A faster tier can lower the tick after logging started (e.g. a SwerveDrive made in robotInit).
+            if (logTimer != null && scheduler.getTick() != scheduledTick) rescheduleAutoLogs();
+        }
+
+        synchronized (nameAssignedToMap) {
+            for (int i = 0; i < accessors.length; i++) {
+                String name = logger.getBaseName() + "|" + accessors[i].getName();
+
+                if (nameAssignedToMap.get(name) == null) {
+                    nameAssignedToMap.put(name, nameAssignedTo++);
+                }
+
+                references[i] = nameAssignedToMap.get(name);
+            }
+        }
+
+        loggingClasses.add(new AutoLogPlan.Target(logger, plan, references, tiers));
     };
 
     private static LogWriter writer;
@@ -203,23 +512,56 @@ public class Logger implements Loggable {
 
         Logger.Log("[LoggerInfo] LogWriter initialized successfully. Starting auto logging...", TimeStamp.None);
         
+        synchronized (autoLogLock) {
+            scheduledTick = scheduler.start();
+
+            logTimer = new Timer();
+            scheduleAutoLogs();
+        }
+    }
+
+    private static void scheduleAutoLogs() {
         autoLogInfoTimer = new TimerTask() {
             @Override
             public void run() {
                 if (loggingClasses == null) return;
-                
-                try {
-                    loadAndSaveAllAutoLogs();
-                } catch (Exception e) {
-                    //TODO: Save error to log file.
 
-                    Logger.Log("[Logger] Error while auto logging. Skipping past this log, but this may lead to logging missing information.", TimeStamp.None);
-                }
+                //The ticks are counted here, but saved by the Logger thread. If the event is dropped, the next one saves this tick too.
+                dueTicks.incrementAndGet();
+
+                LogRingBuffer.Event event = events.claim();
+                if (event == null) return;
+
+                event.kind = LogRingBuffer.Event.AUTO_LOG;
+                events.publish(event);
             }
         };
 
-        logTimer = new Timer();
-        logTimer.scheduleAtFixedRate(autoLogInfoTimer, logInterval, logInterval);
+        logTimer.scheduleAtFixedRate(autoLogInfoTimer, scheduledTick, scheduledTick);
+    }
+
+    /**
+     * Moves the auto log timer to a lower tick. The cycle count is scaled to the new tick so the cycle numbers keep matching the time,
+     * and the new interval is saved so the log reader can scale the cycles it already read.
+     */
+    private static void rescheduleAutoLogs() {
+        long tick = scheduler.getTick();
+        long factor = scheduledTick / tick;
+
+        Logger.Log("[LoggerInfo] Auto log tick lowered from " + scheduledTick + "ms to " + tick + "ms.", TimeStamp.None);
+
+        autoLogInfoTimer.cancel();
+
+        //Ticks of the old tick that the Logger thread hasn't saved yet are skipped, so the cycle numbers keep matching the time.
+        cycle += dueTicks.getAndSet(0);
+
+        //The last tick was cycle - 1, so the next one is right after it in the new tick.
+        if (cycle > 0) cycle = (int) ((cycle - 1) * factor + 1);
+
+        //The new interval is saved by the Logger thread before the next cycle.
+        scheduledTick = tick;
+
+        scheduleAutoLogs();
     }
 
     private static void saveAndUpdate(String nl) {
@@ -228,9 +570,25 @@ public class Logger implements Loggable {
         writer.saveLine(nl);
     }
 
+    /**
+     * Flushes anything buffered by the LogWriter. This is called when the game phase changes.
+     */
+    public static void flush() {
+        if (writer == null || errorWhileInitializingWriter) return;
+
+        //Flushed by the Logger thread, after everything logged before this.
+        LogRingBuffer.Event event = events.claim();
+        if (event == null) return;
+
+        event.kind = LogRingBuffer.Event.FLUSH;
+        events.publish(event);
+    }
+
     public static void closeLogger() {
         if (autoLogInfoTimer != null) autoLogInfoTimer.cancel();
 
+        drain();
+
         if (writer == null || errorWhileInitializingWriter) return;
 
         writer.close();
@@ -238,12 +596,30 @@ public class Logger implements Loggable {
 
     private static TimerTask autoLogInfoTimer;
     private static Timer logTimer;
+    private static long scheduledTick = 0;
+    //The interval last saved to the LogWriter. Only used by the Logger thread.
+    private static long savedTick = 0;
+    //Auto log ticks that the timer fired, but the Logger thread hasn't saved yet.
+    private static final AtomicInteger dueTicks = new AtomicInteger();
+    //Held while the auto logs are saved and while the tick changes, so a cycle never mixes two ticks.
+    private static final Object autoLogLock = new Object();
     private static long logInterval = 100;
 
+    /**
+     * @return The default interval of the auto logs in milliseconds, used by any {@link AutoLog} without a period
+     */
     public static long getLogInterval() {
         return logInterval;
     }
 
+    /**
+     * @return The base tick of the auto log timer in milliseconds (the greatest common divisor of every auto log period).
+     * This is 0 until the LogWriter is initialized.
+     */
+    public static long getLogTick() {
+        return scheduler.getTick();
+    }
+
     public enum LogType {
         STRING,
         INT,
@@ -317,151 +693,122 @@ public class Logger implements Loggable {
 
     private static int cycle = 0;
 
+    private static final AutoLogScheduler scheduler = new AutoLogScheduler(logInterval);
+    private static int declaredTiers = 0;
+
+    //Full name (base name + "|" + name) to reference number.
     private static HashMap<String, Integer> nameAssignedToMap = new HashMap<>();
     private static int nameAssignedTo = 0;
 
-    private static HashMap<Integer, String> lastAssign = new HashMap<>();
+    private static BitSet declaredReferences = new BitSet();
+
+    private static LastValueTable lastValues = new LastValueTable();
 
     private static boolean readyToSave = false;
     public static void setReadyToSave(boolean ready) {
         readyToSave = ready;
     }
 
-    @SuppressWarnings({"null", "deprecated"})
+    /**
+     * Saves the auto log ticks that are due. Only called by the Logger thread.
+     */
+    private static void saveDueAutoLogs() {
+        synchronized (autoLogLock) {
+            int ticks = dueTicks.getAndSet(0);
+
+            try {
+                for (int i = 0; i < ticks; i++) loadAndSaveAllAutoLogs();
+            } catch (Exception e) {
+                //TODO: Save error to log file.
+
+                Logger.Log("[Logger] Error while auto logging. Skipping past this log, but this may lead to logging missing information.", TimeStamp.None);
+            }
+        }
+    }
+
     private static void loadAndSaveAllAutoLogs() {
-        writer.saveInfo("ALC" + cycle++ + (cycle < 3 ? "(s)" : ""));
+        if (savedTick != scheduledTick) {
+            writer.saveInterval(scheduledTick);
+            savedTick = scheduledTick;
+        }
 
-        if (cycle < 3 || !readyToSave) return;
+        //Tiers can be added after logging has started, so declare any new ones first.
+        while (declaredTiers < scheduler.getTierCount()) {
+            writer.saveTier(declaredTiers, scheduler.getPeriod(declaredTiers));
+            declaredTiers++;
+        }
 
-        try {
-            for (Loggable klass : loggingClasses) {
-                Field[] fields = klass.getClass().getDeclaredFields();
-                Method[] methods = klass.getClass().getMethods();
+        int tick = cycle++;
+        boolean early = cycle < 3;
 
-                boolean movedToMethods = false;
+        int tiers = scheduler.firingMask(tick);
 
-                for (int i = 0; i < fields.length + methods.length; i++) {
-                    AutoLog autoLogInfo;
-                    Method method = null;
-                    Field field = null;
+        if (early) {
+            writer.saveCycle(tick, true, 0);
+            return;
+        }
 
-                    if (i >= fields.length) {
-                        if (!movedToMethods) {
-                            movedToMethods = true;
-                        }
-                    }
+        //Nothing is due this tick, so there's nothing to save.
+        if (tiers == 0) return;
 
-                    boolean fieldWasAccessible = false;
+        writer.saveCycle(tick, false, tiers);
 
-                    if (!movedToMethods) {
-                        autoLogInfo = fields[i].getAnnotation(AutoLog.class);
-                        field = fields[i];
+        if (!readyToSave) return;
 
-                        fieldWasAccessible = field.isAccessible();
-                        field.setAccessible(true);
-                    } else {
-                        autoLogInfo = methods[i - fields.length].getAnnotation(AutoLog.class);
-                        method = methods[i - fields.length];
-                    }
+        for (AutoLogPlan.Target target : loggingClasses) {
+            Loggable klass = target.getLoggable();
+            AutoLogPlan.Accessor[] accessors = target.getPlan().getAccessors();
 
-                    if (autoLogInfo == null) continue;
-                    if (method == null && movedToMethods) continue;
-                    if (field == null && !movedToMethods) continue;
-                    
-                    String name = autoLogInfo.name();
-                    
-                    if (name == "" || name.length() == 0) {
-                        if (movedToMethods) {
-                            name = method.getName();
-                        } else {
-                            name = field.getName();
-                        }
-                    }
+            for (int i = 0; i < accessors.length; i++) {
+                if ((tiers & (1 << target.getTier(i))) == 0) continue;
 
-                    //if (!movedToMethods) System.out.println("name: " + name + ", " + field.getName());
+                AutoLogPlan.Accessor accessor = accessors[i];
+                LogType logType = accessor.getType();
+                int assignedTo = target.getReference(i);
 
-                    LogType logType = LogType.fromClass(movedToMethods ? method.getReturnType() : field.getType());
-                    
-                    if (name.contains("/")) {
-                        //replace all slashes with underscores, just in case.
-                        name = name.replaceAll("/", "|");
-                    }
+                if (!declaredReferences.get(assignedTo)) {
+                    declaredReferences.set(assignedTo);
+                    writer.saveDeclaration(target.getName(i), logType, assignedTo);
+                }
 
-                    if (autoLogInfo != null) {
-                        if (nameAssignedToMap.get(name) == null) {
-                            nameAssignedToMap.put(name, nameAssignedTo++);
-                            writer.saveInfo("a" + klass.getBaseName() + "|" + name + logType.smallString() + "/" + nameAssignedToMap.get(name));
-                        }
-
-                        int assignedTo = nameAssignedToMap.get(name);
-                        String assignable = "";
-
-                        try {
-                            switch (logType) {
-                                case STRING:
-                                    assignable = movedToMethods ? (String) method.invoke(klass).toString() : (String) field.get(klass).toString();
-                                    break;
-                                case INT:
-                                    assignable = movedToMethods ? "" + (Integer) method.invoke(klass) : "" + (Integer) field.get(klass);
-                                    break;
-                                case DOUBLE:
-                                    assignable = movedToMethods ? "" + (Double) method.invoke(klass) : "" + (Double) field.get(klass);
-                                    break;
-                                case BOOLEAN:
-                                    assignable = movedToMethods ? "" + (Boolean) method.invoke(klass) : "" + (Boolean) field.get(klass);
-                                    break;
-                                case STRING_ARRAY:
-                                    //save as string, separated by commas
-                                    assignable = movedToMethods ? Arrays.toString((String[]) method.invoke(klass)) : Arrays.toString((String[]) field.get(klass));
-                                    break;
-                                case DOUBLE_ARRAY:
-                                    double[] doubles = movedToMethods ? (double[]) method.invoke(klass) : (double[]) field.get(klass);
-
-                                    //Convert to a string
-                                    String doubleString = "["; 
-
-                                    for (double d : doubles) {
-                                        doubleString += d + ",";
-                                    }
-
-                                    doubleString = doubleString.substring(0, doubleString.length() - 1) + "]";
-
-                                    assignable = doubleString;
-                                    break;
-                                case BYTE_ARRAY:
-                                    byte[] bytes = movedToMethods ? (byte[]) method.invoke(klass) : (byte[]) field.get(klass);
-
-                                    //Convert to a string
-                                    String byteString = "";
-                                    
-                                    for (byte b : bytes) {
-                                        byteString += (char) b;
-                                    }
-
-                                    assignable = byteString;
-                                    break;
-                                case UNKNOWN:
-                                    throw new Exception("Unknown log type! Please only use String, int, double, boolean, String[], double[], or byte[], or encode your information into a String!");
-                            }
-                        } catch (Exception e) {
-                            Logger.Log("e/" + assignedTo + " [Logger] Issue w/ auto log " + name + ". Skipping past this log, but this may lead to logging missing information.", TimeStamp.None);
-                            e.printStackTrace();
-                        }
-
-                        if (assignable.length() > 0) {
-                            if (lastAssign.get(assignedTo) != null && lastAssign.get(assignedTo).equals(assignable)) continue;
-
-                            writer.saveInfo("d" + assignedTo + "/" + assignable);
-
-                            lastAssign.put(assignedTo, assignable);
-                        }
+                try {
+                    switch (logType) {
+                        case STRING:
+                            String string = accessor.getObject(klass).toString();
+                            if (lastValues.changed(assignedTo, string)) writer.saveData(assignedTo, string);
+                            break;
+                        case INT:
+                            int integer = accessor.getInt(klass);
+                            if (lastValues.changed(assignedTo, integer)) writer.saveData(assignedTo, integer);
+                            break;
+                        case DOUBLE:
+                            double number = accessor.getDouble(klass);
+                            if (lastValues.changed(assignedTo, number)) writer.saveData(assignedTo, number);
+                            break;
+                        case BOOLEAN:
+                            boolean bool = accessor.getBoolean(klass);
+                            if (lastValues.changed(assignedTo, bool)) writer.saveData(assignedTo, bool);
+                            break;
+                        case STRING_ARRAY:
+                            String[] strings = (String[]) accessor.getObject(klass);
+                            if (lastValues.changed(assignedTo, strings)) writer.saveData(assignedTo, strings);
+                            break;
+                        case DOUBLE_ARRAY:
+                            double[] doubles = (double[]) accessor.getObject(klass);
+                            if (lastValues.changed(assignedTo, doubles)) writer.saveData(assignedTo, doubles);
+                            break;
+                        case BYTE_ARRAY:
+                            byte[] bytes = (byte[]) accessor.getObject(klass);
+                            if (lastValues.changed(assignedTo, bytes)) writer.saveData(assignedTo, bytes);
+                            break;
+                        default:
+                            break;
                     }
-
-                    if (field != null) field.setAccessible(fieldWasAccessible);
+                } catch (Throwable e) {
+                    Logger.Log("e/" + assignedTo + " [Logger] Issue w/ auto log " + accessor.getName() + ". Skipping past this log, but this may lead to logging missing information.", TimeStamp.None);
+                    e.printStackTrace();
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
     }
 
@@ -526,7 +873,7 @@ public class Logger implements Loggable {
         }
     }
 
-    @AutoLog(name = "working")
+    @AutoLog(name = "working", periodMs = 1000)
     public String getWorking() {
         return "y";
     }
@@ -0,0 +1,143 @@
+package frc.team_8840_lib.info.console;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import frc.team_8840_lib.utils.logging.BinaryLogFormat;
+
+/**
+ * A {@link BinaryWriter} that appends records into a memory mapped region of the log file, so saving a record is just a memory copy.
+ * The file is grown in large chunks, and the header holds the committed length of the records.
+ * The header is only updated when the records are forced to disk, after them, so it never counts records that aren't on the disk.
+ * The mapped pages are forced to disk on every flush (phase change), when a chunk is filled, and every so often while logging.
+ * If the robot browns out, only the records since the last force are lost.
+ */
+public class MappedLogWriter extends BinaryWriter {
+
+    private long chunkSize = 1024 * 1024;
+    private long forceIntervalMs = 1000;
+
+    private FileChannel channel;
+    private MappedByteBuffer header;
+    private MappedByteBuffer region;
+    //Position of the current region in the file.
+    private long regionStart;
+
+    private long committed = 0;
+    private long lastForce = 0;
+
+    public MappedLogWriter() {
+        super();
+    }
+
+    public MappedLogWriter(String ...args) {
+        super(args);
+    }
+
+    /**
+     * Sets how much the file grows by each time the mapped region is full.
+     * Needs to be called before the writer is initialized.
+     * @param chunkSize The size of each chunk in bytes (default 1MB)
+     * @return The MappedLogWriter
+     */
+    public MappedLogWriter setChunkSize(long chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets how often the mapped pages are forced to disk while logging, on top of the flushes on phase changes.
+     * @param forceIntervalMs The interval in milliseconds, or 0 to only force on flushes
+     * @return The MappedLogWriter
+     */
+    public MappedLogWriter setForceInterval(long forceIntervalMs) {
+        this.forceIntervalMs = forceIntervalMs;
+        return this;
+    }
+
+    @Override
+    protected void openOutput(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, BinaryLogFormat.MAPPED_HEADER_LENGTH);
+        header.put(BinaryLogFormat.MAGIC);
+        header.put(BinaryLogFormat.MAPPED_VERSION);
+        header.putLong(BinaryLogFormat.COMMITTED_LENGTH_OFFSET, 0);
+
+        committed = 0;
+        lastForce = System.currentTimeMillis();
+
+        map(BinaryLogFormat.MAPPED_HEADER_LENGTH, chunkSize);
+    }
+
+    @Override
+    protected void writeRecord(byte[] record, int length) throws IOException {
+        if (region.remaining() < length) {
+            //Force the full region (and commit it) before moving on, then map the next chunk right after it.
+            force();
+            map(regionStart + region.position(), Math.max(chunkSize, length));
+        }
+
+        region.put(record, 0, length);
+
+        //Only counted once all of it has been copied. The header is updated in force(), the kernel could write it back before the records otherwise.
+        committed += length;
+
+        if (forceIntervalMs > 0) {
+            long now = System.currentTimeMillis();
+
+            if (now - lastForce >= forceIntervalMs) {
+                force();
+                lastForce = now;
+            }
+        }
+    }
+
+    @Override
+    protected void flushOutput() throws IOException {
+        force();
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        try {
+            force();
+
+            region = null;
+            header = null;
+
+            //Cut off the unused part of the last chunk. This fails on Windows while the regions are still mapped
+            //(they're only unmapped when garbage collected), which is fine: readers stop at the committed length anyway.
+            try {
+                channel.truncate(BinaryLogFormat.MAPPED_HEADER_LENGTH + committed);
+            } catch (IOException e) {
+                //Printed directly, the Logger thread is already stopped when the writer is closed.
+                System.out.println("[MappedLogWriter] Unable to cut off the unused end of the log (" + e.getMessage() + "), it's ignored when reading.");
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void map(long position, long size) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+        regionStart = position;
+    }
+
+    private void force() {
+        //Records first, then the header, so the committed length never points past what's on disk.
+        region.force();
+        header.putLong(BinaryLogFormat.COMMITTED_LENGTH_OFFSET, committed);
+        header.force();
+    }
+
+    /**
+     * @return The number of bytes of records that have been committed
+     */
+    public long getCommittedLength() {
+        return committed;
+    }
+}
@@ -1,14 +1,79 @@
 package frc.team_8840_lib.info.console;
 
+import java.util.ArrayDeque;
+import java.util.Timer;
+import java.util.TimerTask;
+
 import frc.team_8840_lib.input.communication.CommunicationManager;
 import frc.team_8840_lib.utils.logging.LogWriter;
 
+/**
+ * A LogWriter that sends the log over NetworkTables.
+ *
+ * Lines and info are collected into batches, which are published as string arrays every flush (100ms by default).
+ * Every entry has a sequence number, and each batch starts with the sequence number of its first entry,
+ * so the dashboard can put the full stream back together and notice any gaps.
+ * The number is in the same value as the entries, so it can't be read with the entries of a different batch.
+ * If more entries are waiting than the batch limit, the oldest ones are dropped and counted.
+ *
+ * Topics, for both "msg" (lines) and "info":
+ * <pre>
+ * logger/msg_batch    - the latest batch (string array): the sequence number of its first entry, then the entries
+ * logger/msg_dropped  - the total number of entries dropped so far
+ * logger/msg, logger/on - the last entry and the number of entries, same as before batching
+ * </pre>
+ */
 public class NTWriter extends LogWriter {
 
+    /**
+     * The waiting entries of one stream (lines or info).
+     */
+    private static class Stream {
+        private final String name;
+        private final String countKey;
+
+        private final ArrayDeque<String> pending = new ArrayDeque<>();
+
+        //Sequence number of the next entry, which is also the number of entries saved so far.
+        private int nextSequence = 0;
+        private int dropped = 0;
+        private boolean droppedChanged = false;
+
+        Stream(String name, String countKey) {
+            this.name = name;
+            this.countKey = countKey;
+        }
+    }
+
+    private final Stream messages = new Stream("msg", "on");
+    private final Stream info = new Stream("info", "info_on");
+
+    private int maxPending = 512;
+    private long flushIntervalMs = 100;
+
+    private Timer flushTimer;
+
     public NTWriter() {}
 
-    private int messagesSent = 0;
-    private int infoSent = 0;
+    /**
+     * Sets the most entries of each stream that can wait for a flush. Once it's full, the oldest entries are dropped.
+     * @param maxPending The maximum number of waiting entries (default 512)
+     * @return The NTWriter
+     */
+    public NTWriter setMaxPending(int maxPending) {
+        this.maxPending = Math.max(1, maxPending);
+        return this;
+    }
+
+    /**
+     * Sets how often the batches are published. Needs to be called before the writer is initialized.
+     * @param flushIntervalMs The interval in milliseconds (default 100)
+     * @return The NTWriter
+     */
+    public NTWriter setFlushInterval(long flushIntervalMs) {
+        this.flushIntervalMs = flushIntervalMs;
+        return this;
+    }
 
     @Override
     public void initialize() {
@@ -18,26 +83,82 @@ public class NTWriter extends LogWriter {
         CommunicationManager.getInstance().updateInfo("logger", "on", 0);
         CommunicationManager.getInstance().updateInfo("logger", "info_on", 0);
 
-        messagesSent = 0;
-        infoSent = 0;
+        for (Stream stream : new Stream[] { messages, info }) {
+            CommunicationManager.getInstance()
+                .updateStringArray("logger", stream.name + "_batch", new String[0])
+                .updateInfo("logger", stream.name + "_dropped", 0);
+        }
+
+        flushTimer = new Timer("NTWriter Flush Timer", true);
+        flushTimer.scheduleAtFixedRate(new TimerTask() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, flushIntervalMs, flushIntervalMs);
     }
 
     @Override
     public void saveLine(String line) {
-        messagesSent += 1;
-        CommunicationManager.getInstance().updateInfo("logger", "msg", line);
-        CommunicationManager.getInstance().updateInfo("logger", "on", messagesSent);
+        add(messages, line);
     }
 
     @Override
     public void saveInfo(String encodedInfo) {
-        infoSent += 1;
-        CommunicationManager.getInstance().updateInfo("logger", "info", encodedInfo);
-        CommunicationManager.getInstance().updateInfo("logger", "info_on", infoSent);
+        add(info, encodedInfo);
+    }
+
+    private synchronized void add(Stream stream, String entry) {
+        if (stream.pending.size() >= maxPending) {
+            stream.pending.pollFirst();
+            stream.dropped++;
+            stream.droppedChanged = true;
+        }
+
+        stream.pending.addLast(entry);
+        stream.nextSequence++;
+    }
+
+    /**
+     * Publishes the waiting entries of both streams as one batch each.
+     */
+    @Override
+    public synchronized void flush() {
+        publish(messages);
+        publish(info);
+    }
+
+    private void publish(Stream stream) {
+        if (stream.pending.isEmpty()) return;
+
+        int entries = stream.pending.size();
+
+        String[] batch = new String[entries + 1];
+        batch[0] = String.valueOf(stream.nextSequence - entries);
+
+        int i = 1;
+        for (String entry : stream.pending) batch[i++] = entry;
+
+        stream.pending.clear();
+
+        CommunicationManager manager = CommunicationManager.getInstance();
+
+        manager.updateStringArray("logger", stream.name + "_batch", batch)
+            .updateInfo("logger", stream.name, batch[entries])
+            .updateInfo("logger", stream.countKey, stream.nextSequence);
+
+        if (stream.droppedChanged) {
+            manager.updateInfo("logger", stream.name + "_dropped", stream.dropped);
+            stream.droppedChanged = false;
+        }
     }
 
     @Override
     public void close() {
+        if (flushTimer != null) flushTimer.cancel();
+
+        flush();
+
         CommunicationManager.getInstance().updateInfo("logger", "on", -1);
         CommunicationManager.getInstance().updateInfo("logger", "info_on", -1);
     }
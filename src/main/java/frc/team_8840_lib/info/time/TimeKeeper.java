@@ -3,6 +3,7 @@ package frc.team_8840_lib.info.time;
 import edu.wpi.first.wpilibj.Timer;
 import frc.team_8840_lib.info.console.Logger;
 import frc.team_8840_lib.input.communication.CommunicationManager;
+import frc.team_8840_lib.replay.ReplayContext;
 import frc.team_8840_lib.utils.interfaces.Callback;
 import frc.team_8840_lib.utils.GamePhase;
 import frc.team_8840_lib.utils.time.SubscriptionType;
@@ -23,7 +24,80 @@ public class TimeKeeper {
         }
     }
 
-    private HashMap<String, Timer> timers;
+    //When on, every timer follows the virtual clock instead of the FPGA clock (used for stepped replay).
+    private static volatile boolean virtualClock = false;
+    private static volatile double virtualTime = 0;
+    private static volatile double virtualDeltaTime = 0;
+
+    /**
+     * Switches every timer over to a virtual clock, which only moves when {@link #advanceVirtualClock(double)} is called.
+     * Running timers keep the time they had.
+     * @param startTime The time to start the virtual clock at in seconds
+     */
+    public static void useVirtualClock(double startTime) {
+        double now = getTimestamp();
+
+        virtualTime = startTime;
+        virtualDeltaTime = 0;
+        virtualClock = true;
+
+        if (instance != null) instance.shiftTimers(startTime - now);
+    }
+
+    /**
+     * Switches every timer back to the FPGA clock. Running timers keep the time they had.
+     */
+    public static void useRealClock() {
+        if (!virtualClock) return;
+
+        double now = getTimestamp();
+
+        virtualClock = false;
+
+        if (instance != null) instance.shiftTimers(Timer.getFPGATimestamp() - now);
+    }
+
+    /**
+     * Moves the virtual clock forward.
+     * @param seconds How far to move the clock in seconds
+     */
+    public static void advanceVirtualClock(double seconds) {
+        virtualDeltaTime = seconds;
+        virtualTime += seconds;
+    }
+
+    /**
+     * Sets the virtual clock to a time, jumping every running timer along with it (used when seeking in a replay).
+     * @param time The time in seconds
+     */
+    public static void setVirtualTime(double time) {
+        virtualDeltaTime = 0;
+        virtualTime = time;
+    }
+
+    public static boolean isVirtualClock() {
+        return virtualClock;
+    }
+
+    /**
+     * @return The current time of the clock the timers use in seconds: the time of the batch replay running on this thread,
+     * the virtual clock if it's on, otherwise the FPGA timestamp
+     */
+    public static double getTimestamp() {
+        ReplayContext context = ReplayContext.current();
+        if (context != null) return context.getTime();
+
+        return virtualClock ? virtualTime : Timer.getFPGATimestamp();
+    }
+
+    /**
+     * @return How far the virtual clock moved in its last step in seconds, or 0 if the virtual clock is off
+     */
+    public static double getVirtualDeltaTime() {
+        return virtualClock ? virtualDeltaTime : 0;
+    }
+
+    private HashMap<String, ClockTimer> timers;
 
     public boolean automaticallyResubscribeEvents = true;
 
@@ -49,7 +123,7 @@ public class TimeKeeper {
     }
 
     public void createTimer(String name) {
-        timers.put(name, new Timer());
+        timers.put(name, new ClockTimer());
     }
 
     public void resetTimer(String name) {
@@ -114,6 +188,12 @@ public class TimeKeeper {
         if (phase != GamePhase.Disabled) resetAndStartTimer(phase.getTimerName());
     }
 
+    private void shiftTimers(double offset) {
+        for (ClockTimer timer : timers.values()) {
+            timer.shift(offset);
+        }
+    }
+
     private HashMap<String, Subscription> subscriptions;
 
     public TimeKeeper subscribe(String key, String timer, double time, SubscriptionType type, Callback callback) {
@@ -193,6 +273,45 @@ public class TimeKeeper {
         });
     }
 
+    /**
+     * A stopwatch like the WPILib Timer, but reading from {@link TimeKeeper#getTimestamp()} so it follows the virtual clock.
+     */
+    private static class ClockTimer {
+        private double startTime = 0;
+        private double accumulatedTime = 0;
+        private boolean running = false;
+
+        public ClockTimer() {
+            reset();
+        }
+
+        public double get() {
+            return running ? accumulatedTime + (getTimestamp() - startTime) : accumulatedTime;
+        }
+
+        public void reset() {
+            accumulatedTime = 0;
+            startTime = getTimestamp();
+        }
+
+        public void start() {
+            if (running) return;
+
+            startTime = getTimestamp();
+            running = true;
+        }
+
+        public void stop() {
+            accumulatedTime = get();
+            running = false;
+        }
+
+        //Moves the start time along when the clock changes, so a running timer doesn't jump.
+        private void shift(double offset) {
+            startTime += offset;
+        }
+    }
+
     public class Subscription {
         private String name;
         private double time;
@@ -2,24 +2,17 @@ package frc.team_8840_lib.input.communication;
 
 import com.sun.net.httpserver.HttpExchange;
 import edu.wpi.first.math.geometry.Pose2d;
-import edu.wpi.first.networktables.BooleanArrayPublisher;
-import edu.wpi.first.networktables.BooleanPublisher;
-import edu.wpi.first.networktables.DoubleArrayPublisher;
-import edu.wpi.first.networktables.DoublePublisher;
-import edu.wpi.first.networktables.IntegerArrayPublisher;
-import edu.wpi.first.networktables.IntegerPublisher;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableEntry;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.networktables.NetworkTableValue;
-import edu.wpi.first.networktables.Publisher;
-import edu.wpi.first.networktables.StringPublisher;
 import edu.wpi.first.wpilibj.motorcontrol.MotorController;
 import edu.wpi.first.wpilibj.smartdashboard.Field2d;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 import frc.team_8840_lib.controllers.ControllerGroup;
 import frc.team_8840_lib.controllers.SwerveDrive;
 import frc.team_8840_lib.controllers.SwerveModule;
+import frc.team_8840_lib.info.console.LogHistory;
 import frc.team_8840_lib.info.console.Logger;
 import frc.team_8840_lib.input.communication.dashboard.ModuleBuilder;
 import frc.team_8840_lib.input.communication.dashboard.pages.PageHandler;
@@ -28,9 +21,12 @@ import frc.team_8840_lib.listeners.Preferences;
 import frc.team_8840_lib.listeners.Robot;
 import frc.team_8840_lib.pathing.PathConjugate;
 import frc.team_8840_lib.pathing.PathPlanner;
+import frc.team_8840_lib.replay.ReplayManager;
 import frc.team_8840_lib.pathing.PathConjugate.ConjugateType;
+import frc.team_8840_lib.utils.buffer.ByteConversions;
 import frc.team_8840_lib.utils.files.FileUtils;
 import frc.team_8840_lib.utils.http.Constructor;
+import frc.team_8840_lib.utils.http.FileDownload;
 import frc.team_8840_lib.utils.http.IP;
 import frc.team_8840_lib.utils.http.Route;
 import frc.team_8840_lib.utils.http.html.Element;
@@ -47,11 +43,13 @@ import java.io.*;
 import java.net.URLDecoder;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class CommunicationManager {
@@ -95,9 +93,11 @@ public class CommunicationManager {
         return "8840-lib";
     }
 
-    private ArrayList<String> createdTitles;
+    //The names of the published topics, in the order they were made, for listing them.
+    private ConcurrentLinkedQueue<String> createdTitles;
     private NetworkTable table;
-    private HashMap<String, Publisher> entries;
+    //Tab -> key -> handle, so looking up a key doesn't need the "tab/key" name.
+    private ConcurrentHashMap<String, ConcurrentHashMap<String, TelemetryHandle>> handles;
 
     private HTTPServer server;
 
@@ -112,8 +112,8 @@ public class CommunicationManager {
             table = ntinst.getTable(base());
         }
 
-        createdTitles = new ArrayList<>();
-        entries = new HashMap<>();
+        createdTitles = new ConcurrentLinkedQueue<>();
+        handles = new ConcurrentHashMap<>();
 
         try {
             /**
@@ -173,7 +173,7 @@ public class CommunicationManager {
                                 return res.json(this.error("Invalid tab name")).status(400);
                             }
 
-                            ArrayList<String> tks = CommunicationManager.getInstance().createdTitles;
+                            ConcurrentLinkedQueue<String> tks = CommunicationManager.getInstance().createdTitles;
                             String relatedTks = "";
 
                             for (String tk : tks) {
@@ -694,6 +694,127 @@ public class CommunicationManager {
                 }
             }));
 
+            //Streams files from the 8840 folders, for large files like logs that shouldn't go through the JSON of /files.
+            server.route(new Route("/download", new FileDownload()
+                .addFolder(Path.of(System.getProperty("user.home"), "8840appdata").toFile())
+                .addFolder(Path.of(System.getProperty("user.home"), "8840applogs").toFile())
+            ));
+
+            server.route(new Route("/logs", new Constructor() {
+                /**
+                 * Examples of requests for the /logs endpoint:
+                 * /logs - returns a list of the log groups.
+                 * /logs?group=API - returns the recent messages of the API group.
+                 * /logs?group=API&n=20 - returns the last 20 messages of the API group.
+                 * /logs?group=API&since=1042 - returns the messages of the API group after sequence number 1042.
+                 */
+                @Override
+                public Route.Resolution finish(HttpExchange req, Route.Resolution res) {
+                    if (!req.getRequestMethod().equalsIgnoreCase("GET")) {
+                        return res.json(this.error("Invalid request method.")).status(405);
+                    }
+
+                    LogHistory history = Logger.getHistory();
+
+                    String rawQuery = req.getRequestURI().getQuery();
+                    HashMap<String, String> query = rawQuery == null ? new HashMap<>() : this.parseQuery(rawQuery);
+
+                    JSONObject response = new JSONObject();
+
+                    if (!query.containsKey("group")) {
+                        response.put("success", true);
+                        response.put("groups", new JSONArray(history.getGroups()));
+                        response.put("latest", history.getLatestSequence());
+
+                        return res.json(response);
+                    }
+
+                    String group;
+                    int n;
+                    long since;
+
+                    try {
+                        group = URLDecoder.decode(query.get("group"), "UTF-8");
+                        n = query.containsKey("n") ? Integer.parseInt(query.get("n")) : history.getCapacity();
+                        since = query.containsKey("since") ? Long.parseLong(query.get("since")) : 0;
+                    } catch (UnsupportedEncodingException | NumberFormatException e) {
+                        return res.json(this.error("Invalid group, n or since.")).status(400);
+                    }
+
+                    JSONArray messages = new JSONArray();
+
+                    for (LogHistory.Entry entry : history.getSince(group, since, n)) {
+                        JSONObject message = new JSONObject();
+
+                        message.put("sequence", entry.getSequence());
+                        message.put("message", entry.getMessage());
+
+                        messages.put(message);
+                    }
+
+                    response.put("success", true);
+                    response.put("group", group);
+                    response.put("messages", messages);
+                    response.put("latest", history.getLatestSequence());
+
+                    return res.json(response);
+                }
+            }));
+
+            server.route(new Route("/replay", new Constructor() {
+                /**
+                 * Examples of requests for the /replay endpoint, each returns the state of the replay:
+                 * /replay - only returns the state.
+                 * /replay?cycle=1200 - jumps to cycle 1200.
+                 * /replay?time=42.5 - jumps to 42.5 seconds into the log.
+                 * /replay?paused=true - pauses the replay (false resumes it).
+                 * /replay?speed=4 - replays four times as fast.
+                 */
+                @Override
+                public Route.Resolution finish(HttpExchange req, Route.Resolution res) {
+                    if (!req.getRequestMethod().equalsIgnoreCase("GET")) {
+                        return res.json(this.error("Invalid request method.")).status(405);
+                    }
+
+                    ReplayManager replay = ReplayManager.getInstance();
+
+                    String rawQuery = req.getRequestURI().getQuery();
+                    HashMap<String, String> query = rawQuery == null ? new HashMap<>() : this.parseQuery(rawQuery);
+
+                    if (!query.isEmpty() && !replay.isReplaying()) {
+                        return res.json(this.error("Not in a replay.")).status(409);
+                    }
+
+                    try {
+                        if (query.containsKey("speed")) replay.setSpeed(Double.parseDouble(query.get("speed")));
+                        if (query.containsKey("paused")) replay.setPaused(Boolean.parseBoolean(query.get("paused")));
+
+                        if (query.containsKey("cycle")) {
+                            replay.seek(Integer.parseInt(query.get("cycle")));
+                        } else if (query.containsKey("time")) {
+                            replay.seekTime(Double.parseDouble(query.get("time")));
+                        }
+                    } catch (IllegalArgumentException e) {
+                        return res.json(this.error("Invalid cycle, time, paused or speed.")).status(400);
+                    } catch (IllegalStateException e) {
+                        return res.json(this.error("Not in a replay.")).status(409);
+                    }
+
+                    JSONObject response = new JSONObject();
+
+                    response.put("success", true);
+                    response.put("replaying", replay.isReplaying());
+                    response.put("stepped", replay.isStepped());
+                    response.put("paused", replay.isPaused());
+                    response.put("speed", replay.getSpeed());
+                    response.put("cycle", replay.getReplayCycle());
+                    response.put("cycles", replay.getTotalReplayCycles());
+                    response.put("interval", replay.getReplayInterval());
+
+                    return res.json(response);
+                }
+            }));
+
             HashMap<String, Constructor> customRoutes = new HashMap<>();
             for (String route : customRoutes.keySet()) {
                 server.route(new Route(route, customRoutes.get(route)));
@@ -802,6 +923,9 @@ public class CommunicationManager {
         return this;
     }
 
+    //The handles of updateSwerveInfo, looked up once since it runs every loop. One row of 4 per module, then the pose.
+    private TelemetryHandle.DoubleHandle[][] swerveHandles = new TelemetryHandle.DoubleHandle[0][];
+
     public CommunicationManager updateSwerveInfo(SwerveDrive swerveGroup) {
         final String name = "swerve_drive";
         final String groupName = EncodingUtil.encodeURIComponent(swerveGroup.getBaseName());
@@ -815,20 +939,45 @@ public class CommunicationManager {
 
         SwerveModule[] modules = swerveGroup.getModules();
 
+        TelemetryHandle.DoubleHandle[][] handles = swerveHandles;
+
+        if (handles.length != modules.length + 1) {
+            handles = new TelemetryHandle.DoubleHandle[modules.length + 1][];
+
+            for (int i = 0; i < modules.length; i++) {
+                handles[i] = new TelemetryHandle.DoubleHandle[] {
+                    doubleHandle(name, "module_" + i + "/last_angle"),
+                    doubleHandle(name, "module_" + i + "/speed"),
+                    doubleHandle(name, "module_" + i + "/velocity_ms"),
+                    doubleHandle(name, "module_" + i + "/rotation")
+                };
+            }
+
+            handles[modules.length] = new TelemetryHandle.DoubleHandle[] {
+                doubleHandle(name, "pose/x"),
+                doubleHandle(name, "pose/y"),
+                doubleHandle(name, "pose/angle")
+            };
+
+            swerveHandles = handles;
+        }
+
         for (int i = 0; i < modules.length; i++) {
             SwerveModule module = modules[i];
 
-            updateInfo(name, "module_" + i + "/last_angle", module.getDesiredAngle().getDegrees());
-            updateInfo(name, "module_" + i + "/speed", module.getSpeed().get(Type.METERS));
-            updateInfo(name, "module_" + i + "/velocity_ms", module.getState().speedMetersPerSecond);
-            updateInfo(name, "module_" + i + "/rotation", module.getAngle().getDegrees());
+            handles[i][0].set(module.getDesiredAngle().getDegrees());
+            handles[i][1].set(module.getSpeed().get(Type.METERS));
+            handles[i][2].set(module.getState().speedMetersPerSecond);
+            handles[i][3].set(module.getAngle().getDegrees());
         }
 
         Pose2d swervePose = swerveGroup.getPose();
 
-        updateInfo(name, "pose/x", swervePose.getX());
-        updateInfo(name, "pose/y", swervePose.getY());
-        updateInfo(name, "pose/angle", swervePose.getRotation().getDegrees());
+        TelemetryHandle.DoubleHandle[] pose = handles[modules.length];
+
+        pose[0].set(swervePose.getX());
+        pose[1].set(swervePose.getY());
+        pose[2].set(swervePose.getRotation().getDegrees());
 
         return this;
     }
@@ -890,15 +1039,7 @@ public class CommunicationManager {
     }
 
     public CommunicationManager updateInfo(String tab, String key, String value) {
-        if (createdTitles.contains(f(tab, key))) {
-            ((StringPublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            StringPublisher pub = table.getStringTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
-        }
-
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
+        stringHandle(tab, key).set(value);
 
         return this;
     }
@@ -912,113 +1053,234 @@ public class CommunicationManager {
 
         String value = "[\"" + String.join("\",\"", encodedList) + "\"]";
 
-        if (createdTitles.contains(f(tab, key))) {
-            ((StringPublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            StringPublisher pub = table.getStringTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
-        }
+        stringHandle(tab, key).set(value);
+
+        return this;
+    }
 
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
+    /**
+     * Publishes a String array as a NetworkTables string array.
+     * This is different from {@link #updateInfo(String, String, String[])}, which publishes the array encoded into one String.
+     * @param tab The tab
+     * @param key The key
+     * @param value The array
+     * @return The CommunicationManager
+     */
+    public CommunicationManager updateStringArray(String tab, String key, String[] value) {
+        stringArrayHandle(tab, key).set(value);
 
         return this;
     }
 
     public CommunicationManager updateInfo(String tab, String key, double value) {
-        if (createdTitles.contains(f(tab, key))) {
-            ((DoublePublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            DoublePublisher pub = table.getDoubleTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
-        }
-
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
+        doubleHandle(tab, key).set(value);
 
         return this;
     }
 
     public CommunicationManager updateInfo(String tab, String key, int value) {
-        if (createdTitles.contains(f(tab, key))) {
-            ((IntegerPublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            IntegerPublisher pub = table.getIntegerTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
-        }
-
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
+        integerHandle(tab, key).set(value);
 
         return this;
     }
 
     public CommunicationManager updateInfo(String tab, String key, boolean value) {
-        if (createdTitles.contains(f(tab, key))) {
-            ((BooleanPublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            BooleanPublisher pub = table.getBooleanTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
-        }
-
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
+        booleanHandle(tab, key).set(value);
 
         return this;
     }
 
     public CommunicationManager updateInfo(String tab, String key, byte[] value) {
-        String toBeUpdated = "";
+        //One char per byte.
+        updateInfo(tab, key, ByteConversions.byteArrayToRawString(value));
 
-        for (byte b : value) {
-            toBeUpdated += (char) b;
-        }
+        return this;
+    }
 
-        updateInfo(tab, key, toBeUpdated);
+    public CommunicationManager updateInfo(String tab, String key, double[] value) {
+        doubleArrayHandle(tab, key).set(value);
 
         return this;
     }
 
-    public CommunicationManager updateInfo(String tab, String key, double[] value) {
-        if (createdTitles.contains(f(tab, key))) {
-            ((DoubleArrayPublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            DoubleArrayPublisher pub = table.getDoubleArrayTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
-        }
+    public CommunicationManager updateInfo(String tab, String key, long[] value) {
+        integerArrayHandle(tab, key).set(value);
 
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
+        return this;
+    }
+
+    public CommunicationManager updateInfo(String tab, String key, boolean[] value) {
+        booleanArrayHandle(tab, key).set(value);
 
         return this;
     }
 
-    public CommunicationManager updateInfo(String tab, String key, long[] value) {
-        if (createdTitles.contains(f(tab, key))) {
-            ((IntegerArrayPublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            IntegerArrayPublisher pub = table.getIntegerArrayTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
+    /**
+     * Returns the handle of a double key, publishing the topic if it's new.
+     * Keep the handle to publish the key every loop without looking it up again.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.DoubleHandle doubleHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.DoubleHandle(tab, key, name, table.getDoubleTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.DoubleHandle.class);
+    }
+
+    /**
+     * Returns the handle of an integer key, publishing the topic if it's new.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.IntegerHandle integerHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.IntegerHandle(tab, key, name, table.getIntegerTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.IntegerHandle.class);
+    }
+
+    /**
+     * Returns the handle of a boolean key, publishing the topic if it's new.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.BooleanHandle booleanHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.BooleanHandle(tab, key, name, table.getBooleanTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.BooleanHandle.class);
+    }
+
+    /**
+     * Returns the handle of a String key, publishing the topic if it's new.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.StringHandle stringHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.StringHandle(tab, key, name, table.getStringTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.StringHandle.class);
+    }
+
+    /**
+     * Returns the handle of a String array key, publishing the topic if it's new.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.StringArrayHandle stringArrayHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.StringArrayHandle(tab, key, name, table.getStringArrayTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.StringArrayHandle.class);
+    }
+
+    /**
+     * Returns the handle of a double array key, publishing the topic if it's new.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.DoubleArrayHandle doubleArrayHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.DoubleArrayHandle(tab, key, name, table.getDoubleArrayTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.DoubleArrayHandle.class);
+    }
+
+    /**
+     * Returns the handle of an integer array key, publishing the topic if it's new.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.IntegerArrayHandle integerArrayHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.IntegerArrayHandle(tab, key, name, table.getIntegerArrayTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.IntegerArrayHandle.class);
+    }
+
+    /**
+     * Returns the handle of a boolean array key, publishing the topic if it's new.
+     * @param tab The tab
+     * @param key The key
+     * @return The handle
+     * @throws IllegalStateException If the key was already published with another type
+     */
+    public TelemetryHandle.BooleanArrayHandle booleanArrayHandle(String tab, String key) {
+        TelemetryHandle handle = findHandle(tab, key);
+        if (handle == null) handle = createHandle(tab, key, name -> new TelemetryHandle.BooleanArrayHandle(tab, key, name, table.getBooleanArrayTopic(name).publish()));
+
+        return castHandle(handle, TelemetryHandle.BooleanArrayHandle.class);
+    }
+
+    /**
+     * @return The number of values published over all of the keys
+     */
+    public long getTelemetrySentCount() {
+        long sent = 0;
+
+        for (ConcurrentHashMap<String, TelemetryHandle> keys : handles.values()) {
+            for (TelemetryHandle handle : keys.values()) {
+                sent += handle.getSentCount();
+            }
         }
 
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
+        return sent;
+    }
 
-        return this;
+    /**
+     * @return The number of values that weren't published over all of the keys, since they didn't change or came too soon
+     */
+    public long getTelemetrySuppressedCount() {
+        long suppressed = 0;
+
+        for (ConcurrentHashMap<String, TelemetryHandle> keys : handles.values()) {
+            for (TelemetryHandle handle : keys.values()) {
+                suppressed += handle.getSuppressedCount();
+            }
+        }
+
+        return suppressed;
     }
 
-    public CommunicationManager updateInfo(String tab, String key, boolean[] value) {
-        if (createdTitles.contains(f(tab, key))) {
-            ((BooleanArrayPublisher) entries.get(f(tab, key))).set(value);
-        } else {
-            BooleanArrayPublisher pub = table.getBooleanArrayTopic(f(tab, key)).publish();
-            entries.put(f(tab, key), pub);
-            pub.set(value);
+    private TelemetryHandle findHandle(String tab, String key) {
+        ConcurrentHashMap<String, TelemetryHandle> keys = handles.get(tab);
+        return keys == null ? null : keys.get(key);
+    }
+
+    private TelemetryHandle createHandle(String tab, String key, Function<String, TelemetryHandle> create) {
+        //computeIfAbsent makes sure two threads publishing a new key at once end up with the same publisher.
+        return handles.computeIfAbsent(tab, t -> new ConcurrentHashMap<>()).computeIfAbsent(key, k -> {
+            String name = f(tab, k);
+            TelemetryHandle handle = create.apply(name);
+
+            createdTitles.add(name);
+
+            return handle;
+        });
+    }
+
+    private <T extends TelemetryHandle> T castHandle(TelemetryHandle handle, Class<T> type) {
+        if (!type.isInstance(handle)) {
+            throw new IllegalStateException(handle.getName() + " was already published as a " + handle.getType() + ".");
         }
-        
-        if (!createdTitles.contains(f(tab, key))) createdTitles.add(f(tab, key));
 
-        return this;
+        return type.cast(handle);
     }
 
     private Field2d field = null;
@@ -1058,8 +1320,10 @@ public class CommunicationManager {
      * Closes all network communications.
      */
     public void closeComms() {
-        for (String key : entries.keySet()) {
-            entries.get(key).close();
+        for (ConcurrentHashMap<String, TelemetryHandle> keys : handles.values()) {
+            for (TelemetryHandle handle : keys.values()) {
+                handle.close();
+            }
         }
     }
 
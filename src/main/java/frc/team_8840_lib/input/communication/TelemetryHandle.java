@@ -0,0 +1,369 @@
+package frc.team_8840_lib.input.communication;
+
+import edu.wpi.first.networktables.BooleanArrayPublisher;
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerArrayPublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.Publisher;
+import edu.wpi.first.networktables.StringArrayPublisher;
+import edu.wpi.first.networktables.StringPublisher;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A published key of the CommunicationManager, with the publisher already looked up.
+ *
+ * Code that publishes the same keys every loop should get its handles once (e.g. {@link CommunicationManager#doubleHandle(String, String)})
+ * and keep them, so publishing a value doesn't look up the key or build the "tab/key" name every time.
+ * There's only one handle per key, so it's the same handle {@link CommunicationManager#updateInfo(String, String, double)} publishes with.
+ *
+ * A value is only published if it's different from the last one that was, so constants (names, types...) are sent once.
+ * Numbers can also have a deadband, and a key can have a minimum interval between publishes.
+ * Since values are compared to the last published one, a change that was held back is published by the next set after the interval,
+ * but not before another set is called.
+ */
+public abstract class TelemetryHandle {
+    private final String tab;
+    private final String key;
+    private final String name;
+
+    private long minInterval = 0;
+    private long lastPublish = 0;
+
+    private long sent = 0;
+    private long suppressed = 0;
+
+    protected TelemetryHandle(String tab, String key, String name) {
+        this.tab = tab;
+        this.key = key;
+        this.name = name;
+    }
+
+    /**
+     * @param milliseconds The shortest time between two publishes of the key (default 0, publish every change)
+     * @return This handle
+     */
+    public synchronized TelemetryHandle setMinInterval(long milliseconds) {
+        this.minInterval = milliseconds * 1_000_000L;
+        return this;
+    }
+
+    /**
+     * Counts the publish, or the suppressed one, and returns whether to publish.
+     * The first value is always published.
+     * @param changed Whether the value is different from the last published value
+     */
+    protected boolean shouldPublish(boolean changed) {
+        if (sent > 0) {
+            if (!changed) {
+                suppressed++;
+                return false;
+            }
+
+            if (minInterval > 0 && System.nanoTime() - lastPublish < minInterval) {
+                suppressed++;
+                return false;
+            }
+        }
+
+        if (minInterval > 0) lastPublish = System.nanoTime();
+        sent++;
+
+        return true;
+    }
+
+    /**
+     * @return The number of values that were published
+     */
+    public synchronized long getSentCount() {
+        return sent;
+    }
+
+    /**
+     * @return The number of values that weren't published since they didn't change, or came too soon
+     */
+    public synchronized long getSuppressedCount() {
+        return suppressed;
+    }
+
+    public String getTab() {
+        return tab;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The full name of the topic, "tab/key"
+     */
+    public String getName() {
+        return name;
+    }
+
+    protected abstract Publisher getPublisher();
+
+    /**
+     * @return The name of the type of values the handle publishes
+     */
+    public abstract String getType();
+
+    public void close() {
+        getPublisher().close();
+    }
+
+    public static class DoubleHandle extends TelemetryHandle {
+        private final DoublePublisher publisher;
+        private double last;
+        private double deadband = 0;
+
+        protected DoubleHandle(String tab, String key, String name, DoublePublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        /**
+         * @param deadband How much the value has to change from the last published value to be published again (default 0)
+         * @return This handle
+         */
+        public synchronized DoubleHandle setDeadband(double deadband) {
+            this.deadband = deadband;
+            return this;
+        }
+
+        public synchronized void set(double value) {
+            if (!shouldPublish(changed(last, value, deadband))) return;
+
+            publisher.set(value);
+            last = value;
+        }
+
+        protected static boolean changed(double last, double value, double deadband) {
+            //The bits are compared so NaN matches NaN, and the deadband catches 0.0 and -0.0.
+            return Double.doubleToLongBits(last) != Double.doubleToLongBits(value) && !(Math.abs(value - last) <= deadband);
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "double";
+        }
+    }
+
+    public static class IntegerHandle extends TelemetryHandle {
+        private final IntegerPublisher publisher;
+        private long last;
+
+        protected IntegerHandle(String tab, String key, String name, IntegerPublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        public synchronized void set(long value) {
+            if (!shouldPublish(last != value)) return;
+
+            publisher.set(value);
+            last = value;
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "int";
+        }
+    }
+
+    public static class BooleanHandle extends TelemetryHandle {
+        private final BooleanPublisher publisher;
+        private boolean last;
+
+        protected BooleanHandle(String tab, String key, String name, BooleanPublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        public synchronized void set(boolean value) {
+            if (!shouldPublish(last != value)) return;
+
+            publisher.set(value);
+            last = value;
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "boolean";
+        }
+    }
+
+    public static class StringHandle extends TelemetryHandle {
+        private final StringPublisher publisher;
+        private String last;
+
+        protected StringHandle(String tab, String key, String name, StringPublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        public synchronized void set(String value) {
+            if (!shouldPublish(!Objects.equals(last, value))) return;
+
+            publisher.set(value);
+            last = value;
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "string";
+        }
+    }
+
+    public static class StringArrayHandle extends TelemetryHandle {
+        private final StringArrayPublisher publisher;
+        private String[] last;
+
+        protected StringArrayHandle(String tab, String key, String name, StringArrayPublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        public synchronized void set(String[] value) {
+            if (!shouldPublish(!Arrays.equals(last, value))) return;
+
+            publisher.set(value);
+            //Copied, since the caller might change the array it passed.
+            last = value.clone();
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "string[]";
+        }
+    }
+
+    public static class DoubleArrayHandle extends TelemetryHandle {
+        private final DoubleArrayPublisher publisher;
+        private double[] last;
+        private double deadband = 0;
+
+        protected DoubleArrayHandle(String tab, String key, String name, DoubleArrayPublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        /**
+         * @param deadband How much any element has to change from the last published array for it to be published again (default 0)
+         * @return This handle
+         */
+        public synchronized DoubleArrayHandle setDeadband(double deadband) {
+            this.deadband = deadband;
+            return this;
+        }
+
+        public synchronized void set(double[] value) {
+            if (!shouldPublish(changed(value))) return;
+
+            publisher.set(value);
+            last = value.clone();
+        }
+
+        private boolean changed(double[] value) {
+            if (last == null || last.length != value.length) return true;
+
+            for (int i = 0; i < value.length; i++) {
+                if (DoubleHandle.changed(last[i], value[i], deadband)) return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "double[]";
+        }
+    }
+
+    public static class IntegerArrayHandle extends TelemetryHandle {
+        private final IntegerArrayPublisher publisher;
+        private long[] last;
+
+        protected IntegerArrayHandle(String tab, String key, String name, IntegerArrayPublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        public synchronized void set(long[] value) {
+            if (!shouldPublish(!Arrays.equals(last, value))) return;
+
+            publisher.set(value);
+            last = value.clone();
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "int[]";
+        }
+    }
+
+    public static class BooleanArrayHandle extends TelemetryHandle {
+        private final BooleanArrayPublisher publisher;
+        private boolean[] last;
+
+        protected BooleanArrayHandle(String tab, String key, String name, BooleanArrayPublisher publisher) {
+            super(tab, key, name);
+            this.publisher = publisher;
+        }
+
+        public synchronized void set(boolean[] value) {
+            if (!shouldPublish(!Arrays.equals(last, value))) return;
+
+            publisher.set(value);
+            last = value.clone();
+        }
+
+        @Override
+        protected Publisher getPublisher() {
+            return publisher;
+        }
+
+        @Override
+        public String getType() {
+            return "boolean[]";
+        }
+    }
+}
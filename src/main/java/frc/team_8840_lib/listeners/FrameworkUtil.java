@@ -10,6 +10,7 @@ import frc.team_8840_lib.info.console.Logger;
 import frc.team_8840_lib.info.time.TimeKeeper;
 import frc.team_8840_lib.input.communication.CommunicationManager;
 import frc.team_8840_lib.libraries.LibraryManager;
+import frc.team_8840_lib.replay.ReplayContext;
 import frc.team_8840_lib.utils.GamePhase;
 import frc.team_8840_lib.utils.interfaces.Callback;
 
@@ -33,6 +34,18 @@ public class FrameworkUtil {
     }
 
     public static final double DELTA_TIME = 0.03125; //32 times per sec
+
+    /**
+     * Returns the time step code should move forward by each fixed rate call.
+     * This is {@link #DELTA_TIME}, except during a stepped or batch replay, where it's the length of a replayed cycle.
+     * @return The time step in seconds
+     */
+    public static double getDeltaTime() {
+        ReplayContext context = ReplayContext.current();
+        if (context != null) return context.getDeltaTime();
+
+        return TimeKeeper.isVirtualClock() ? TimeKeeper.getVirtualDeltaTime() : DELTA_TIME;
+    }
     
     private TimerTask fixedAutonomous;
     private TimerTask fixedTeleop;
@@ -167,6 +180,8 @@ public class FrameworkUtil {
      * @param newPhase The new GamePhase.
      **/
     private void onGamePhaseChange(GamePhase newPhase) {
+        Logger.flush();
+
         try {
             if (TimeKeeper.getInstance().automaticallyResubscribeEvents) {
                 TimeKeeper.getInstance().resubscribeAll(newPhase.getTimerName());
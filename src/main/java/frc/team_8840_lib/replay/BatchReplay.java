@@ -0,0 +1,150 @@
+package frc.team_8840_lib.replay;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import frc.team_8840_lib.info.console.Logger;
+import frc.team_8840_lib.utils.logging.LogStorage;
+
+/**
+ * Replays many logs at once, each in its own {@link ReplayContext}, and sums every log up with reducers.
+ *
+ * The setup is called for every log to make fresh replayables (made while the context runs, so they belong to it).
+ * Logs are replayed as fast as possible, spread over a fork/join pool, and don't touch {@link ReplayManager}.
+ *
+ * <pre>
+ * List&lt;ReplaySummary&gt; summaries = new BatchReplay(context -&gt; new Drivetrain())
+ *     .addReducer("maxCurrent", ReplayReducers.max("Drivetrain|current"))
+ *     .run(new File("logs"));
+ * </pre>
+ */
+public class BatchReplay {
+    //Batch replays don't show the console messages, so only a few are kept.
+    public static final int DEFAULT_MESSAGE_WINDOW = 100;
+
+    private final Consumer<ReplayContext> setup;
+    private final LinkedHashMap<String, Supplier<ReplayReducer>> reducers = new LinkedHashMap<>();
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int messageWindow = DEFAULT_MESSAGE_WINDOW;
+
+    /**
+     * @param setup Called for every log before it's replayed, to make the replayables and add any step listeners
+     */
+    public BatchReplay(Consumer<ReplayContext> setup) {
+        this.setup = setup;
+    }
+
+    /**
+     * Adds a result to every summary.
+     * @param name The name of the result
+     * @param reducer Makes a new reducer for each log
+     * @return This batch replay
+     */
+    public BatchReplay addReducer(String name, Supplier<ReplayReducer> reducer) {
+        reducers.put(name, reducer);
+        return this;
+    }
+
+    /**
+     * @param parallelism How many logs to replay at once (default the number of processors)
+     * @return This batch replay
+     */
+    public BatchReplay setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * @param messageWindow How many console messages of each log to keep (default {@link #DEFAULT_MESSAGE_WINDOW})
+     * @return This batch replay
+     */
+    public BatchReplay setMessageWindow(int messageWindow) {
+        this.messageWindow = messageWindow;
+        return this;
+    }
+
+    /**
+     * Replays every log in a folder (see {@link LogStorage#listReplayableLogs(File)}).
+     * @param folder The folder
+     * @return A summary of each log, in the order of the logs
+     */
+    public List<ReplaySummary> run(File folder) {
+        return run(LogStorage.listReplayableLogs(folder));
+    }
+
+    /**
+     * Replays logs.
+     * @param logs The logs
+     * @return A summary of each log, in the same order
+     */
+    public List<ReplaySummary> run(List<File> logs) {
+        ArrayList<Callable<ReplaySummary>> tasks = new ArrayList<>();
+
+        for (File log : logs) {
+            tasks.add(() -> replay(log));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+
+        try {
+            ArrayList<ReplaySummary> summaries = new ArrayList<>();
+
+            for (Future<ReplaySummary> future : pool.invokeAll(tasks)) {
+                summaries.add(future.get());
+            }
+
+            return summaries;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch replay was interrupted!", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Batch replay failed!", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private ReplaySummary replay(File file) {
+        long start = System.currentTimeMillis();
+
+        ReplayContext context = new ReplayContext(file);
+
+        LinkedHashMap<String, ReplayReducer> logReducers = new LinkedHashMap<>();
+        for (String name : reducers.keySet()) {
+            logReducers.put(name, reducers.get(name).get());
+        }
+
+        try {
+            int cycles = context.run(setupContext -> {
+                setup.accept(setupContext);
+
+                //Added after the setup, so the reducers see the cycle after the replayed code ran.
+                setupContext.addStepListener(cycle -> {
+                    for (ReplayReducer reducer : logReducers.values()) {
+                        reducer.step(setupContext, cycle);
+                    }
+                });
+            }, messageWindow);
+
+            LinkedHashMap<String, Object> results = new LinkedHashMap<>();
+            for (String name : logReducers.keySet()) {
+                results.put(name, logReducers.get(name).finish(context));
+            }
+
+            return new ReplaySummary(file, cycles, System.currentTimeMillis() - start, results, null);
+        } catch (Exception e) {
+            Logger.Log("[BatchReplay] Unable to replay " + file.getName() + ": " + e);
+
+            return new ReplaySummary(file, Math.max(0, context.getCycle()), System.currentTimeMillis() - start, new LinkedHashMap<>(), e);
+        }
+    }
+}
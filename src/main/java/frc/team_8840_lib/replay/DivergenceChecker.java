@@ -0,0 +1,249 @@
+package frc.team_8840_lib.replay;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+import frc.team_8840_lib.info.console.AutoLogPlan;
+import frc.team_8840_lib.info.console.Logger;
+import frc.team_8840_lib.info.console.Logger.LogType;
+
+/**
+ * Checks that the code being replayed still does what it did when the log was saved.
+ *
+ * The outputs of the replayables (auto logs without a replaylink, like the speeds and angles of a SwerveDrive) are read after every cycle,
+ * once the replayed inputs are set and the control code ran, and compared to the values in the log at that cycle.
+ * Numbers (and number arrays) match within a tolerance, everything else has to be equal.
+ * The result is a {@link DivergenceReport} with the first cycle each output diverged at.
+ *
+ * Use it with a stepped replay ({@link ReplayManager#setDivergenceChecker(DivergenceChecker)}), or as a reducer of a {@link BatchReplay}.
+ */
+public class DivergenceChecker implements ReplayReducer {
+    public static final double DEFAULT_TOLERANCE = 1e-6;
+
+    private double defaultTolerance = DEFAULT_TOLERANCE;
+    private final HashMap<String, Double> tolerances = new HashMap<>();
+    private final HashSet<String> ignored = new HashSet<>();
+
+    private final ArrayList<Signal> signals = new ArrayList<>();
+    private boolean resolved = false;
+
+    private int checkedCycles = 0;
+
+    /**
+     * @param tolerance The largest difference allowed between a replayed and a logged number (default {@link #DEFAULT_TOLERANCE})
+     * @return This checker
+     */
+    public DivergenceChecker setDefaultTolerance(double tolerance) {
+        this.defaultTolerance = tolerance;
+        return this;
+    }
+
+    /**
+     * @param signal The full name of an output (base name + "|" + name)
+     * @param tolerance The largest difference allowed for that output
+     * @return This checker
+     */
+    public DivergenceChecker setTolerance(String signal, double tolerance) {
+        tolerances.put(signal, tolerance);
+        return this;
+    }
+
+    /**
+     * Doesn't check an output, e.g. a timestamp that's never the same.
+     * @param signal The full name of the output (base name + "|" + name)
+     * @return This checker
+     */
+    public DivergenceChecker ignore(String signal) {
+        ignored.add(signal);
+        return this;
+    }
+
+    /**
+     * Finds the outputs of the replayables that are in the log. Inputs (anything the replay sets) aren't checked.
+     * @param log The log being replayed
+     * @param replayables The replayables being replayed
+     */
+    public void resolve(ReplayLog log, List<Replayable> replayables) {
+        signals.clear();
+        checkedCycles = 0;
+
+        for (Replayable replayable : replayables) {
+            for (AutoLogPlan.Accessor accessor : AutoLogPlan.of(replayable.getClass()).getAccessors()) {
+                String name = replayable.getBaseName() + "|" + accessor.getName();
+
+                if (ignored.contains(name)) continue;
+
+                LogDataThread thread = log.getThreadsMap().get(name);
+                if (thread == null || thread.size() == 0 || thread.getDataType() != accessor.getType()) continue;
+
+                if (replayable.getReplaySetter(accessor.getName()) != null) continue;
+
+                signals.add(new Signal(name, replayable, accessor, thread, tolerances.getOrDefault(name, defaultTolerance)));
+            }
+        }
+
+        resolved = true;
+    }
+
+    /**
+     * Compares every output to the log.
+     * @param cycle The cycle that was just replayed
+     */
+    public void check(int cycle) {
+        for (Signal signal : signals) {
+            signal.check(cycle);
+        }
+
+        checkedCycles++;
+    }
+
+    @Override
+    public void step(ReplayContext context, int cycle) {
+        if (!resolved) resolve(context.getLog(), context.getReplayables());
+
+        check(cycle);
+    }
+
+    @Override
+    public Object finish(ReplayContext context) {
+        return getReport();
+    }
+
+    public DivergenceReport getReport() {
+        ArrayList<DivergenceReport.Divergence> divergences = new ArrayList<>();
+
+        for (Signal signal : signals) {
+            if (signal.firstCycle != -1) {
+                divergences.add(new DivergenceReport.Divergence(signal.name, signal.firstCycle, signal.count, signal.maxError, signal.loggedValue, signal.replayedValue));
+            }
+        }
+
+        return new DivergenceReport(signals.size(), checkedCycles, divergences);
+    }
+
+    private static class Signal {
+        private final String name;
+        private final Replayable replayable;
+        private final AutoLogPlan.Accessor accessor;
+        private final LogDataThread thread;
+        private final double tolerance;
+
+        private int firstCycle = -1;
+        private int count = 0;
+        private double maxError = 0;
+        private String loggedValue;
+        private String replayedValue;
+
+        private boolean failed = false;
+
+        public Signal(String name, Replayable replayable, AutoLogPlan.Accessor accessor, LogDataThread thread, double tolerance) {
+            this.name = name;
+            this.replayable = replayable;
+            this.accessor = accessor;
+            this.thread = thread;
+            this.tolerance = tolerance;
+        }
+
+        public void check(int cycle) {
+            if (failed) return;
+
+            Object logged;
+            Object replayed;
+            double error;
+
+            try {
+                switch (accessor.getType()) {
+                    case DOUBLE:
+                        double loggedDouble = thread.getDoubleByCycle(cycle);
+                        double replayedDouble = accessor.getDouble(replayable);
+
+                        error = difference(loggedDouble, replayedDouble);
+                        logged = loggedDouble;
+                        replayed = replayedDouble;
+                        break;
+                    case INT:
+                        int loggedInt = thread.getIntByCycle(cycle);
+                        int replayedInt = accessor.getInt(replayable);
+
+                        error = Math.abs((double) loggedInt - replayedInt);
+                        logged = loggedInt;
+                        replayed = replayedInt;
+                        break;
+                    case BOOLEAN:
+                        boolean loggedBoolean = thread.getBooleanByCycle(cycle);
+                        boolean replayedBoolean = accessor.getBoolean(replayable);
+
+                        error = loggedBoolean == replayedBoolean ? 0 : Double.POSITIVE_INFINITY;
+                        logged = loggedBoolean;
+                        replayed = replayedBoolean;
+                        break;
+                    case DOUBLE_ARRAY:
+                        logged = thread.getByCycle(cycle);
+                        replayed = accessor.getObject(replayable);
+
+                        error = difference((double[]) logged, (double[]) replayed);
+                        break;
+                    default:
+                        logged = thread.getByCycle(cycle);
+                        replayed = accessor.getObject(replayable);
+
+                        error = Objects.deepEquals(logged, replayed) ? 0 : Double.POSITIVE_INFINITY;
+                        break;
+                }
+            } catch (Throwable e) {
+                Logger.Log("[DivergenceChecker] Unable to read " + name + ", not checking it anymore.");
+                e.printStackTrace();
+
+                failed = true;
+                return;
+            }
+
+            if (error <= tolerance) return;
+
+            if (firstCycle == -1) {
+                firstCycle = cycle;
+                loggedValue = toString(logged);
+                replayedValue = toString(replayed);
+            }
+
+            count++;
+            maxError = Math.max(maxError, error);
+        }
+
+        private static double difference(double logged, double replayed) {
+            if (Double.isNaN(logged) || Double.isNaN(replayed)) {
+                return Double.isNaN(logged) && Double.isNaN(replayed) ? 0 : Double.POSITIVE_INFINITY;
+            }
+
+            if (logged == replayed) return 0;
+
+            return Math.abs(logged - replayed);
+        }
+
+        private static double difference(double[] logged, double[] replayed) {
+            if (logged == null || replayed == null || logged.length != replayed.length) {
+                return logged == replayed ? 0 : Double.POSITIVE_INFINITY;
+            }
+
+            double error = 0;
+
+            for (int i = 0; i < logged.length; i++) {
+                error = Math.max(error, difference(logged[i], replayed[i]));
+            }
+
+            return error;
+        }
+
+        private static String toString(Object value) {
+            if (value instanceof double[]) return Arrays.toString((double[]) value);
+            if (value instanceof String[]) return Arrays.toString((String[]) value);
+            if (value instanceof byte[]) return Arrays.toString((byte[]) value);
+
+            return String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package frc.team_8840_lib.replay;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outputs that diverged from the log during a replay, made by a {@link DivergenceChecker}.
+ */
+public class DivergenceReport {
+    /**
+     * One output that didn't match the log.
+     */
+    public static class Divergence {
+        private final String signal;
+        private final int firstCycle;
+        private final int cycles;
+        private final double maxError;
+        private final String loggedValue;
+        private final String replayedValue;
+
+        protected Divergence(String signal, int firstCycle, int cycles, double maxError, String loggedValue, String replayedValue) {
+            this.signal = signal;
+            this.firstCycle = firstCycle;
+            this.cycles = cycles;
+            this.maxError = maxError;
+            this.loggedValue = loggedValue;
+            this.replayedValue = replayedValue;
+        }
+
+        /**
+         * @return The full name of the output
+         */
+        public String getSignal() {
+            return signal;
+        }
+
+        /**
+         * @return The first cycle the output diverged at
+         */
+        public int getFirstCycle() {
+            return firstCycle;
+        }
+
+        /**
+         * @return How many cycles the output diverged at
+         */
+        public int getCycles() {
+            return cycles;
+        }
+
+        /**
+         * @return The largest difference from the log, or infinity for values that aren't numbers
+         */
+        public double getMaxError() {
+            return maxError;
+        }
+
+        /**
+         * @return The logged value at the first divergent cycle
+         */
+        public String getLoggedValue() {
+            return loggedValue;
+        }
+
+        /**
+         * @return The replayed value at the first divergent cycle
+         */
+        public String getReplayedValue() {
+            return replayedValue;
+        }
+
+        @Override
+        public String toString() {
+            return signal + " diverged at cycle " + firstCycle + " (logged " + loggedValue + ", replayed " + replayedValue + ")"
+                + ", " + cycles + " cycles, max error " + maxError;
+        }
+    }
+
+    private final int checkedSignals;
+    private final int checkedCycles;
+    private final List<Divergence> divergences;
+
+    protected DivergenceReport(int checkedSignals, int checkedCycles, List<Divergence> divergences) {
+        this.checkedSignals = checkedSignals;
+        this.checkedCycles = checkedCycles;
+        this.divergences = divergences;
+    }
+
+    /**
+     * @return Whether every output matched the log
+     */
+    public boolean matches() {
+        return divergences.isEmpty();
+    }
+
+    public int getCheckedSignals() {
+        return checkedSignals;
+    }
+
+    public int getCheckedCycles() {
+        return checkedCycles;
+    }
+
+    public List<Divergence> getDivergences() {
+        return Collections.unmodifiableList(divergences);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+
+        report.append(divergences.size()).append(" of ").append(checkedSignals).append(" outputs diverged over ").append(checkedCycles).append(" cycles.");
+
+        for (Divergence divergence : divergences) {
+            report.append("\n  ").append(divergence);
+        }
+
+        return report.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package frc.team_8840_lib.replay;
+
+/**
+ * Where every thread of a replay log is at every few cycles, so the replay can jump to any cycle without searching through everything before it.
+ *
+ * Every {@link #getInterval()} cycles (a keyframe), the index saves which sample of each thread holds the value at that cycle.
+ * Seeking to a cycle only has to search the samples between the keyframes around it.
+ * The index is only kept in memory: building it is one lookup per thread per keyframe, so it isn't worth a file next to the log.
+ */
+public class KeyframeIndex {
+    public static final int DEFAULT_INTERVAL = 250;
+
+    private final int interval;
+
+    private final LogDataThread[] threads;
+    //indices[keyframe][thread] is the sample holding the value at the cycle of the keyframe, or -1 if the thread has no samples.
+    private final int[][] indices;
+
+    private KeyframeIndex(int interval, LogDataThread[] threads, int[][] indices) {
+        this.interval = interval;
+        this.threads = threads;
+        this.indices = indices;
+    }
+
+    /**
+     * Builds the index of a log.
+     * @param log The log
+     * @param interval The number of cycles between keyframes
+     * @return The index
+     */
+    public static KeyframeIndex build(ReplayLog log, int interval) {
+        if (interval <= 0) throw new IllegalArgumentException("The keyframe interval must be positive.");
+
+        LogDataThread[] threads = log.getThreads();
+        int[][] indices = new int[log.getCycles() / interval + 1][threads.length];
+
+        for (int keyframe = 0; keyframe < indices.length; keyframe++) {
+            for (int i = 0; i < threads.length; i++) {
+                indices[keyframe][i] = threads[i].getIndexByCycle(keyframe * interval);
+            }
+        }
+
+        return new KeyframeIndex(interval, threads, indices);
+    }
+
+    /**
+     * Moves the cursor of every thread to its sample at a cycle, so replaying from there doesn't search.
+     * @param cycle The cycle to seek to
+     */
+    public void seek(int cycle) {
+        int keyframe = Math.max(0, Math.min(cycle / interval, indices.length - 1));
+
+        for (int i = 0; i < threads.length; i++) {
+            int from = indices[keyframe][i];
+            if (from == -1) continue;
+
+            int to = keyframe + 1 < indices.length ? indices[keyframe + 1][i] : threads[i].size() - 1;
+
+            threads[i].seek(cycle, from, to);
+        }
+    }
+
+    /**
+     * @return The number of cycles between keyframes
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    public int getKeyframeCount() {
+        return indices.length;
+    }
+}
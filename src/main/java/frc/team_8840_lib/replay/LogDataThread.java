@@ -3,42 +3,262 @@ package frc.team_8840_lib.replay;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
+import java.util.Arrays;
 
 import frc.team_8840_lib.info.console.Logger;
 import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.buffer.ByteConversions;
 
+/**
+ * The values of one logged signal, by cycle. Values are only saved when they change, so a cycle without a value uses the one before it.
+ *
+ * The values are stored in primitive columns: the cycle of each sample in one int array, and the values in an array of their type.
+ * Array values are stored back to back in one pool, with the offset of each sample.
+ * Looking up a cycle is a binary search, with a cursor that makes moving forward one cycle at a time (like replaying) constant time.
+ */
 public class LogDataThread {
-
-    private class DataCyclePair {
-        public int cycle;
-        public String rawData;
-
-        public DataCyclePair(int cycle, String rawData) {
-            this.cycle = cycle;
-            this.rawData = rawData;
-        }
-    }
+    private static final int INITIAL_CAPACITY = 16;
 
     protected String name;
     private LogType dataType;
 
-    private ArrayList<DataCyclePair> rawData = new ArrayList<>();
+    private int size = 0;
+    private int[] cycles = new int[INITIAL_CAPACITY];
+
+    //Only the column of the data type is used.
+    private double[] doubles;
+    private int[] ints;
+    private boolean[] booleans;
+    private String[] strings;
+
+    //Array values: sample i is pool[offsets[i]] up to pool[offsets[i + 1]].
+    private int[] offsets;
+    private double[] doublePool;
+    private String[] stringPool;
+    private byte[] bytePool;
+    private int poolSize = 0;
+
+    //Index of the last looked up sample. Only a hint: if threads share a log, a stale cursor just means a binary search.
+    private int cursor = 0;
 
     public LogDataThread(String name, LogType dataType) {
         this.name = name;
         this.dataType = dataType;
 
-        System.out.println("new data thread " + name + " with datatype " + dataType.toString());
+        switch (dataType) {
+            case DOUBLE:
+                doubles = new double[INITIAL_CAPACITY];
+                break;
+            case INT:
+                ints = new int[INITIAL_CAPACITY];
+                break;
+            case BOOLEAN:
+                booleans = new boolean[INITIAL_CAPACITY];
+                break;
+            case STRING_ARRAY:
+                offsets = new int[INITIAL_CAPACITY + 1];
+                stringPool = new String[INITIAL_CAPACITY];
+                break;
+            case DOUBLE_ARRAY:
+                offsets = new int[INITIAL_CAPACITY + 1];
+                doublePool = new double[INITIAL_CAPACITY];
+                break;
+            case BYTE_ARRAY:
+                offsets = new int[INITIAL_CAPACITY + 1];
+                bytePool = new byte[INITIAL_CAPACITY];
+                break;
+            case STRING:
+            default:
+                strings = new String[INITIAL_CAPACITY];
+                break;
+        }
     }
 
+    /**
+     * Pushes a value from a text log, which is decoded right away so the text isn't kept.
+     * @param data The value as it was saved in the log
+     * @param cycle The cycle the value was saved at
+     */
     protected void push(String data, int cycle) {
-        rawData.add(new DataCyclePair(cycle, data));
-        if (name.equals("ReplayableExample|exampleVariable2")) {
-            System.out.println("pushed " + data + " to " + name + " at cycle " + cycle);
+        switch (dataType) {
+            case DOUBLE:
+                pushDouble(Double.parseDouble(data), cycle);
+                break;
+            case INT:
+                pushInt(Integer.parseInt(data), cycle);
+                break;
+            case BOOLEAN:
+                pushBoolean(Boolean.parseBoolean(data), cycle);
+                break;
+            default:
+                pushDecoded(decode(dataType, data), cycle);
+                break;
+        }
+    }
+
+    /**
+     * Pushes an already decoded value, so it doesn't need to be parsed when replaying.
+     * @param value The value, with the type matching the data type of the thread
+     * @param cycle The cycle the value was saved at
+     */
+    protected void pushDecoded(Object value, int cycle) {
+        switch (dataType) {
+            case DOUBLE:
+                pushDouble((Double) value, cycle);
+                break;
+            case INT:
+                pushInt((Integer) value, cycle);
+                break;
+            case BOOLEAN:
+                pushBoolean((Boolean) value, cycle);
+                break;
+            case STRING_ARRAY:
+                pushStringArray((String[]) value, cycle);
+                break;
+            case DOUBLE_ARRAY:
+                pushDoubleArray((double[]) value, cycle);
+                break;
+            case BYTE_ARRAY:
+                pushByteArray((byte[]) value, cycle);
+                break;
+            case STRING:
+            default:
+                pushString(value.toString(), cycle);
+                break;
         }
     }
 
+    protected void pushDouble(double value, int cycle) {
+        int index = nextIndex(cycle);
+        if (index >= doubles.length) doubles = Arrays.copyOf(doubles, cycles.length);
+
+        doubles[index] = value;
+    }
+
+    protected void pushInt(int value, int cycle) {
+        int index = nextIndex(cycle);
+        if (index >= ints.length) ints = Arrays.copyOf(ints, cycles.length);
+
+        ints[index] = value;
+    }
+
+    protected void pushBoolean(boolean value, int cycle) {
+        int index = nextIndex(cycle);
+        if (index >= booleans.length) booleans = Arrays.copyOf(booleans, cycles.length);
+
+        booleans[index] = value;
+    }
+
+    protected void pushString(String value, int cycle) {
+        int index = nextIndex(cycle);
+        if (index >= strings.length) strings = Arrays.copyOf(strings, cycles.length);
+
+        strings[index] = value;
+    }
+
+    protected void pushStringArray(String[] value, int cycle) {
+        int start = nextArrayIndex(cycle, value.length);
+        if (poolSize > stringPool.length) stringPool = Arrays.copyOf(stringPool, Math.max(poolSize, stringPool.length * 2));
+
+        System.arraycopy(value, 0, stringPool, start, value.length);
+    }
+
+    protected void pushDoubleArray(double[] value, int cycle) {
+        int start = nextArrayIndex(cycle, value.length);
+        if (poolSize > doublePool.length) doublePool = Arrays.copyOf(doublePool, Math.max(poolSize, doublePool.length * 2));
+
+        System.arraycopy(value, 0, doublePool, start, value.length);
+    }
+
+    protected void pushByteArray(byte[] value, int cycle) {
+        int start = nextArrayIndex(cycle, value.length);
+        if (poolSize > bytePool.length) bytePool = Arrays.copyOf(bytePool, Math.max(poolSize, bytePool.length * 2));
+
+        System.arraycopy(value, 0, bytePool, start, value.length);
+    }
+
+    /**
+     * Adds the cycle of a new sample.
+     * @return The index of the sample
+     */
+    private int nextIndex(int cycle) {
+        if (size == cycles.length) cycles = Arrays.copyOf(cycles, cycles.length * 2);
+
+        cycles[size] = cycle;
+        return size++;
+    }
+
+    /**
+     * Scales the cycles of the samples to a tick that's {@code factor} times shorter (see {@link ReplayLog#scaleCycle(int, int)}).
+     * @param factor How many new cycles there are in an old one
+     */
+    protected void scaleCycles(int factor) {
+        for (int i = 0; i < size; i++) {
+            cycles[i] = ReplayLog.scaleCycle(cycles[i], factor);
+        }
+
+        cursor = 0;
+    }
+
+    /**
+     * Adds the cycle and the offset of a new array sample, making room for its values in the pool.
+     * @return Where the values of the sample start in the pool
+     */
+    private int nextArrayIndex(int cycle, int length) {
+        int index = nextIndex(cycle);
+        if (index + 1 >= offsets.length) offsets = Arrays.copyOf(offsets, cycles.length + 1);
+
+        int start = poolSize;
+        poolSize += length;
+
+        offsets[index] = start;
+        offsets[index + 1] = poolSize;
+
+        return start;
+    }
+
+    /**
+     * Decodes a value saved in a text log.
+     * @param type The type of the value
+     * @param data The value as it was saved in the log
+     * @return The decoded value
+     */
+    public static Object decode(LogType type, String data) {
+        switch (type) {
+            case DOUBLE:
+                return Double.parseDouble(data);
+            case INT:
+                return Integer.parseInt(data);
+            case BOOLEAN:
+                return Boolean.parseBoolean(data);
+            case STRING_ARRAY:
+                //Saved with Arrays.toString, so [a, b, c].
+                String strings = data.substring(1, data.length() - 1);
+                return strings.isEmpty() ? new String[0] : strings.split(", ");
+            case DOUBLE_ARRAY:
+                //Saved as [a,b,c], older logs have spaces after the commas.
+                String doubles = data.substring(1, data.length() - 1).trim();
+                if (doubles.isEmpty()) return new double[0];
+
+                String[] stringArray = doubles.split(",");
+                double[] doubleArray = new double[stringArray.length];
+                for (int i = 0; i < stringArray.length; i++) {
+                    doubleArray[i] = Double.parseDouble(stringArray[i].trim());
+                }
+                return doubleArray;
+            case BYTE_ARRAY:
+                return ByteConversions.rawStringToByteArray(data);
+            case STRING:
+            default:
+                return data;
+        }
+    }
+
+    /**
+     * Calls a method with the value at a cycle.
+     * @deprecated Use {@link ReplayDispatch}, which resolves the setters once instead of reflecting every cycle.
+     */
+    @Deprecated
     protected void setMethod(Method method, int cycle, Object klass) {
         try {
             method.invoke(klass, getByCycle(cycle));
@@ -48,6 +268,12 @@ public class LogDataThread {
         }
     }
 
+    /**
+     * Sets a field to the value at a cycle.
+     * @deprecated Use {@link ReplayDispatch}, which resolves the setters once instead of reflecting every cycle.
+     */
+    @Deprecated
+    @SuppressWarnings("deprecation")
     protected void setField(Field field, int cycle, Object klass) {
         boolean isAccessible = field.isAccessible();
         field.setAccessible(true);
@@ -71,42 +297,35 @@ public class LogDataThread {
     }
 
     public String getAsString(int index) {
-        return rawData.get(index).rawData;
+        return getByIndex(index).toString();
     }
 
     public double getAsDouble(int index) {
-        return Double.parseDouble(rawData.get(index).rawData);
+        return doubles[index];
     }
 
     public int getAsInt(int index) {
-        return Integer.parseInt(rawData.get(index).rawData);
+        return ints[index];
     }
 
     public boolean getAsBoolean(int index) {
-        return Boolean.parseBoolean(rawData.get(index).rawData);
+        return booleans[index];
     }
 
     public String[] getAsStringArray(int index) {
-        return rawData.get(index).rawData.substring(1, rawData.get(index).rawData.length() - 1).split(", ");
+        return Arrays.copyOfRange(stringPool, offsets[index], offsets[index + 1]);
     }
 
     public double[] getAsDoubleArray(int index) {
-        String[] stringArray = getAsStringArray(index);
-        double[] doubleArray = new double[stringArray.length];
-        for (int i = 0; i < stringArray.length; i++) {
-            doubleArray[i] = Double.parseDouble(stringArray[i]);
-        }
-        return doubleArray;
+        return Arrays.copyOfRange(doublePool, offsets[index], offsets[index + 1]);
     }
 
     public byte[] getAsByteArray(int index) {
-        return rawData.get(index).rawData.getBytes();
+        return Arrays.copyOfRange(bytePool, offsets[index], offsets[index + 1]);
     }
 
     public Object getByIndex(int index) {
         switch (dataType) {
-            case STRING:
-                return getAsString(index);
             case DOUBLE:
                 return getAsDouble(index);
             case INT:
@@ -119,33 +338,105 @@ public class LogDataThread {
                 return getAsDoubleArray(index);
             case BYTE_ARRAY:
                 return getAsByteArray(index);
+            case STRING:
             default:
-                return null;
+                return strings[index];
         }
     }
 
-    public Object getByCycle(int cycle) {
-        if (cycle < rawData.get(0).cycle) {
-            return getByIndex(0);
-        }
+    /**
+     * Finds the sample that holds the value at a cycle: the last one saved at or before it, or the first one if the cycle is before every sample.
+     * Moving forward from the last lookup only checks the next few samples, otherwise it's a binary search.
+     * @param cycle The cycle
+     * @return The index of the sample, or -1 if there are no samples
+     */
+    public int getIndexByCycle(int cycle) {
+        if (size == 0) return -1;
+        if (cycle < cycles[0]) return 0;
 
-        int i = 0;
-        for (DataCyclePair pair : rawData) {
-            if (pair.cycle == cycle) {
-                return getByIndex(i);
-            } else if (pair.cycle > cycle) {
-                //Fill in the gaps (since data is only sent when it changes)
-                return getByIndex(i - 1);
-            }
+        int index = Math.min(cursor, size - 1);
+
+        if (cycles[index] <= cycle) {
+            for (int step = 0; step < 4; step++) {
+                if (index + 1 >= size || cycles[index + 1] > cycle) {
+                    cursor = index;
+                    return index;
+                }
 
-            i++;
+                index++;
+            }
         }
 
-        if (cycle > rawData.get(rawData.size() - 1).cycle) {
-            return getByIndex(rawData.size() - 1);
+        cursor = search(cycle, 0, size - 1);
+        return cursor;
+    }
+
+    /**
+     * Moves the cursor to the sample holding the value at a cycle, only searching between two samples.
+     * Used by the {@link KeyframeIndex}, which knows the samples at the keyframes before and after the cycle.
+     * @param cycle The cycle
+     * @param from The index of a sample at or before the cycle
+     * @param to The index of a sample after the cycle, or the last sample
+     */
+    protected void seek(int cycle, int from, int to) {
+        if (size == 0) return;
+
+        from = Math.max(0, from);
+        to = Math.min(size - 1, to);
+
+        cursor = cycles[from] > cycle ? from : search(cycle, from, to);
+    }
+
+    //Last sample between low and high with a cycle at or before the one asked for.
+    private int search(int cycle, int low, int high) {
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if (cycles[middle] <= cycle) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
         }
 
-        return null;
+        return low;
+    }
+
+    public Object getByCycle(int cycle) {
+        int index = getIndexByCycle(cycle);
+
+        return index == -1 ? null : getByIndex(index);
+    }
+
+    public double getDoubleByCycle(int cycle) {
+        return doubles[getIndexByCycle(cycle)];
+    }
+
+    public int getIntByCycle(int cycle) {
+        return ints[getIndexByCycle(cycle)];
+    }
+
+    public boolean getBooleanByCycle(int cycle) {
+        return booleans[getIndexByCycle(cycle)];
+    }
+
+    /**
+     * @return The number of samples
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The index of a sample
+     * @return The cycle the sample was saved at
+     */
+    public int getCycle(int index) {
+        return cycles[index];
+    }
+
+    public LogType getDataType() {
+        return dataType;
     }
 
     public String getName() {
@@ -0,0 +1,150 @@
+package frc.team_8840_lib.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import frc.team_8840_lib.info.console.Logger;
+
+/**
+ * One log replayed on its own, for {@link BatchReplay}. A context has its own replay state and its own replayables,
+ * so many logs can be replayed at once on different threads without touching {@link ReplayManager} or each other.
+ *
+ * While a context runs, it's the {@link #current()} context of its thread: replayables made then belong to it
+ * (instead of being added to the ReplayManager, the logger and the IOManager), and the TimeKeeper clock reads the replayed time.
+ */
+public class ReplayContext {
+    private static final ThreadLocal<ReplayContext> current = new ThreadLocal<>();
+
+    /**
+     * @return The context running on this thread, or null if there isn't one
+     */
+    public static ReplayContext current() {
+        return current.get();
+    }
+
+    private final File file;
+
+    private final ArrayList<Replayable> replayables = new ArrayList<>();
+    private final ArrayList<ReplayStepListener> stepListeners = new ArrayList<>();
+
+    private ReplayLog log;
+
+    private int cycle = -1;
+    private long interval;
+
+    public ReplayContext(File file) {
+        this.file = file;
+    }
+
+    protected void addReplayable(Replayable replayable) {
+        replayables.add(replayable);
+    }
+
+    /**
+     * Adds a listener that's called after every replayed cycle, once the replayed values are set.
+     * @param listener The listener
+     * @return This context
+     */
+    public ReplayContext addStepListener(ReplayStepListener listener) {
+        stepListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Replays the whole log on the calling thread.
+     * @param setup Called first (as the current context), to make the replayables and add any step listeners
+     * @param messageWindow How many console messages of the log to keep
+     * @return The number of cycles replayed
+     * @throws IOException If the log couldn't be read
+     */
+    public int run(Consumer<ReplayContext> setup, int messageWindow) throws IOException {
+        ReplayContext previous = current.get();
+        current.set(this);
+
+        try {
+            setup.accept(this);
+
+            log = ReplayLog.read(file, messageWindow);
+            interval = log.getInterval() > 0 ? log.getInterval() : Logger.getLogInterval();
+
+            for (Replayable replayable : replayables) {
+                replayable.setReal(false);
+                replayable.replayInit();
+            }
+
+            ReplayDispatch dispatch = ReplayDispatch.resolve(log, replayables);
+
+            for (cycle = 0; cycle < log.getCycles(); cycle++) {
+                dispatch.replay(cycle);
+
+                for (ReplayStepListener listener : stepListeners) {
+                    listener.onStep(cycle);
+                }
+            }
+
+            for (Replayable replayable : replayables) {
+                replayable.exitReplay();
+            }
+
+            return log.getCycles();
+        } finally {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The log being replayed, or null before it's read
+     */
+    public ReplayLog getLog() {
+        return log;
+    }
+
+    /**
+     * @return The cycle being replayed
+     */
+    public int getCycle() {
+        return cycle;
+    }
+
+    /**
+     * @return The replayed time in seconds, at the end of the cycle being replayed
+     */
+    public double getTime() {
+        return (cycle + 1) * interval / 1000.0;
+    }
+
+    /**
+     * @return The length of a replayed cycle in seconds
+     */
+    public double getDeltaTime() {
+        return interval / 1000.0;
+    }
+
+    public List<Replayable> getReplayables() {
+        return Collections.unmodifiableList(replayables);
+    }
+
+    /**
+     * @param type The class of the replayable
+     * @return The first replayable of the context with that class, or null if there isn't one
+     */
+    public <T extends Replayable> T getReplayable(Class<T> type) {
+        for (Replayable replayable : replayables) {
+            if (type.isInstance(replayable)) return type.cast(replayable);
+        }
+
+        return null;
+    }
+}
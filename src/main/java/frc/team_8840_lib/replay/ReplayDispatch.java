@@ -0,0 +1,143 @@
+package frc.team_8840_lib.replay;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.team_8840_lib.info.console.Logger;
+import frc.team_8840_lib.info.console.Logger.LogType;
+
+/**
+ * Where every thread of a replay log goes, resolved once when the replay starts.
+ *
+ * Each thread is matched to the replayable with its base name, and to the setter its auto log links to (see {@link Replayable#getReplaySetter(String)}).
+ * Replaying a cycle is then a walk over the resolved setters, with doubles, ints and booleans passed without boxing.
+ */
+public class ReplayDispatch {
+    private final LogDataThread[] threads;
+    private final LogType[] types;
+    private final MethodHandle[] setters;
+
+    private ReplayDispatch(LogDataThread[] threads, LogType[] types, MethodHandle[] setters) {
+        this.threads = threads;
+        this.types = types;
+        this.setters = setters;
+    }
+
+    /**
+     * Resolves the threads of a log to the replayables they're replayed into.
+     * Threads without a matching replayable or link (or with a type that doesn't fit the link) are left out.
+     * @param replayLog The log being replayed
+     * @param replayables The replayables to replay into
+     * @return The resolved dispatch table
+     */
+    public static ReplayDispatch resolve(ReplayLog replayLog, List<Replayable> replayables) {
+        ArrayList<LogDataThread> threads = new ArrayList<>();
+        ArrayList<LogType> types = new ArrayList<>();
+        ArrayList<MethodHandle> setters = new ArrayList<>();
+
+        for (LogDataThread thread : replayLog.getThreads()) {
+            //Nothing to replay if the value was never saved.
+            if (thread.size() == 0) continue;
+
+            for (Replayable replayable : replayables) {
+                if (!replayable.getBaseName().equals(thread.getBaseName())) continue;
+
+                MethodHandle setter = resolveSetter(thread, replayable);
+                if (setter == null) continue;
+
+                threads.add(thread);
+                types.add(thread.getDataType());
+                setters.add(setter);
+            }
+        }
+
+        return new ReplayDispatch(
+            threads.toArray(new LogDataThread[0]),
+            types.toArray(new LogType[0]),
+            setters.toArray(new MethodHandle[0])
+        );
+    }
+
+    /**
+     * Resolves one thread to a replayable, without checking the base name.
+     * @param thread The thread to replay
+     * @param replayable The replayable to replay it into
+     * @return The resolved dispatch table, which is empty if the thread doesn't link anywhere
+     */
+    public static ReplayDispatch resolve(LogDataThread thread, Replayable replayable) {
+        MethodHandle setter = resolveSetter(thread, replayable);
+
+        if (setter == null) return new ReplayDispatch(new LogDataThread[0], new LogType[0], new MethodHandle[0]);
+
+        return new ReplayDispatch(new LogDataThread[] { thread }, new LogType[] { thread.getDataType() }, new MethodHandle[] { setter });
+    }
+
+    private static MethodHandle resolveSetter(LogDataThread thread, Replayable replayable) {
+        MethodHandle setter = replayable.getReplaySetter(thread.getSpecificName());
+
+        if (setter == null) {
+            Logger.Log("Replayable " + thread.getBaseName(), "did not find link name! " + thread.getSpecificName());
+            return null;
+        }
+
+        try {
+            return setter.asType(MethodType.methodType(void.class, parameterType(thread.getDataType())));
+        } catch (WrongMethodTypeException e) {
+            Logger.Log("Replayable " + thread.getBaseName() + "/" + thread.getSpecificName(), "The link doesn't take a " + thread.getDataType().name() + ", skipping it.");
+            return null;
+        }
+    }
+
+    private static Class<?> parameterType(LogType type) {
+        switch (type) {
+            case DOUBLE:
+                return double.class;
+            case INT:
+                return int.class;
+            case BOOLEAN:
+                return boolean.class;
+            default:
+                return Object.class;
+        }
+    }
+
+    /**
+     * Gives every replayable its values at a cycle.
+     * @param cycle The cycle to replay
+     */
+    public void replay(int cycle) {
+        for (int i = 0; i < setters.length; i++) {
+            LogDataThread thread = threads[i];
+
+            try {
+                switch (types[i]) {
+                    case DOUBLE:
+                        setters[i].invokeExact(thread.getDoubleByCycle(cycle));
+                        break;
+                    case INT:
+                        setters[i].invokeExact(thread.getIntByCycle(cycle));
+                        break;
+                    case BOOLEAN:
+                        setters[i].invokeExact(thread.getBooleanByCycle(cycle));
+                        break;
+                    default:
+                        setters[i].invokeExact(thread.getByCycle(cycle));
+                        break;
+                }
+            } catch (Throwable e) {
+                Logger.Log("Replayable " + thread.getBaseName() + "/" + thread.getSpecificName(), "Issue with setting the replayed value!");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * @return The number of threads that are replayed
+     */
+    public int size() {
+        return setters.length;
+    }
+}
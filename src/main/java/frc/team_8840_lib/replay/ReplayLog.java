@@ -1,9 +1,30 @@
 package frc.team_8840_lib.replay;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+import frc.team_8840_lib.info.console.DataLogWriter;
+import frc.team_8840_lib.info.console.Logger;
 import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.buffer.BufferReader;
+import frc.team_8840_lib.utils.logging.BinaryLogFormat;
+import frc.team_8840_lib.utils.logging.LogStorage;
 
 public class ReplayLog {
     private class NameTypePair {
@@ -16,28 +37,336 @@ public class ReplayLog {
         }
     }
 
-    private ArrayList<String> rawLines = new ArrayList<>();
+    /**
+     * The number of console messages kept by default. Older messages are dropped as the log is read.
+     */
+    public static final int DEFAULT_MESSAGE_WINDOW = 1000;
+
+    //Longest record a binary log can have. Anything longer is a corrupted length, not a real record.
+    static final int MAX_RECORD_LENGTH = 16 * 1024 * 1024;
 
     private HashMap<Integer, NameTypePair> references = new HashMap<>();
 
     private HashMap<String, LogDataThread> info = new HashMap<>();
 
-    private ArrayList<String> messages = new ArrayList<>();
+    //Only the last messageWindow messages are kept.
+    private final ArrayDeque<String> messages = new ArrayDeque<>();
+    private final int messageWindow;
+    private long messageCount = 0;
 
     private int cycles;
     private int earlyCycles;
 
+    //Base interval of the cycles in milliseconds, 0 if the log doesn't say (older logs).
+    private long interval = 0;
+    private HashMap<Integer, Long> tierPeriods = new HashMap<>();
+
+    //Whether the end of the log was cut off (by a crash or power cut), and the rest of it was dropped.
+    private boolean truncated = false;
+
+    //Complete lines of a text log that couldn't be read, and were skipped.
+    private int skippedLines = 0;
+    private int firstSkippedLine = 0;
+
+    //DataLog entry ids of the cycle markers, for logs read from .wpilog files.
+    private int cycleEntry = -1;
+    private int tiersEntry = -1;
+    private int infoEntry = -1;
+    private int messagesEntry = -1;
+    private long lastTiers = 0;
+
+    private ReplayLog(int messageWindow) {
+        this.messageWindow = Math.max(0, messageWindow);
+    }
+
     public ReplayLog(String log) {
-        String[] lines = log.split("\n");
-        for (String line : lines) {
-            this.rawLines.add(line);
+        this(DEFAULT_MESSAGE_WINDOW);
+
+        try {
+            this.readText(new StringReader(log));
+        } catch (IOException e) {
+            //Can't happen when reading from a String.
+            throw new UncheckedIOException(e);
         }
+    }
+
+    /**
+     * Creates a ReplayLog from a binary log (see {@link BinaryLogFormat}).
+     * @param binaryLog The contents of the binary log file
+     */
+    public ReplayLog(byte[] binaryLog) {
+        this(DEFAULT_MESSAGE_WINDOW);
+
+        try {
+            this.readBinary(new DataInputStream(new ByteArrayInputStream(binaryLog)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a ReplayLog from a WPILib DataLog saved by a {@link DataLogWriter}.
+     * Entries that weren't saved by the auto logger are skipped.
+     * @param dataLog The contents of the .wpilog file
+     * @return The ReplayLog of the DataLog
+     */
+    public static ReplayLog fromDataLog(byte[] dataLog) {
+        ReplayLog log = new ReplayLog(DEFAULT_MESSAGE_WINDOW);
+
+        log.readDataLog(new DataLogReader(ByteBuffer.wrap(dataLog)));
+
+        return log;
+    }
+
+    /**
+     * Checks if the contents of a file are a WPILib DataLog, which starts with "WPILOG".
+     * @param contents The contents of the file (or at least the start of it)
+     * @return Whether it's a DataLog
+     */
+    public static boolean isDataLog(byte[] contents) {
+        byte[] magic = "WPILOG".getBytes(StandardCharsets.US_ASCII);
+
+        if (contents.length < magic.length) return false;
+
+        for (int i = 0; i < magic.length; i++) {
+            if (contents[i] != magic[i]) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads a log file, either in the text, the binary or the WPILib DataLog format, keeping the last {@link #DEFAULT_MESSAGE_WINDOW} console messages.
+     * The file can also be gzipped, or be the manifest of a segmented session (see {@link LogStorage}), in which case every segment is read.
+     * @param file The log file
+     * @return The ReplayLog of the file
+     * @throws IOException If the file can't be read
+     */
+    public static ReplayLog read(File file) throws IOException {
+        return read(file, DEFAULT_MESSAGE_WINDOW);
+    }
+
+    /**
+     * Reads a log file, either in the text, the binary or the WPILib DataLog format.
+     * The file is streamed and decoded as it's read, so only the decoded values and the last few console messages are kept in memory.
+     * The file can also be gzipped, or be the manifest of a segmented session (see {@link LogStorage}), in which case every segment is read.
+     * @param file The log file
+     * @param messageWindow The number of console messages to keep
+     * @return The ReplayLog of the file
+     * @throws IOException If the file can't be read
+     */
+    public static ReplayLog read(File file, int messageWindow) throws IOException {
+        ReplayLog log = new ReplayLog(messageWindow);
+
+        try (InputStream in = LogStorage.open(file)) {
+            //The stream from LogStorage is buffered, so the start can be looked at and then read again.
+            in.mark(16);
+            byte[] start = in.readNBytes(16);
+            in.reset();
+
+            if (BinaryLogFormat.isBinaryLog(start)) {
+                log.readBinary(new DataInputStream(in));
+            } else if (isDataLog(start)) {
+                if (LogStorage.isCompressed(file) || LogStorage.isManifest(file)) {
+                    log.readDataLog(new DataLogReader(ByteBuffer.wrap(in.readAllBytes())));
+                } else {
+                    //DataLogReader maps the file, so it doesn't need to be read into the heap.
+                    log.readDataLog(new DataLogReader(file.getPath()));
+                }
+            } else {
+                log.readText(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        }
+
+        return log;
+    }
+
+    /**
+     * Reads a text log one line at a time. Only '\n' ends a line, since byte arrays are saved as raw characters.
+     * A complete line that can't be read is skipped. Only the last line, if it wasn't finished, cuts off the log.
+     */
+    private void readText(Reader reader) throws IOException {
+        StringBuilder line = new StringBuilder();
+        char[] buffer = new char[8192];
+
+        int lineNumber = 1;
+        int read;
 
-        for (String line : rawLines) {
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    line.append(buffer[i]);
+                    continue;
+                }
+
+                this.readTextLine(line.toString(), lineNumber++);
+
+                line.setLength(0);
+            }
+        }
+
+        //A last line without a '\n' is where the writer stopped, so it's only a cut off tail if it can't be read.
+        if (line.length() > 0) {
+            try {
+                this.analyzeLine(line.toString());
+            } catch (RuntimeException e) {
+                this.truncate("line " + lineNumber, e);
+            }
+        }
+
+        if (this.skippedLines > 0) {
+            Logger.Log("[ReplayLog] Skipped " + this.skippedLines + " line(s) that couldn't be read, the first at line " + this.firstSkippedLine + ".");
+        }
+    }
+
+    private void readTextLine(String line, int lineNumber) {
+        try {
             this.analyzeLine(line);
+        } catch (RuntimeException e) {
+            if (this.skippedLines == 0) this.firstSkippedLine = lineNumber;
+            this.skippedLines++;
+        }
+    }
+
+    /**
+     * Reads a binary log one record at a time.
+     */
+    private void readBinary(DataInputStream in) throws IOException {
+        byte[] magic = new byte[BinaryLogFormat.MAGIC.length];
+        in.readFully(magic);
+
+        if (!BinaryLogFormat.isBinaryLog(magic)) {
+            throw new RuntimeException("Log is not a binary log!");
+        }
+
+        byte version = in.readByte();
+        if (version > BinaryLogFormat.MAPPED_VERSION) {
+            throw new RuntimeException("Binary log version " + version + " is not supported!");
+        }
+
+        //Anything after the committed length of a mapped log is either preallocated space or a record that was never finished.
+        long remaining = Long.MAX_VALUE;
+        long position = BinaryLogFormat.MAGIC.length + 1;
+
+        if (version >= BinaryLogFormat.MAPPED_VERSION) {
+            remaining = Math.max(0, in.readLong());
+            position += 8;
+        }
+
+        //Payloads are read into the same array, which only grows for bigger records, and decoded by the same reader.
+        byte[] payload = new byte[256];
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        BufferReader reader = new BufferReader(buffer);
+
+        while (remaining >= BinaryLogFormat.RECORD_HEADER_LENGTH) {
+            int tag = in.read();
+            if (tag == -1) break;
+
+            int length;
+
+            try {
+                length = in.readInt();
+            } catch (EOFException e) {
+                this.truncate("byte " + position, null);
+                break;
+            }
+
+            //A zero tag is unwritten (zeroed) space, and a record longer than the rest of the file was cut off.
+            if (tag == 0 || length < 0 || length > MAX_RECORD_LENGTH || length > remaining - BinaryLogFormat.RECORD_HEADER_LENGTH) {
+                this.truncate("byte " + position, null);
+                break;
+            }
+
+            if (length > payload.length) {
+                payload = new byte[Math.max(length, payload.length * 2)];
+                buffer = ByteBuffer.wrap(payload);
+                reader.reset(buffer);
+            }
+
+            try {
+                in.readFully(payload, 0, length);
+            } catch (EOFException e) {
+                this.truncate("byte " + position, null);
+                break;
+            }
+
+            try {
+                buffer.clear().limit(length);
+                this.analyzeRecord((byte) tag, reader);
+            } catch (RuntimeException e) {
+                this.truncate("byte " + position, e);
+                break;
+            }
+
+            position += BinaryLogFormat.RECORD_HEADER_LENGTH + length;
+            remaining -= BinaryLogFormat.RECORD_HEADER_LENGTH + length;
+        }
+    }
+
+    private void readDataLog(DataLogReader reader) {
+        if (!reader.isValid()) {
+            throw new RuntimeException("Log is not a valid DataLog!");
+        }
+
+        int index = 0;
+        try {
+            for (DataLogRecord record : reader) {
+                this.analyzeDataLogRecord(record);
+                index++;
+            }
+        } catch (RuntimeException e) {
+            this.truncate("record " + index, e);
         }
     }
 
+    private void addMessage(String message) {
+        this.messageCount++;
+
+        if (this.messageWindow == 0) return;
+
+        if (this.messages.size() >= this.messageWindow) this.messages.pollFirst();
+        this.messages.addLast(message);
+    }
+
+    /**
+     * @return The last console messages of the log, oldest first (at most the message window of the log)
+     */
+    public List<String> getMessages() {
+        return new ArrayList<>(this.messages);
+    }
+
+    /**
+     * @return The number of console messages in the whole log, including the ones that were dropped
+     */
+    public long getMessageCount() {
+        return this.messageCount;
+    }
+
+    /**
+     * Drops the rest of the log after a record that couldn't be read, which is what a log cut off by a crash or brownout looks like.
+     * @param where Where the bad record starts
+     * @param cause Why it couldn't be read, or null
+     */
+    private void truncate(String where, RuntimeException cause) {
+        this.truncated = true;
+
+        Logger.Log("[ReplayLog] The log is cut off at " + where + (cause != null ? " (" + cause.getMessage() + ")" : "") + ". Replaying everything before it.");
+    }
+
+    /**
+     * @return Whether the end of the log was cut off (for example by a brownout) and had to be dropped
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * @return The number of lines of a text log that couldn't be read, and were skipped
+     */
+    public int getSkippedLines() {
+        return skippedLines;
+    }
+
     public int getCycles() {
         return cycles;
     }
@@ -49,6 +378,41 @@ public class ReplayLog {
     public int getDataCycles() {
         return cycles - earlyCycles;
     }
+
+    /**
+     * @return The time between cycles in milliseconds, or 0 if the log was saved before this was recorded
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * @return The period in milliseconds of each auto log rate tier, by tier index
+     */
+    public HashMap<Integer, Long> getTierPeriods() {
+        return tierPeriods;
+    }
+
+    /**
+     * Scales a cycle read so far to a tick that's {@code factor} times shorter. Values are saved at the cycle after their marker,
+     * so a value of marker m (at m + 1) goes to the cycle after the scaled marker, m * factor + 1.
+     * @param cycle The cycle in the old tick
+     * @param factor How many new cycles there are in an old one
+     * @return The cycle in the new tick
+     */
+    static int scaleCycle(int cycle, int factor) {
+        return cycle > 0 ? (cycle - 1) * factor + 1 : 0;
+    }
+
+    /**
+     * Moves to a cycle marker. Cycles where no tier was logged aren't saved, so the cycle number can skip ahead.
+     * @param cycle The cycle number of the marker
+     * @param early Whether it's an early cycle
+     */
+    private void analyzeCycle(int cycle, boolean early) {
+        this.cycles = Math.max(this.cycles + 1, cycle + 1);
+        if (early) this.earlyCycles++;
+    }
     
     private void analyzeLine(String line) {
         if (line.startsWith("d")) {
@@ -65,11 +429,208 @@ public class ReplayLog {
 
             this.analyzeDeclaration(name, type, reference);
         } else if (line.startsWith("ALC")) {
-            boolean isEarlyCycle = line.contains("(s)");
-            this.cycles++;
-            if (isEarlyCycle) this.earlyCycles++;
+            //ALC<cycle>(s) for early cycles, ALC<cycle>/<tier mask> otherwise (older logs don't have the tier mask).
+            int end = 3;
+            while (end < line.length() && Character.isDigit(line.charAt(end))) end++;
+
+            int cycle = end > 3 ? Integer.parseInt(line.substring(3, end)) : this.cycles;
+
+            this.analyzeCycle(cycle, line.contains("(s)"));
+        } else if (line.startsWith("ALI")) {
+            long interval = Long.parseLong(line.substring(3).trim());
+
+            //The logger lowers the tick when a faster tier is added while running, and scales its cycle count to it.
+            if (this.interval > 0 && interval > 0 && interval < this.interval && this.interval % interval == 0) {
+                int factor = (int) (this.interval / interval);
+
+                for (LogDataThread thread : this.info.values()) {
+                    thread.scaleCycles(factor);
+                }
+
+                this.cycles = scaleCycle(this.cycles, factor);
+            }
+
+            this.interval = interval;
+        } else if (line.startsWith("ALT")) {
+            int tier = Integer.parseInt(line.substring(3, line.indexOf("/")));
+            long period = Long.parseLong(line.substring(line.indexOf("/") + 1).trim());
+
+            this.tierPeriods.put(tier, period);
         } else {
-            this.messages.add(line);
+            this.addMessage(line);
+        }
+    }
+
+    private void analyzeRecord(byte tag, BufferReader payload) {
+        switch (tag) {
+            case BinaryLogFormat.MESSAGE:
+                this.addMessage(readString(payload));
+                break;
+            case BinaryLogFormat.INFO:
+                this.analyzeLine(readString(payload));
+                break;
+            case BinaryLogFormat.DECLARATION:
+                int declaredReference = payload.getInt();
+                String type = String.valueOf((char) payload.getByte());
+
+                this.analyzeDeclaration(readString(payload), type, declaredReference);
+                break;
+            case BinaryLogFormat.CYCLE:
+                int cycle = payload.getInt();
+                boolean isEarlyCycle = (payload.getByte() & BinaryLogFormat.CYCLE_FLAG_EARLY) != 0;
+
+                this.analyzeCycle(cycle, isEarlyCycle);
+                break;
+            case BinaryLogFormat.DATA:
+                int reference = payload.getInt();
+
+                if (!this.references.containsKey(reference)) {
+                    throw new RuntimeException("Reference " + reference + " does not exist!");
+                }
+
+                NameTypePair pair = this.references.get(reference);
+
+                pushValue(this.info.get(pair.name), pair.type, payload, this.cycles);
+                break;
+            default:
+                //Unknown record, skip it.
+                break;
+        }
+    }
+
+    private void analyzeDataLogRecord(DataLogRecord record) {
+        if (record.isStart()) {
+            DataLogRecord.StartRecordData start = record.getStartData();
+
+            if (start.name.equals(DataLogWriter.CYCLE_ENTRY)) {
+                this.cycleEntry = start.entry;
+            } else if (start.name.equals(DataLogWriter.TIERS_ENTRY)) {
+                this.tiersEntry = start.entry;
+            } else if (start.name.equals(DataLogWriter.INFO_ENTRY)) {
+                this.infoEntry = start.entry;
+            } else if (start.name.equals(DataLogWriter.MESSAGES_ENTRY)) {
+                this.messagesEntry = start.entry;
+            } else if (start.name.startsWith(DataLogWriter.AUTO_LOG_PREFIX)) {
+                LogType type = typeOfDataLogEntry(start.type);
+
+                if (type != null) {
+                    this.analyzeDeclaration(start.name.substring(DataLogWriter.AUTO_LOG_PREFIX.length()), type.smallString(), start.entry);
+                }
+            }
+
+            return;
+        }
+
+        if (record.isControl()) return;
+
+        int entry = record.getEntry();
+
+        if (entry == this.tiersEntry) {
+            this.lastTiers = record.getInteger();
+        } else if (entry == this.cycleEntry) {
+            //Data cycles always have at least one tier, so no tiers means an early cycle.
+            this.analyzeCycle((int) record.getInteger(), this.lastTiers == 0);
+        } else if (entry == this.infoEntry) {
+            this.analyzeLine(record.getString());
+        } else if (entry == this.messagesEntry) {
+            this.addMessage(record.getString());
+        } else if (this.references.containsKey(entry)) {
+            NameTypePair pair = this.references.get(entry);
+
+            pushDataLogValue(this.info.get(pair.name), pair.type, record, this.cycles);
+        }
+    }
+
+    private static LogType typeOfDataLogEntry(String type) {
+        switch (type) {
+            case "double":
+                return LogType.DOUBLE;
+            case "int64":
+                return LogType.INT;
+            case "boolean":
+                return LogType.BOOLEAN;
+            case "string":
+                return LogType.STRING;
+            case "double[]":
+                return LogType.DOUBLE_ARRAY;
+            case "string[]":
+                return LogType.STRING_ARRAY;
+            case "raw":
+                return LogType.BYTE_ARRAY;
+            default:
+                return null;
+        }
+    }
+
+    //Primitives go straight into the columns of the thread, without boxing.
+    private static void pushDataLogValue(LogDataThread thread, LogType type, DataLogRecord record, int cycle) {
+        switch (type) {
+            case INT:
+                thread.pushInt((int) record.getInteger(), cycle);
+                break;
+            case DOUBLE:
+                thread.pushDouble(record.getDouble(), cycle);
+                break;
+            case BOOLEAN:
+                thread.pushBoolean(record.getBoolean(), cycle);
+                break;
+            case STRING_ARRAY:
+                thread.pushStringArray(record.getStringArray(), cycle);
+                break;
+            case DOUBLE_ARRAY:
+                thread.pushDoubleArray(record.getDoubleArray(), cycle);
+                break;
+            case BYTE_ARRAY:
+                thread.pushByteArray(record.getRaw(), cycle);
+                break;
+            case STRING:
+            default:
+                thread.pushString(record.getString(), cycle);
+                break;
+        }
+    }
+
+    private static String readString(BufferReader payload) {
+        return payload.getString(payload.remaining());
+    }
+
+    //Also used by SignalIndex to read single records.
+    static void pushValue(LogDataThread thread, LogType type, BufferReader payload, int cycle) {
+        switch (type) {
+            case INT:
+                thread.pushInt(payload.getInt(), cycle);
+                break;
+            case DOUBLE:
+                thread.pushDouble(payload.getDouble(), cycle);
+                break;
+            case BOOLEAN:
+                thread.pushBoolean(payload.getBoolean(), cycle);
+                break;
+            case STRING_ARRAY:
+                String[] strings = new String[payload.getInt()];
+
+                for (int i = 0; i < strings.length; i++) {
+                    strings[i] = payload.getString(payload.getInt());
+                }
+
+                thread.pushStringArray(strings, cycle);
+                break;
+            case DOUBLE_ARRAY:
+                double[] doubles = new double[payload.getInt()];
+
+                for (int i = 0; i < doubles.length; i++) {
+                    doubles[i] = payload.getDouble();
+                }
+
+                thread.pushDoubleArray(doubles, cycle);
+                break;
+            case BYTE_ARRAY:
+                thread.pushByteArray(payload.getBytes(payload.remaining()), cycle);
+                break;
+            case STRING:
+            default:
+                thread.pushString(readString(payload), cycle);
+                break;
         }
     }
 
@@ -80,6 +641,7 @@ public class ReplayLog {
 
         String name = this.references.get(reference).name;
 
+        //Decoded now, so the raw text isn't kept around.
         this.info.get(name).push(value, this.cycles);
     }
 
@@ -1,14 +1,18 @@
 package frc.team_8840_lib.replay;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Timer;
 import java.util.TimerTask;
 
+import frc.team_8840_lib.info.console.BinaryWriter;
+import frc.team_8840_lib.info.console.DataLogWriter;
 import frc.team_8840_lib.info.console.FileWriter;
 import frc.team_8840_lib.info.console.Logger;
-import frc.team_8840_lib.utils.files.FileUtils;
+import frc.team_8840_lib.info.time.TimeKeeper;
+import frc.team_8840_lib.utils.logging.LogStorage;
 
 public class ReplayManager {
     private static ReplayManager instance;
@@ -29,6 +33,24 @@ public class ReplayManager {
     private HashMap<Replayable, Boolean> preReplayStates = new HashMap<>();
 
     private int replayCycle = 0;
+    private int totalReplayCycles = 0;
+    private long replayInterval;
+
+    private ReplayDispatch dispatch;
+
+    private boolean stepped = false;
+    private ArrayList<ReplayStepListener> stepListeners = new ArrayList<>();
+
+    private KeyframeIndex keyframes;
+    private int keyframeInterval = KeyframeIndex.DEFAULT_INTERVAL;
+
+    private DivergenceChecker divergenceChecker;
+
+    private boolean replaying = false;
+    private boolean paused = false;
+    private double speed = 1;
+
+    private int messageWindow = ReplayLog.DEFAULT_MESSAGE_WINDOW;
 
     private ReplayManager() {
         replayables = new ArrayList<>();
@@ -36,18 +58,40 @@ public class ReplayManager {
 
     Timer replayTimer;
 
-    public void enterReplay(File file) {
+    /**
+     * Sets how many console messages of a log are kept when it's loaded for replay. Older messages are dropped while reading.
+     * @param messageWindow The number of messages (default {@link ReplayLog#DEFAULT_MESSAGE_WINDOW})
+     */
+    public void setMessageWindow(int messageWindow) {
+        this.messageWindow = messageWindow;
+    }
+
+    /**
+     * Sets how many cycles apart the keyframes used for seeking are. Takes effect the next time a log is loaded.
+     * @param keyframeInterval The number of cycles (default {@link KeyframeIndex#DEFAULT_INTERVAL})
+     */
+    public void setKeyframeInterval(int keyframeInterval) {
+        this.keyframeInterval = keyframeInterval;
+    }
+
+    private ReplayLog loadReplay(File file) {
         if (!file.exists()) {
             throw new RuntimeException("Log file does not exist!");
         }
 
-        //check file extension
-        String extension = file.getName().substring(file.getName().lastIndexOf(".") + 1);
-        if (!extension.equals(FileWriter.getExtension())) {
-            throw new RuntimeException("Log file is not a " + FileWriter.getExtension() + " file!");
+        //check file extension (compressed segments end in .gz, so that's ignored)
+        String extension = LogStorage.getLogExtension(file);
+        if (!extension.equals(FileWriter.getExtension()) && !extension.equals(BinaryWriter.getExtension()) && !extension.equals(DataLogWriter.getExtension()) && !extension.equals(LogStorage.MANIFEST_EXTENSION)) {
+            throw new RuntimeException("Log file is not a " + FileWriter.getExtension() + ", " + BinaryWriter.getExtension() + ", " + DataLogWriter.getExtension() + " or " + LogStorage.MANIFEST_EXTENSION + " file!");
         }
 
-        ReplayLog replayLog = new ReplayLog(FileUtils.read(file));
+        ReplayLog replayLog;
+
+        try {
+            replayLog = ReplayLog.read(file, messageWindow);
+        } catch (IOException e) {
+            throw new RuntimeException("Log file could not be read!", e);
+        }
 
         for (Replayable replayable : replayables) {
             preReplayStates.put(replayable, replayable.isReal());
@@ -55,50 +99,257 @@ public class ReplayManager {
             replayable.replayInit();
         }
 
+        //Resolved once, so a cycle doesn't have to look up where each value goes.
+        dispatch = ReplayDispatch.resolve(replayLog, replayables);
+        keyframes = KeyframeIndex.build(replayLog, keyframeInterval);
+
+        if (divergenceChecker != null) divergenceChecker.resolve(replayLog, replayables);
+
         replayCycle = 0;
+        totalReplayCycles = replayLog.getCycles();
+
+        replaying = true;
+        paused = false;
+
+        //Replay at the interval the log was saved at, falling back to the default for older logs.
+        replayInterval = replayLog.getInterval() > 0 ? replayLog.getInterval() : Logger.getLogInterval();
+
+        return replayLog;
+    }
+
+    /**
+     * Replays a log in real time (or at the speed set with {@link #setSpeed(double)}), one cycle every log interval on a timer thread.
+     * @param file The log to replay
+     */
+    public void enterReplay(File file) {
+        loadReplay(file);
+
+        scheduleReplayTimer();
+    }
 
-        final int totalReplayCycles = replayLog.getCycles();
+    private void scheduleReplayTimer() {
+        if (replayTimer != null) replayTimer.cancel();
 
         replayTimer = new Timer();
 
         TimerTask replayFrame = new TimerTask() {
             @Override
             public void run() {
-                Thread.currentThread().setName("Replay Cycle " + replayCycle);
+                synchronized (ReplayManager.this) {
+                    Thread.currentThread().setName("Replay Cycle " + replayCycle);
 
-                if (replayCycle >= totalReplayCycles) {
-                    exitReplay();
-                    return;
-                }
+                    if (paused) return;
 
-                HashMap<String, LogDataThread> data = replayLog.getThreadsMap();
-
-                for (String key : data.keySet()) {
-                    LogDataThread thread = data.get(key);
-                    
-                    String bname = thread.getBaseName();
-                    
-                    for (Replayable replayable : replayables) {
-                        if (replayable.getBaseName().equals(bname)) {
-                            replayable.feedThread(thread, replayCycle);
-                        }
+                    if (replayCycle >= totalReplayCycles) {
+                        exitReplay();
+                        return;
                     }
-                }
 
-                replayCycle++;
+                    dispatch.replay(replayCycle);
+
+                    replayCycle++;
+                }
             }
         };
 
-        replayTimer.scheduleAtFixedRate(replayFrame, Logger.getLogInterval(), Logger.getLogInterval());
+        long period = Math.max(1, Math.round(replayInterval / speed));
+
+        replayTimer.scheduleAtFixedRate(replayFrame, period, period);
+    }
+
+    /**
+     * Starts a stepped replay. Nothing runs on its own: every call to {@link #step()} replays the next cycle on the calling thread,
+     * and the {@link frc.team_8840_lib.info.time.TimeKeeper} timers follow a virtual clock that moves one log interval per cycle.
+     * This makes replays deterministic, and lets them run as fast as the code allows.
+     * @param file The log to replay
+     */
+    public void enterSteppedReplay(File file) {
+        loadReplay(file);
+
+        stepped = true;
+
+        TimeKeeper.useVirtualClock(0);
+    }
+
+    /**
+     * Replays the next cycle of a stepped replay: moves the virtual clock, sets the replayed values, then calls the step listeners.
+     * Exits the replay after the last cycle.
+     * @return Whether there are cycles left to replay
+     */
+    public synchronized boolean step() {
+        if (!stepped) {
+            throw new IllegalStateException("Not in a stepped replay! Call enterSteppedReplay first.");
+        }
+
+        if (replayCycle >= totalReplayCycles) {
+            exitReplay();
+            return false;
+        }
+
+        TimeKeeper.advanceVirtualClock(replayInterval / 1000.0);
+
+        dispatch.replay(replayCycle);
+
+        for (ReplayStepListener listener : stepListeners) {
+            listener.onStep(replayCycle);
+        }
+
+        //After the listeners, so the outputs are the ones the code made this cycle.
+        if (divergenceChecker != null) divergenceChecker.check(replayCycle);
+
+        replayCycle++;
+
+        if (replayCycle >= totalReplayCycles) {
+            exitReplay();
+            return false;
+        }
+
+        return true;
     }
 
-    public void exitReplay() {
+    /**
+     * Replays a whole log as fast as possible on the calling thread (see {@link #enterSteppedReplay(File)}).
+     * @param file The log to replay
+     * @return The number of cycles replayed
+     */
+    public int runSteppedReplay(File file) {
+        enterSteppedReplay(file);
+
+        while (step());
+
+        return totalReplayCycles;
+    }
+
+    /**
+     * Checks the outputs of the replayables against the log after every cycle of a stepped replay (see {@link DivergenceChecker}).
+     * The step listeners should run the code being checked. Set this before entering the replay.
+     * @param divergenceChecker The checker, or null to stop checking
+     */
+    public synchronized void setDivergenceChecker(DivergenceChecker divergenceChecker) {
+        this.divergenceChecker = divergenceChecker;
+    }
+
+    /**
+     * @return The divergences found so far (or in the last replay), or null if there isn't a divergence checker
+     */
+    public synchronized DivergenceReport getDivergenceReport() {
+        return divergenceChecker == null ? null : divergenceChecker.getReport();
+    }
+
+    /**
+     * Adds a listener that's called after every cycle of a stepped replay.
+     * @param listener The listener
+     */
+    public void addStepListener(ReplayStepListener listener) {
+        stepListeners.add(listener);
+    }
+
+    public void removeStepListener(ReplayStepListener listener) {
+        stepListeners.remove(listener);
+    }
+
+    /**
+     * Jumps to a cycle of the replay and sets the replayed values to the ones at that cycle.
+     * The keyframe index is used to find the values, so this doesn't depend on how far into the log the cycle is.
+     * The replay continues from that cycle (or, when paused, stays on it).
+     * @param cycle The cycle to jump to
+     */
+    public synchronized void seek(int cycle) {
+        if (!replaying) {
+            throw new IllegalStateException("Not in a replay!");
+        }
+
+        cycle = Math.max(0, Math.min(cycle, totalReplayCycles - 1));
+
+        keyframes.seek(cycle);
+        dispatch.replay(cycle);
+
+        replayCycle = cycle;
+
+        //step() moves the clock forward before replaying, so the clock is set to the end of the cycle before.
+        if (stepped) TimeKeeper.setVirtualTime(cycle * replayInterval / 1000.0);
+    }
+
+    /**
+     * Jumps to a time in the replay (see {@link #seek(int)}).
+     * @param seconds The time since the start of the log in seconds
+     */
+    public void seekTime(double seconds) {
+        seek((int) Math.floor(seconds * 1000 / replayInterval));
+    }
+
+    /**
+     * Pauses or resumes a timed replay. A stepped replay only moves when it's stepped, so this doesn't affect it.
+     * @param paused Whether to pause the replay
+     */
+    public synchronized void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Sets how fast a timed replay runs compared to real time.
+     * @param speed The speed, e.g. 2 for twice as fast, 0.5 for half as fast
+     */
+    public synchronized void setSpeed(double speed) {
+        if (speed <= 0) throw new IllegalArgumentException("The replay speed must be positive.");
+
+        this.speed = speed;
+
+        if (replayTimer != null) scheduleReplayTimer();
+    }
+
+    public synchronized double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @return The next cycle to be replayed
+     */
+    public synchronized int getReplayCycle() {
+        return replayCycle;
+    }
+
+    public synchronized int getTotalReplayCycles() {
+        return totalReplayCycles;
+    }
+
+    /**
+     * @return The time between cycles of the replayed log in milliseconds
+     */
+    public synchronized long getReplayInterval() {
+        return replayInterval;
+    }
+
+    public synchronized boolean isReplaying() {
+        return replaying;
+    }
+
+    public boolean isStepped() {
+        return stepped;
+    }
+
+    public synchronized void exitReplay() {
         for (Replayable replayable : replayables) {
             replayable.setReal(preReplayStates.get(replayable));
             replayable.exitReplay();
         }
         
-        replayTimer.cancel();
+        if (replayTimer != null) {
+            replayTimer.cancel();
+            replayTimer = null;
+        }
+
+        if (stepped) {
+            stepped = false;
+            TimeKeeper.useRealClock();
+        }
+
+        replaying = false;
+        paused = false;
         replayCycle = 0;
     }
 }
@@ -0,0 +1,21 @@
+package frc.team_8840_lib.replay;
+
+/**
+ * Boils a replayed log down to one result for its {@link ReplaySummary}, e.g. the highest current or the final pose.
+ * A new reducer is made for every log of a {@link BatchReplay}, so it can keep its own state.
+ */
+public interface ReplayReducer {
+    /**
+     * Called after every replayed cycle.
+     * @param context The replay
+     * @param cycle The cycle that was replayed
+     */
+    void step(ReplayContext context, int cycle);
+
+    /**
+     * Called once the whole log was replayed.
+     * @param context The replay
+     * @return The result for the summary
+     */
+    Object finish(ReplayContext context);
+}
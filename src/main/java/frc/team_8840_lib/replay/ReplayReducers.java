@@ -0,0 +1,109 @@
+package frc.team_8840_lib.replay;
+
+import java.util.function.Supplier;
+
+/**
+ * Common {@link ReplayReducer}s over a logged number. Threads are named by their full name (base name + "|" + name).
+ * A log without the thread reduces to NaN.
+ */
+public class ReplayReducers {
+    /**
+     * @param threadName The full name of a double or int thread
+     * @return A reducer of the highest value of the thread
+     */
+    public static Supplier<ReplayReducer> max(String threadName) {
+        return () -> new NumberReducer(threadName) {
+            @Override
+            protected double reduce(double result, double value) {
+                return Double.isNaN(result) ? value : Math.max(result, value);
+            }
+        };
+    }
+
+    /**
+     * @param threadName The full name of a double or int thread
+     * @return A reducer of the lowest value of the thread
+     */
+    public static Supplier<ReplayReducer> min(String threadName) {
+        return () -> new NumberReducer(threadName) {
+            @Override
+            protected double reduce(double result, double value) {
+                return Double.isNaN(result) ? value : Math.min(result, value);
+            }
+        };
+    }
+
+    /**
+     * @param threadName The full name of a double or int thread
+     * @return A reducer of the average value of the thread over every cycle
+     */
+    public static Supplier<ReplayReducer> mean(String threadName) {
+        return () -> new NumberReducer(threadName) {
+            private int count = 0;
+
+            @Override
+            protected double reduce(double result, double value) {
+                count++;
+                return Double.isNaN(result) ? value : result + (value - result) / count;
+            }
+        };
+    }
+
+    /**
+     * @param threadName The full name of a thread of any type
+     * @return A reducer of the value of the thread at the last cycle
+     */
+    public static Supplier<ReplayReducer> last(String threadName) {
+        return () -> new ReplayReducer() {
+            @Override
+            public void step(ReplayContext context, int cycle) { }
+
+            @Override
+            public Object finish(ReplayContext context) {
+                LogDataThread thread = context.getLog().getThreadsMap().get(threadName);
+                if (thread == null) return Double.NaN;
+
+                return thread.getByCycle(context.getLog().getCycles() - 1);
+            }
+        };
+    }
+
+    private static abstract class NumberReducer implements ReplayReducer {
+        private final String threadName;
+
+        private LogDataThread thread;
+        private double result = Double.NaN;
+
+        public NumberReducer(String threadName) {
+            this.threadName = threadName;
+        }
+
+        protected abstract double reduce(double result, double value);
+
+        @Override
+        public void step(ReplayContext context, int cycle) {
+            if (thread == null) thread = context.getLog().getThreadsMap().get(threadName);
+            if (thread == null || thread.size() == 0) return;
+
+            double value;
+
+            switch (thread.getDataType()) {
+                case DOUBLE:
+                    value = thread.getDoubleByCycle(cycle);
+                    break;
+                case INT:
+                    value = thread.getIntByCycle(cycle);
+                    break;
+                default:
+                    return;
+            }
+
+            result = reduce(result, value);
+        }
+
+        @Override
+        public Object finish(ReplayContext context) {
+            return result;
+        }
+    }
+}
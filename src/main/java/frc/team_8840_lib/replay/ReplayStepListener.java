@@ -0,0 +1,9 @@
+package frc.team_8840_lib.replay;
+
+/**
+ * Called after every cycle of a stepped replay, once the replayed values are set and the virtual clock has moved.
+ * This is where the periodic code of the robot (or the part being tested) should run.
+ */
+public interface ReplayStepListener {
+    void onStep(int cycle);
+}
@@ -0,0 +1,71 @@
+package frc.team_8840_lib.replay;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The results of replaying one log in a {@link BatchReplay}: one result per reducer, or the error that stopped the replay.
+ */
+public class ReplaySummary {
+    private final File file;
+    private final int cycles;
+    private final long elapsedMs;
+    private final LinkedHashMap<String, Object> results;
+    private final Throwable error;
+
+    protected ReplaySummary(File file, int cycles, long elapsedMs, LinkedHashMap<String, Object> results, Throwable error) {
+        this.file = file;
+        this.cycles = cycles;
+        this.elapsedMs = elapsedMs;
+        this.results = results;
+        this.error = error;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The number of cycles replayed
+     */
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * @return How long the replay took in milliseconds
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * @param name The name the reducer was added with
+     * @return The result of the reducer, or null if the replay failed
+     */
+    public Object get(String name) {
+        return results.get(name);
+    }
+
+    public Map<String, Object> getResults() {
+        return Collections.unmodifiableMap(results);
+    }
+
+    /**
+     * @return What stopped the replay, or null if it finished
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean succeeded() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return file.getName() + (succeeded() ? " (" + cycles + " cycles): " + results : " failed: " + error);
+    }
+}
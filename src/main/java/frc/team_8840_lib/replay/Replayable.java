@@ -1,5 +1,8 @@
 package frc.team_8840_lib.replay;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -7,6 +10,8 @@ import java.util.HashMap;
 
 import frc.team_8840_lib.info.console.AutoLog;
 import frc.team_8840_lib.info.console.Logger;
+import frc.team_8840_lib.utils.binding.Binding;
+import frc.team_8840_lib.utils.binding.Bindings;
 import frc.team_8840_lib.utils.IO.IOLayer;
 import frc.team_8840_lib.utils.IO.IOMethod;
 import frc.team_8840_lib.utils.IO.IOMethodType;
@@ -23,10 +28,47 @@ public abstract class Replayable extends IOLayer implements Loggable {
 
     private boolean inReplay = false;
 
+    //The generated binding of the class, or null if the class is replayed through reflection.
+    private Binding binding;
+
+    //Binding.replay(instance, name, value), with the result dropped.
+    private static final MethodHandle BINDING_REPLAY;
+
+    static {
+        try {
+            BINDING_REPLAY = MethodHandles.publicLookup().findVirtual(
+                Binding.class, "replay", MethodType.methodType(boolean.class, Object.class, String.class, Object.class)
+            ).asType(MethodType.methodType(void.class, Binding.class, Object.class, String.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     @SuppressWarnings({"null", "deprecated"})
     public Replayable() {
         super();
 
+        binding = Bindings.of(this.getClass());
+
+        if (binding != null) {
+            //The links were already checked when the binding was generated.
+            for (int i = 0; i < binding.getAutoLogCount(); i++) {
+                String name = binding.getAutoLogName(i);
+                String link = binding.getReplayLink(i);
+
+                if (binding.isAutoLogMethod(i)) {
+                    if (link.length() > 0) replayLogs.put(name, link);
+                } else {
+                    replayLogs.put("field_" + name, link.length() > 0 ? link : "field_" + name);
+                }
+            }
+
+            Logger.Log(getBaseName(), "Added " + replayLogs.size() + " replay logs.");
+
+            register();
+            return;
+        }
+
         //Get all methods in the super class with the AutoLog/IOMethod annotation
         Method[] methods = this.getClass().getSuperclass().getMethods();
 
@@ -154,76 +196,110 @@ public abstract class Replayable extends IOLayer implements Loggable {
 
         Logger.Log(getBaseName(), "Added " + replayLogs.size() + " replay logs.");
         
+        register();
+    }
+
+    private void register() {
+        //Replayables made for a batch replay only belong to it, so they don't touch the robot's replay or logs.
+        ReplayContext context = ReplayContext.current();
+
+        if (context != null) {
+            context.addReplayable(this);
+            return;
+        }
+
         ReplayManager.addReplayable(this);
         Logger.addClassToBeAutoLogged(this);
     }
 
-    protected void feedThread(LogDataThread thread, int cycle) {
-        String spef_name = thread.getSpecificName();
-
-        boolean movedToMethods = false;
+    /**
+     * Finds where the replayed values of an auto log go: the field itself, or the IO method its replaylink points to.
+     * Resolved once when the replay starts, so replaying a cycle doesn't have to look anything up.
+     * @param name The name the auto log is saved under (without the base name)
+     * @return A handle that takes the replayed value, already bound to this instance, or null if the auto log doesn't link anywhere
+     */
+    protected MethodHandle getReplaySetter(String name) {
+        if (binding != null) {
+            //Only auto logs with a link can be replayed, the binding checked the links when it was generated.
+            for (int i = 0; i < binding.getAutoLogCount(); i++) {
+                if (!binding.getAutoLogName(i).equals(name)) continue;
+                if (binding.isAutoLogMethod(i) && binding.getReplayLink(i).length() == 0) return null;
+
+                return MethodHandles.insertArguments(BINDING_REPLAY, 0, binding, this, name);
+            }
 
-        Method[] methods = this.getClass().getMethods();
-        Field[] fields = this.getClass().getDeclaredFields();
+            return null;
+        }
 
         String linkName = "";
+        Field linkedField = null;
 
-        for (int i = 0; i < methods.length + fields.length; i++) {
-            Method method = null;
-            Field field = null;
+        for (Field field : this.getClass().getDeclaredFields()) {
+            AutoLog autoLog = field.getAnnotation(AutoLog.class);
 
-            if (i >= fields.length) {
-                if (!movedToMethods) {
-                    movedToMethods = true;
-                }
+            if (autoLog != null && logName(autoLog, field.getName()).equals(name)) {
+                linkName = autoLog.replaylink();
+                linkedField = field;
+                break;
             }
+        }
 
-            if (movedToMethods) {
-                method = methods[i - fields.length];
-            } else {
-                field = fields[i];
-            }
+        Method[] methods = this.getClass().getMethods();
 
-            AutoLog autoLog = movedToMethods ? method.getAnnotation(AutoLog.class) : field.getAnnotation(AutoLog.class);
-            IOMethod ioMethod = movedToMethods ? method.getAnnotation(IOMethod.class) : null;
+        if (linkedField == null) {
+            for (Method method : methods) {
+                AutoLog autoLog = method.getAnnotation(AutoLog.class);
 
-            if (autoLog == null) {
-                if (ioMethod == null || !movedToMethods) {
-                    continue;
+                if (autoLog != null && logName(autoLog, method.getName()).equals(name)) {
+                    linkName = autoLog.replaylink();
+                    break;
                 }
-                
-                String name = ioMethod.name() == "" ? method.getName() : ioMethod.name();
-
-                if (linkName.length() > 0 && name.equals(linkName)) {
-                    thread.setMethod(method, cycle, this);
-                }
-                
-                continue;
             }
 
-            String name = (autoLog.name() == "" || autoLog.name().length() == 0) ? (movedToMethods ? method.getName() : field.getName()) : autoLog.name();
+            //Methods need a write method to be linked to.
+            if (linkName.length() == 0) return null;
+        }
 
-            if (name.equals(spef_name) && linkName.length() == 0) {
-                linkName = autoLog.replaylink().length() == 0 ? (movedToMethods ? name : "field_" + name) : autoLog.replaylink();
+        try {
+            //Fields without a replaylink are written to themselves.
+            if (linkedField != null && linkName.length() == 0) {
+                linkedField.setAccessible(true);
 
-                //restart the loop
-                i = -1;
-                movedToMethods = false;
-                continue;
+                return MethodHandles.lookup().unreflectSetter(linkedField).bindTo(this);
             }
 
-            boolean fieldLinkFound = linkName.length() != 0 && linkName.equals("field_" + name) && !movedToMethods;
+            for (Method method : methods) {
+                IOMethod ioMethod = method.getAnnotation(IOMethod.class);
+                if (ioMethod == null || ioMethod.method_type() != IOMethodType.WRITE) continue;
 
-            if ((name.equals(linkName) && linkName.length() != 0) || fieldLinkFound) {
-                if (movedToMethods) {
-                    thread.setMethod(method, cycle, this);
-                } else {
-                    thread.setField(field, cycle, this);
+                if ((ioMethod.name().length() == 0 ? method.getName() : ioMethod.name()).equals(linkName)) {
+                    method.setAccessible(true);
+
+                    return MethodHandles.lookup().unreflect(method).bindTo(this);
                 }
             }
+        } catch (IllegalAccessException | RuntimeException e) {
+            Logger.Log("Replayable " + getBaseName() + "/" + name, "Unable to access the replay link " + linkName + "!");
+            e.printStackTrace();
         }
 
-        if (linkName.length() == 0) System.out.println("did not find link name! " + spef_name);
+        return null;
+    }
+
+    /**
+     * Replays the value of a thread at a cycle into this replayable.
+     * @param thread The thread to replay
+     * @param cycle The cycle to replay
+     * @deprecated This looks up the link every call. Use {@link ReplayDispatch}, which resolves the links once.
+     */
+    @Deprecated
+    protected void feedThread(LogDataThread thread, int cycle) {
+        ReplayDispatch.resolve(thread, this).replay(cycle);
+    }
+
+    //The name an auto logged member is saved under.
+    private static String logName(AutoLog autoLog, String memberName) {
+        return (autoLog.name().length() == 0 ? memberName : autoLog.name()).replace('/', '|');
     }
 
     @AutoLog(name = "replay", replaylink = "inReplay")
@@ -237,10 +313,31 @@ public abstract class Replayable extends IOLayer implements Loggable {
     }
 
     public Field getField(String name) {
+        if (binding != null && !replayFields.containsKey(name)) {
+            //Only looked up when asked for, since replaying with a binding doesn't need the fields.
+            for (Field field : this.getClass().getDeclaredFields()) {
+                AutoLog autoLog = field.getAnnotation(AutoLog.class);
+
+                if (autoLog != null && name.equals("field_" + (autoLog.name().length() == 0 ? field.getName() : autoLog.name()))) {
+                    replayFields.put(name, field);
+                }
+            }
+        }
+
         return replayFields.get(name);
     }
 
     public Method getReplaySaveMethod(String name) {
+        if (binding != null && !replaySaveMethods.containsKey(name)) {
+            for (Method method : this.getClass().getMethods()) {
+                AutoLog autoLog = method.getAnnotation(AutoLog.class);
+
+                if (autoLog != null && autoLog.replaylink().length() > 0 && name.equals(autoLog.name().length() == 0 ? method.getName() : autoLog.name())) {
+                    replaySaveMethods.put(name, method);
+                }
+            }
+        }
+
         return replaySaveMethods.get(name);
     }
 
@@ -0,0 +1,583 @@
+package frc.team_8840_lib.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import frc.team_8840_lib.info.console.Logger;
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.buffer.BufferReader;
+import frc.team_8840_lib.utils.logging.BinaryLogFormat;
+import frc.team_8840_lib.utils.logging.LogStorage;
+
+/**
+ * Where the datapoints of every signal are in a log file, so one signal can be read without parsing the whole log.
+ *
+ * The index is built with one pass over the log that only looks at the start of each line/record, and is saved next to it
+ * as a sidecar file ({@link #EXTENSION}). The sidecar starts with a table of the signals, then a block per signal with the
+ * cycle, file offset and length of each of its datapoints, so reading a signal only touches its block and its datapoints.
+ * Works with uncompressed .baydat and .baybin logs (compressed logs and sessions can't be read at an offset).
+ * The sidecar of a session segment is deleted by {@link LogStorage} when the segment is compressed or its session goes over the quota.
+ *
+ * <pre>
+ * SignalIndex index = SignalIndex.open(new File("match.baydat"));
+ * LogDataThread gyro = index.read("SwerveDrive|Gyroscope");
+ * </pre>
+ */
+public class SignalIndex {
+    public static final String EXTENSION = LogStorage.INDEX_EXTENSION;
+
+    //"BYSG"
+    private static final int MAGIC = 0x42595347;
+    private static final byte VERSION = 1;
+
+    //Magic, version, log length, log modification time, binary, interval, cycles, signal count and table length.
+    private static final int HEADER_LENGTH = 4 + 1 + 8 + 8 + 1 + 8 + 4 + 4 + 4;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * A signal in the index.
+     */
+    public static class Signal {
+        private final String name;
+        private final LogType type;
+        private final int count;
+
+        //Where the datapoints of the signal are in the sidecar, or the datapoints themselves while building.
+        private long blockOffset;
+        private int[] cycles;
+        private long[] offsets;
+        private int[] lengths;
+
+        private Signal(String name, LogType type, int count) {
+            this.name = name;
+            this.type = type;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LogType getType() {
+            return type;
+        }
+
+        /**
+         * @return The number of datapoints of the signal
+         */
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private final File logFile;
+    private final boolean binary;
+    private final long interval;
+    private final int cycles;
+
+    private final LinkedHashMap<String, Signal> signals;
+
+    //The sidecar, for reading the blocks of signals. Null if the index was just built (the blocks are still in memory).
+    private final File sidecar;
+
+    private SignalIndex(File logFile, boolean binary, long interval, int cycles, LinkedHashMap<String, Signal> signals, File sidecar) {
+        this.logFile = logFile;
+        this.binary = binary;
+        this.interval = interval;
+        this.cycles = cycles;
+        this.signals = signals;
+        this.sidecar = sidecar;
+    }
+
+    /**
+     * @param logFile A log file
+     * @return The sidecar file the signal index of the log is saved to
+     */
+    public static File getSidecarFile(File logFile) {
+        return LogStorage.getIndexFile(logFile);
+    }
+
+    /**
+     * Opens the index of a log from its sidecar, or builds it (and saves the sidecar) if there isn't one matching the log.
+     * @param logFile The log file
+     * @return The index
+     * @throws IOException If the log couldn't be read
+     */
+    public static SignalIndex open(File logFile) throws IOException {
+        File sidecar = getSidecarFile(logFile);
+
+        if (sidecar.exists()) {
+            try {
+                SignalIndex index = load(sidecar, logFile);
+                if (index != null) return index;
+            } catch (IOException e) {
+                Logger.Log("[Replay] Unable to read the signal index " + sidecar.getName() + ", rebuilding it.");
+            }
+        }
+
+        SignalIndex index = build(logFile);
+
+        try {
+            index.save(sidecar);
+        } catch (IOException e) {
+            Logger.Log("[Replay] Unable to save the signal index " + sidecar.getName() + ".");
+            e.printStackTrace();
+        }
+
+        return index;
+    }
+
+    /**
+     * Builds the index of a log, without saving it.
+     * @param logFile The log file
+     * @return The index
+     * @throws IOException If the log couldn't be read
+     */
+    public static SignalIndex build(File logFile) throws IOException {
+        if (LogStorage.isCompressed(logFile) || LogStorage.isManifest(logFile)) {
+            throw new IllegalArgumentException("Only uncompressed .baydat and .baybin logs can be indexed by signal!");
+        }
+
+        Builder builder = new Builder();
+        boolean binary = BinaryLogFormat.isBinaryLog(logFile);
+
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(logFile), BUFFER_SIZE)) {
+            if (binary) {
+                builder.scanBinary(new DataInputStream(in));
+            } else {
+                builder.scanText(in);
+            }
+        }
+
+        return new SignalIndex(logFile, binary, builder.interval, builder.cycles, builder.finish(), null);
+    }
+
+    /**
+     * Saves the index, along with the size and modification time of the log so a changed log isn't matched to an old index.
+     * @param sidecar The file to save to
+     * @throws IOException If the file couldn't be written
+     */
+    public void save(File sidecar) throws IOException {
+        if (this.sidecar != null) {
+            throw new IllegalStateException("The index was loaded from a sidecar, so it's already saved.");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(sidecar)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(logFile.length());
+            out.writeLong(logFile.lastModified());
+            out.writeBoolean(binary);
+            out.writeLong(interval);
+            out.writeInt(cycles);
+
+            //The table goes first, with the offset of each block from the end of the table.
+            ByteArrayOutputStream tableBytes = new ByteArrayOutputStream();
+            DataOutputStream table = new DataOutputStream(tableBytes);
+
+            long blockOffset = 0;
+
+            for (Signal signal : signals.values()) {
+                table.writeUTF(signal.name);
+                table.writeByte(signal.type.smallString().charAt(0));
+                table.writeInt(signal.count);
+                table.writeLong(blockOffset);
+
+                blockOffset += (long) signal.count * (4 + 8 + 4);
+            }
+
+            out.writeInt(signals.size());
+            out.writeInt(table.size());
+            tableBytes.writeTo(out);
+
+            for (Signal signal : signals.values()) {
+                for (int i = 0; i < signal.count; i++) out.writeInt(signal.cycles[i]);
+                for (int i = 0; i < signal.count; i++) out.writeLong(signal.offsets[i]);
+                for (int i = 0; i < signal.count; i++) out.writeInt(signal.lengths[i]);
+            }
+        }
+    }
+
+    //Only reads the table. Returns null if the sidecar doesn't match the log.
+    private static SignalIndex load(File sidecar, File logFile) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(sidecar)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) return null;
+            if (in.readLong() != logFile.length() || in.readLong() != logFile.lastModified()) return null;
+
+            boolean binary = in.readBoolean();
+            long interval = in.readLong();
+            int cycles = in.readInt();
+
+            LinkedHashMap<String, Signal> signals = new LinkedHashMap<>();
+            int count = in.readInt();
+            int tableLength = in.readInt();
+
+            long blocksStart = HEADER_LENGTH + tableLength;
+
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                LogType type = LogType.fromSmallString(String.valueOf((char) in.readByte()));
+
+                Signal signal = new Signal(name, type, in.readInt());
+                signal.blockOffset = blocksStart + in.readLong();
+
+                signals.put(name, signal);
+            }
+
+            return new SignalIndex(logFile, binary, interval, cycles, signals, sidecar);
+        }
+    }
+
+    /**
+     * @return The full names (base name + "|" + name) of every signal in the log
+     */
+    public List<String> getSignalNames() {
+        return new ArrayList<>(signals.keySet());
+    }
+
+    /**
+     * @param name The full name of the signal
+     * @return The signal, or null if it isn't in the log
+     */
+    public Signal getSignal(String name) {
+        return signals.get(name);
+    }
+
+    /**
+     * @return The time between cycles of the log in milliseconds, or 0 if the log doesn't say
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    public int getCycles() {
+        return cycles;
+    }
+
+    /**
+     * Reads the datapoints of one signal from the log. Only the block of the signal in the sidecar and its datapoints in the log are read.
+     * @param name The full name of the signal (base name + "|" + name)
+     * @return The signal, with the same cycles as if the whole log was read with {@link ReplayLog}
+     * @throws IOException If the log or sidecar couldn't be read
+     */
+    public LogDataThread read(String name) throws IOException {
+        Signal signal = signals.get(name);
+
+        if (signal == null) {
+            throw new IllegalArgumentException("Signal " + name + " is not in " + logFile.getName() + "!");
+        }
+
+        int[] cycles = signal.cycles;
+        long[] offsets = signal.offsets;
+        int[] lengths = signal.lengths;
+
+        if (sidecar != null) {
+            cycles = new int[signal.count];
+            offsets = new long[signal.count];
+            lengths = new int[signal.count];
+
+            try (FileInputStream file = new FileInputStream(sidecar)) {
+                file.getChannel().position(signal.blockOffset);
+
+                DataInputStream in = new DataInputStream(new BufferedInputStream(file, BUFFER_SIZE));
+
+                for (int i = 0; i < signal.count; i++) cycles[i] = in.readInt();
+                for (int i = 0; i < signal.count; i++) offsets[i] = in.readLong();
+                for (int i = 0; i < signal.count; i++) lengths[i] = in.readInt();
+            }
+        }
+
+        LogDataThread thread = new LogDataThread(name, signal.type);
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        BufferReader reader = new BufferReader(buffer);
+
+        try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
+            for (int i = 0; i < signal.count; i++) {
+                if (lengths[i] > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(Math.max(lengths[i], buffer.capacity() * 2));
+                    reader.reset(buffer);
+                }
+
+                buffer.clear().limit(lengths[i]);
+
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offsets[i] + buffer.position()) == -1) throw new EOFException("The log is shorter than its index!");
+                }
+
+                buffer.flip();
+
+                if (binary) {
+                    //Skip the reference.
+                    reader.skip(4);
+                    ReplayLog.pushValue(thread, signal.type, reader, cycles[i]);
+                } else {
+                    String line = new String(buffer.array(), 0, buffer.limit(), StandardCharsets.UTF_8);
+
+                    try {
+                        thread.push(line.substring(line.indexOf("/") + 1), cycles[i]);
+                    } catch (RuntimeException e) {
+                        //A value that can't be read is skipped, like ReplayLog does.
+                    }
+                }
+            }
+        }
+
+        return thread;
+    }
+
+    /**
+     * Scans a log for the declarations and datapoints, counting cycles the same way {@link ReplayLog} does.
+     */
+    private static class Builder {
+        private final LinkedHashMap<Integer, Signal> references = new LinkedHashMap<>();
+        private final LinkedHashMap<Integer, Integer> counts = new LinkedHashMap<>();
+
+        private int cycles = 0;
+        private int skippedLines = 0;
+        private long interval = 0;
+
+        private void declare(String name, String type, int reference) {
+            Signal signal = new Signal(name, LogType.fromSmallString(type), 0);
+
+            signal.cycles = new int[16];
+            signal.offsets = new long[16];
+            signal.lengths = new int[16];
+
+            references.put(reference, signal);
+            counts.put(reference, 0);
+        }
+
+        private void datapoint(int reference, long offset, int length) {
+            Signal signal = references.get(reference);
+
+            //Same as ReplayLog, the line is skipped (or the log is cut off, if it's the unfinished last line).
+            if (signal == null) throw new RuntimeException("Reference " + reference + " does not exist!");
+
+            int count = counts.get(reference);
+
+            if (count == signal.cycles.length) {
+                signal.cycles = Arrays.copyOf(signal.cycles, count * 2);
+                signal.offsets = Arrays.copyOf(signal.offsets, count * 2);
+                signal.lengths = Arrays.copyOf(signal.lengths, count * 2);
+            }
+
+            signal.cycles[count] = cycles;
+            signal.offsets[count] = offset;
+            signal.lengths[count] = length;
+
+            counts.put(reference, count + 1);
+        }
+
+        private void cycle(int cycle) {
+            cycles = Math.max(cycles + 1, cycle + 1);
+        }
+
+        //Same as ReplayLog, a lower interval later in the log scales the cycles read so far.
+        private void interval(long interval) {
+            if (this.interval > 0 && interval > 0 && interval < this.interval && this.interval % interval == 0) {
+                int factor = (int) (this.interval / interval);
+
+                for (Integer reference : references.keySet()) {
+                    Signal signal = references.get(reference);
+                    int count = counts.get(reference);
+
+                    for (int i = 0; i < count; i++) {
+                        signal.cycles[i] = ReplayLog.scaleCycle(signal.cycles[i], factor);
+                    }
+                }
+
+                cycles = ReplayLog.scaleCycle(cycles, factor);
+            }
+
+            this.interval = interval;
+        }
+
+        private void scanText(BufferedInputStream in) throws IOException {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            ByteBuffer line = ByteBuffer.allocate(256);
+
+            long position = 0;
+            long lineStart = 0;
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++, position++) {
+                    if (buffer[i] != '\n') {
+                        //Only the start of data lines is needed, the rest of other lines is kept to parse them.
+                        if (line.position() < 16 || line.get(0) != 'd') {
+                            if (!line.hasRemaining()) line = ByteBuffer.allocate(line.capacity() * 2).put(line.flip());
+                            line.put(buffer[i]);
+                        }
+
+                        continue;
+                    }
+
+                    //Same as ReplayLog, a complete line that can't be read is skipped.
+                    try {
+                        scanLine(line, lineStart, (int) (position - lineStart));
+                    } catch (RuntimeException e) {
+                        skippedLines++;
+                    }
+
+                    line.clear();
+                    lineStart = position + 1;
+                }
+            }
+
+            //Only an unfinished last line cuts off the log.
+            if (position > lineStart) {
+                try {
+                    scanLine(line, lineStart, (int) (position - lineStart));
+                } catch (RuntimeException e) {
+                    Logger.Log("[Replay] The log is cut off at byte " + lineStart + " (" + e.getMessage() + "). Indexing everything before it.");
+                }
+            }
+
+            if (skippedLines > 0) Logger.Log("[Replay] Skipped " + skippedLines + " line(s) of the log that couldn't be indexed.");
+        }
+
+        private void scanLine(ByteBuffer line, long offset, int length) {
+            if (line.position() == 0) return;
+
+            byte first = line.get(0);
+
+            if (first == 'd') {
+                int reference = 0;
+                int i = 1;
+
+                while (i < line.position() && line.get(i) != '/') {
+                    reference = reference * 10 + (line.get(i) - '0');
+                    i++;
+                }
+
+                datapoint(reference, offset, length);
+                return;
+            }
+
+            if (first != 'a' && first != 'A') return;
+
+            String text = new String(line.array(), 0, line.position(), StandardCharsets.UTF_8);
+
+            if (text.startsWith("a")) {
+                declare(text.substring(1, text.indexOf("/") - 1), text.substring(text.indexOf("/") - 1, text.indexOf("/")), Integer.parseInt(text.substring(text.indexOf("/") + 1).trim()));
+            } else if (text.startsWith("ALC")) {
+                int end = 3;
+                while (end < text.length() && Character.isDigit(text.charAt(end))) end++;
+
+                cycle(end > 3 ? Integer.parseInt(text.substring(3, end)) : cycles);
+            } else if (text.startsWith("ALI")) {
+                interval(Long.parseLong(text.substring(3).trim()));
+            }
+        }
+
+        private void scanBinary(DataInputStream in) throws IOException {
+            byte[] magic = new byte[BinaryLogFormat.MAGIC.length];
+            in.readFully(magic);
+
+            byte version = in.readByte();
+            if (version > BinaryLogFormat.MAPPED_VERSION) {
+                throw new IOException("Binary log version " + version + " is not supported!");
+            }
+
+            long remaining = Long.MAX_VALUE;
+            long position = BinaryLogFormat.HEADER_LENGTH;
+
+            if (version >= BinaryLogFormat.MAPPED_VERSION) {
+                remaining = Math.max(0, in.readLong());
+                position = BinaryLogFormat.MAPPED_HEADER_LENGTH;
+            }
+
+            byte[] payload = new byte[256];
+
+            try {
+                while (remaining >= BinaryLogFormat.RECORD_HEADER_LENGTH) {
+                    int tag = in.read();
+                    if (tag == -1) break;
+
+                    int length = in.readInt();
+
+                    if (tag == 0 || length < 0 || length > ReplayLog.MAX_RECORD_LENGTH || length > remaining - BinaryLogFormat.RECORD_HEADER_LENGTH) break;
+
+                    long payloadOffset = position + BinaryLogFormat.RECORD_HEADER_LENGTH;
+
+                    position += BinaryLogFormat.RECORD_HEADER_LENGTH + length;
+                    remaining -= BinaryLogFormat.RECORD_HEADER_LENGTH + length;
+
+                    if (tag == BinaryLogFormat.DATA) {
+                        //Only the reference is needed, the value is read when the signal is.
+                        datapoint(in.readInt(), payloadOffset, length);
+                        skip(in, length - 4);
+                        continue;
+                    }
+
+                    if (tag != BinaryLogFormat.DECLARATION && tag != BinaryLogFormat.CYCLE && tag != BinaryLogFormat.INFO) {
+                        skip(in, length);
+                        continue;
+                    }
+
+                    if (length > payload.length) payload = new byte[Math.max(length, payload.length * 2)];
+                    in.readFully(payload, 0, length);
+
+                    ByteBuffer record = ByteBuffer.wrap(payload, 0, length);
+
+                    if (tag == BinaryLogFormat.DECLARATION) {
+                        int reference = record.getInt();
+                        String type = String.valueOf((char) record.get());
+
+                        declare(new String(payload, record.position(), record.remaining(), StandardCharsets.UTF_8), type, reference);
+                    } else if (tag == BinaryLogFormat.CYCLE) {
+                        cycle(record.getInt());
+                    } else {
+                        String info = new String(payload, 0, length, StandardCharsets.UTF_8);
+                        if (info.startsWith("ALI")) interval(Long.parseLong(info.substring(3).trim()));
+                    }
+                }
+            } catch (EOFException | RuntimeException e) {
+                Logger.Log("[Replay] The log is cut off at byte " + position + ". Indexing everything before it.");
+            }
+        }
+
+        private static void skip(DataInputStream in, int length) throws IOException {
+            while (length > 0) {
+                int skipped = in.skipBytes(length);
+                if (skipped <= 0) throw new EOFException();
+
+                length -= skipped;
+            }
+        }
+
+        private LinkedHashMap<String, Signal> finish() {
+            LinkedHashMap<String, Signal> signals = new LinkedHashMap<>();
+
+            for (Integer reference : references.keySet()) {
+                Signal declared = references.get(reference);
+                Signal signal = new Signal(declared.name, declared.type, counts.get(reference));
+
+                signal.cycles = declared.cycles;
+                signal.offsets = declared.offsets;
+                signal.lengths = declared.lengths;
+
+                signals.put(signal.name, signal);
+            }
+
+            return signals;
+        }
+    }
+}
@@ -191,7 +191,7 @@ public class Till extends EventListener {
         } else {
             if (phase != null) {
                 if (lastSuccessPeriodic != phase) {
-                    Logger.Log("Till", "Starting " + phase.name() + " " + type.name() + " method!");
+                    Logger.Debug("Till", "Starting %s %s method!", phase, type);
                     lastSuccessPeriodic = phase;
                 }
             }
@@ -0,0 +1,152 @@
+package frc.team_8840_lib.utils.binding;
+
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.IO.IOMethodType;
+import frc.team_8840_lib.utils.IO.IOValue;
+
+/**
+ * The {@link frc.team_8840_lib.info.console.AutoLog} and {@link frc.team_8840_lib.utils.IO.IOMethod} members of a class,
+ * generated at compile time by the binding processor (the "processor" project).
+ *
+ * A generated binding lists the names and types of every member, and reads, writes and replays them with direct calls,
+ * so nothing has to be found through reflection at runtime. Replay links are resolved (and checked) when the class is compiled.
+ * Use {@link Bindings#of(Class)} to get the binding of a class, if there is one.
+ *
+ * The auto logs are the declared fields of the class followed by its public methods, the same as the reflection based lookup.
+ */
+public abstract class Binding {
+    private final Class<?> targetClass;
+
+    private final String[] autoLogNames;
+    private final LogType[] autoLogTypes;
+    private final boolean[] autoLogMethods;
+    private final long[] autoLogPeriods;
+    private final String[] replayLinks;
+
+    private final String[] ioNames;
+    private final IOValue[] ioValueTypes;
+    private final IOMethodType[] ioMethodTypes;
+    private final boolean[] ioToNT;
+
+    protected Binding(
+        Class<?> targetClass,
+        String[] autoLogNames, LogType[] autoLogTypes, boolean[] autoLogMethods, long[] autoLogPeriods, String[] replayLinks,
+        String[] ioNames, IOValue[] ioValueTypes, IOMethodType[] ioMethodTypes, boolean[] ioToNT
+    ) {
+        this.targetClass = targetClass;
+
+        this.autoLogNames = autoLogNames;
+        this.autoLogTypes = autoLogTypes;
+        this.autoLogMethods = autoLogMethods;
+        this.autoLogPeriods = autoLogPeriods;
+        this.replayLinks = replayLinks;
+
+        this.ioNames = ioNames;
+        this.ioValueTypes = ioValueTypes;
+        this.ioMethodTypes = ioMethodTypes;
+        this.ioToNT = ioToNT;
+    }
+
+    public Class<?> getTargetClass() {
+        return targetClass;
+    }
+
+    public int getAutoLogCount() {
+        return autoLogNames.length;
+    }
+
+    /**
+     * @param index Index of the auto log
+     * @return The name of the auto log, with slashes already replaced by pipes
+     */
+    public String getAutoLogName(int index) {
+        return autoLogNames[index];
+    }
+
+    public LogType getAutoLogType(int index) {
+        return autoLogTypes[index];
+    }
+
+    public boolean isAutoLogMethod(int index) {
+        return autoLogMethods[index];
+    }
+
+    /**
+     * @param index Index of the auto log
+     * @return How often the value is logged in milliseconds, or 0 for the default interval
+     */
+    public long getAutoLogPeriod(int index) {
+        return autoLogPeriods[index];
+    }
+
+    /**
+     * @param index Index of the auto log
+     * @return The replaylink of the auto log, or an empty String if it doesn't have one
+     */
+    public String getReplayLink(int index) {
+        return replayLinks[index];
+    }
+
+    public int getIOMethodCount() {
+        return ioNames.length;
+    }
+
+    public String getIOName(int index) {
+        return ioNames[index];
+    }
+
+    public IOValue getIOValueType(int index) {
+        return ioValueTypes[index];
+    }
+
+    public IOMethodType getIOMethodType(int index) {
+        return ioMethodTypes[index];
+    }
+
+    public boolean isIOToNT(int index) {
+        return ioToNT[index];
+    }
+
+    public abstract double getDouble(Object instance, int index) throws Throwable;
+
+    public abstract int getInt(Object instance, int index) throws Throwable;
+
+    public abstract boolean getBoolean(Object instance, int index) throws Throwable;
+
+    /**
+     * Returns the value of an auto log of a non-primitive type (String, String[], double[] or byte[]).
+     * @param instance The instance to get the value from
+     * @param index Index of the auto log
+     * @return The value
+     * @throws Throwable Anything thrown by the field/method
+     */
+    public abstract Object getObject(Object instance, int index) throws Throwable;
+
+    /**
+     * Calls a {@link IOMethodType#READ} IO method.
+     * @param instance The instance to read from
+     * @param index Index of the IO method
+     * @return The value returned by the method
+     * @throws Throwable Anything thrown by the method
+     */
+    public abstract Object readIO(Object instance, int index) throws Throwable;
+
+    /**
+     * Calls a {@link IOMethodType#WRITE} IO method.
+     * @param instance The instance to write to
+     * @param index Index of the IO method
+     * @param value The value to write
+     * @throws Throwable Anything thrown by the method
+     */
+    public abstract void writeIO(Object instance, int index, Object value) throws Throwable;
+
+    /**
+     * Puts a replayed value back where the auto log links to: the field itself, or the IO method its replaylink points to.
+     * @param instance The instance being replayed
+     * @param name The name of the auto log
+     * @param value The replayed value
+     * @return Whether the auto log has a link the value was given to
+     * @throws Throwable Anything thrown by the method
+     */
+    public abstract boolean replay(Object instance, String name, Object value) throws Throwable;
+}
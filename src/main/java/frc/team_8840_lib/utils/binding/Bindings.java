@@ -0,0 +1,73 @@
+package frc.team_8840_lib.utils.binding;
+
+import java.util.HashMap;
+
+import frc.team_8840_lib.info.console.Logger;
+
+/**
+ * Finds the generated {@link Binding} of a class. The binding of pkg.Outer.Inner is pkg.Outer_Inner_Binding.
+ * Classes compiled without the binding processor don't have one, and fall back to reflection.
+ *
+ * To get bindings for the classes of a robot project, the project needs the processor on its annotation processor path,
+ * e.g. {@code annotationProcessor files('libs/processor/8840-utils-processor.jar')} in build.gradle
+ * (the jar is released next to 8840-utils.jar, see the README).
+ */
+public class Bindings {
+    public static final String SUFFIX = "_Binding";
+
+    //Also holds null for classes that were already checked and don't have a binding.
+    private static final HashMap<Class<?>, Binding> bindings = new HashMap<>();
+
+    private static boolean enabled = true;
+
+    /**
+     * Returns the generated binding of a class, looking it up the first time the class is seen.
+     * @param klass The class
+     * @return The binding, or null if the class doesn't have one (or bindings are disabled)
+     */
+    public static synchronized Binding of(Class<?> klass) {
+        if (!enabled) return null;
+
+        if (bindings.containsKey(klass)) return bindings.get(klass);
+
+        Binding binding = null;
+
+        try {
+            Class<?> bindingClass = Class.forName(getBindingName(klass), true, klass.getClassLoader());
+
+            binding = (Binding) bindingClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            //Not compiled with the binding processor.
+        } catch (Exception | LinkageError e) {
+            Logger.Log("[Bindings] Unable to load the binding of " + klass.getSimpleName() + ", falling back to reflection.");
+            e.printStackTrace();
+        }
+
+        bindings.put(klass, binding);
+
+        return binding;
+    }
+
+    /**
+     * @param klass The class
+     * @return The fully qualified name of the binding of the class
+     */
+    public static String getBindingName(Class<?> klass) {
+        String name = klass.getName();
+        String packageName = klass.getPackage() != null ? klass.getPackage().getName() : "";
+
+        String simpleName = packageName.length() > 0 ? name.substring(packageName.length() + 1) : name;
+
+        return (packageName.length() > 0 ? packageName + "." : "") + simpleName.replace('$', '_') + SUFFIX;
+    }
+
+    /**
+     * Turns the generated bindings on or off. When off, every class uses reflection, like before the bindings were generated.
+     * Needs to be called before any class is auto logged or added as an IO layer.
+     * @param enabled Whether to use the generated bindings (default true)
+     */
+    public static synchronized void setEnabled(boolean enabled) {
+        Bindings.enabled = enabled;
+        bindings.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package frc.team_8840_lib.utils.buffer;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of {@link BufferWriter}s, so code that encodes something every cycle can reuse the same buffers instead of allocating new ones.
+ * Borrow a writer with {@link #acquire()}, and give it back with {@link #release(BufferWriter)} once the bytes have been copied or written out.
+ */
+public class BufferPool {
+    //Writers that grew bigger than this aren't kept, so one huge message doesn't hold on to the memory forever.
+    private static final int MAX_KEPT_CAPACITY = 64 * 1024;
+    private static final int MAX_KEPT_WRITERS = 16;
+
+    private static final ConcurrentLinkedDeque<BufferWriter> writers = new ConcurrentLinkedDeque<>();
+    private static final AtomicInteger kept = new AtomicInteger();
+
+    /**
+     * Borrows an empty writer from the pool, or creates one if the pool is empty.
+     * @return The writer
+     */
+    public static BufferWriter acquire() {
+        BufferWriter writer = writers.pollFirst();
+
+        if (writer == null) return new BufferWriter();
+
+        kept.decrementAndGet();
+
+        return writer.reset();
+    }
+
+    /**
+     * Gives a writer back to the pool. The writer shouldn't be used after this.
+     * @param writer The writer
+     */
+    public static void release(BufferWriter writer) {
+        if (writer == null || writer.capacity() > MAX_KEPT_CAPACITY) return;
+
+        if (kept.incrementAndGet() > MAX_KEPT_WRITERS) {
+            kept.decrementAndGet();
+            return;
+        }
+
+        writers.offerFirst(writer.reset());
+    }
+}
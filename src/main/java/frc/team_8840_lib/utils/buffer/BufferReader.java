@@ -0,0 +1,191 @@
+package frc.team_8840_lib.utils.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads what a {@link BufferWriter} wrote. Reading doesn't copy the underlying bytes, except for the arrays and strings that are returned.
+ */
+public class BufferReader {
+    private ByteBuffer buffer;
+
+    public BufferReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public BufferReader(byte[] bytes) {
+        this(ByteBuffer.wrap(bytes));
+    }
+
+    public BufferReader(byte[] bytes, int offset, int length) {
+        this(ByteBuffer.wrap(bytes, offset, length));
+    }
+
+    /**
+     * Points the reader at different bytes, so it can be reused.
+     * @param buffer The bytes to read
+     * @return The BufferReader
+     */
+    public BufferReader reset(ByteBuffer buffer) {
+        this.buffer = buffer;
+        return this;
+    }
+
+    public byte getByte() {
+        return buffer.get();
+    }
+
+    public boolean getBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public short getShort() {
+        return buffer.getShort();
+    }
+
+    public int getInt() {
+        return buffer.getInt();
+    }
+
+    public long getLong() {
+        return buffer.getLong();
+    }
+
+    public double getDouble() {
+        return buffer.getDouble();
+    }
+
+    /**
+     * Reads an unsigned varint.
+     * @return The value
+     */
+    public int getVarInt() {
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) return value;
+        }
+
+        throw new IllegalStateException("Varint is too long!");
+    }
+
+    /**
+     * Reads an unsigned varint.
+     * @return The value
+     */
+    public long getVarLong() {
+        long value = 0;
+
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) return value;
+        }
+
+        throw new IllegalStateException("Varint is too long!");
+    }
+
+    /**
+     * Reads a zigzag encoded signed varint.
+     * @return The value
+     */
+    public int getSignedVarInt() {
+        int value = getVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads bytes without a length.
+     * @param length The number of bytes
+     * @return The bytes
+     */
+    public byte[] getBytes(int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    public byte[] getByteArray() {
+        return getBytes(getLength(1));
+    }
+
+    public double[] getDoubleArray() {
+        double[] value = new double[getLength(8)];
+
+        for (int i = 0; i < value.length; i++) {
+            value[i] = buffer.getDouble();
+        }
+
+        return value;
+    }
+
+    public String getString() {
+        return getString(getLength(1));
+    }
+
+    /**
+     * Reads a UTF-8 string without a length.
+     * @param length The number of bytes
+     * @return The string
+     */
+    public String getString(int length) {
+        //Decode straight from the backing array when there is one (not for direct or read-only buffers).
+        if (!buffer.hasArray()) return new String(getBytes(length), StandardCharsets.UTF_8);
+
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+
+        return value;
+    }
+
+    public String[] getStringArray() {
+        String[] value = new String[getLength(1)];
+
+        for (int i = 0; i < value.length; i++) {
+            value[i] = getString();
+        }
+
+        return value;
+    }
+
+    /**
+     * Skips bytes.
+     * @param length The number of bytes to skip
+     * @return The BufferReader
+     */
+    public BufferReader skip(int length) {
+        buffer.position(buffer.position() + length);
+        return this;
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * Reads an array length, checking it against what's left so a corrupted length can't allocate a huge array.
+     * @param elementSize The size of each element in bytes
+     * @return The length
+     */
+    private int getLength(int elementSize) {
+        int length = getVarInt();
+
+        if (length < 0 || (long) length * elementSize > buffer.remaining()) {
+            throw new IllegalStateException("Array length " + length + " is longer than the rest of the buffer!");
+        }
+
+        return length;
+    }
+}
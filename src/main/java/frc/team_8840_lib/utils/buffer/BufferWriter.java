@@ -0,0 +1,240 @@
+package frc.team_8840_lib.utils.buffer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes primitives, varints and length-prefixed arrays into a reusable, growable ByteBuffer (big endian).
+ * Writers can be borrowed from {@link BufferPool} so encoding doesn't allocate a new buffer every time.
+ *
+ * Arrays and strings are length-prefixed with an unsigned varint, and can be read back with {@link BufferReader}.
+ */
+public class BufferWriter {
+    private ByteBuffer buffer;
+
+    public BufferWriter(int initialCapacity) {
+        this.buffer = ByteBuffer.allocate(Math.max(16, initialCapacity));
+    }
+
+    public BufferWriter() {
+        this(256);
+    }
+
+    /**
+     * Makes sure there's room for more bytes, growing the buffer (at least doubling it) if there isn't.
+     * @param bytes The number of bytes that will be written
+     * @return The BufferWriter
+     */
+    public BufferWriter ensure(int bytes) {
+        if (buffer.remaining() >= bytes) return this;
+
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.position() + bytes, buffer.capacity() * 2));
+
+        buffer.flip();
+        grown.put(buffer);
+
+        buffer = grown;
+
+        return this;
+    }
+
+    /**
+     * Clears the writer so it can be reused. The buffer is kept.
+     * @return The BufferWriter
+     */
+    public BufferWriter reset() {
+        buffer.clear();
+        return this;
+    }
+
+    public BufferWriter putByte(byte value) {
+        ensure(1);
+        buffer.put(value);
+        return this;
+    }
+
+    public BufferWriter putBoolean(boolean value) {
+        return putByte((byte) (value ? 1 : 0));
+    }
+
+    public BufferWriter putShort(short value) {
+        ensure(2);
+        buffer.putShort(value);
+        return this;
+    }
+
+    public BufferWriter putInt(int value) {
+        ensure(4);
+        buffer.putInt(value);
+        return this;
+    }
+
+    public BufferWriter putLong(long value) {
+        ensure(8);
+        buffer.putLong(value);
+        return this;
+    }
+
+    public BufferWriter putDouble(double value) {
+        ensure(8);
+        buffer.putDouble(value);
+        return this;
+    }
+
+    /**
+     * Writes an unsigned varint (7 bits per byte, lowest bits first). Small values only take 1 byte.
+     * @param value The value, treated as unsigned
+     * @return The BufferWriter
+     */
+    public BufferWriter putVarInt(int value) {
+        ensure(5);
+
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+
+        return this;
+    }
+
+    /**
+     * Writes an unsigned varint (7 bits per byte, lowest bits first).
+     * @param value The value, treated as unsigned
+     * @return The BufferWriter
+     */
+    public BufferWriter putVarLong(long value) {
+        ensure(10);
+
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        buffer.put((byte) value);
+
+        return this;
+    }
+
+    /**
+     * Writes a signed varint, zigzag encoded so small negative values are small too.
+     * @param value The value
+     * @return The BufferWriter
+     */
+    public BufferWriter putSignedVarInt(int value) {
+        return putVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Writes the bytes as they are, without a length.
+     * @param value The bytes
+     * @return The BufferWriter
+     */
+    public BufferWriter putBytes(byte[] value) {
+        return putBytes(value, 0, value.length);
+    }
+
+    public BufferWriter putBytes(byte[] value, int offset, int length) {
+        ensure(length);
+        buffer.put(value, offset, length);
+        return this;
+    }
+
+    /**
+     * Writes a length-prefixed byte array.
+     * @param value The bytes
+     * @return The BufferWriter
+     */
+    public BufferWriter putByteArray(byte[] value) {
+        putVarInt(value.length);
+        return putBytes(value);
+    }
+
+    /**
+     * Writes a length-prefixed double array.
+     * @param value The doubles
+     * @return The BufferWriter
+     */
+    public BufferWriter putDoubleArray(double[] value) {
+        putVarInt(value.length);
+        ensure(8 * value.length);
+
+        for (double d : value) {
+            buffer.putDouble(d);
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     * @param value The string
+     * @return The BufferWriter
+     */
+    public BufferWriter putString(String value) {
+        return putByteArray(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes a length-prefixed array of length-prefixed UTF-8 strings.
+     * @param value The strings
+     * @return The BufferWriter
+     */
+    public BufferWriter putStringArray(String[] value) {
+        putVarInt(value.length);
+
+        for (String s : value) {
+            putString(s);
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes an int at an absolute position, without moving the position. Used to fill in lengths after the fact.
+     * @param index The position to write at
+     * @param value The value
+     * @return The BufferWriter
+     */
+    public BufferWriter putInt(int index, int value) {
+        buffer.putInt(index, value);
+        return this;
+    }
+
+    /**
+     * @return The number of bytes written
+     */
+    public int position() {
+        return buffer.position();
+    }
+
+    /**
+     * @return The backing array. Only the bytes before {@link #position()} are written.
+     */
+    public byte[] array() {
+        return buffer.array();
+    }
+
+    /**
+     * @return A read-only view of the written bytes, without copying them. Only valid until the writer is written to again.
+     */
+    public ByteBuffer view() {
+        ByteBuffer view = buffer.duplicate();
+        view.flip();
+        return view.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return A copy of the written bytes
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+}
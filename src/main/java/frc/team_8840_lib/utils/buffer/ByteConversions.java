@@ -3,35 +3,24 @@ package frc.team_8840_lib.utils.buffer;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
+/**
+ * Small helpers for turning values into byte arrays. For encoding more than one value, use a {@link BufferWriter} from the {@link BufferPool} instead.
+ */
 public class ByteConversions {
 
     public static byte[] possibleNegDoubleTo9ByteArray(final double i) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        DataOutputStream dos = new DataOutputStream(bos);
-        dos.writeDouble(i);
-        dos.flush();
-
-        byte[] isNegative = new byte[1];
         //if it's negative, set the first byte to fully 1s
-        if (i < 0) {
-            isNegative[0] = (byte) 0xFF;
-        } else {
-            isNegative[0] = (byte) 0x00;
-        }
-
-        return combineByteArrays(isNegative, bos.toByteArray());
-    } 
+        return ByteBuffer.allocate(9).put(i < 0 ? (byte) 0xFF : (byte) 0x00).putDouble(i).array();
+    }
 
-    public static byte[] doubleToByteArray(final double _i) throws IOException {
-        //https://stackoverflow.com/questions/13071777/convert-double-to-byte-array
-        byte[] output = new byte[8];
-        long lng = Double.doubleToLongBits(_i);
-        for(int i = 0; i < 8; i++) output[i] = (byte)((lng >> ((7 - i) * 8)) & 0xff);
-        return output;
+    public static byte[] doubleToByteArray(final double i) throws IOException {
+        return ByteBuffer.allocate(8).putDouble(i).array();
     }
 
     public static byte[] stringToByteArray(final String i) throws IOException {
+        //Kept on DataOutputStream, since writeUTF uses Java's modified UTF-8.
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         DataOutputStream dos = new DataOutputStream(bos);
         dos.writeUTF(i);
@@ -40,11 +29,40 @@ public class ByteConversions {
     }
 
     public static byte[] intToByteArray(final int i) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        DataOutputStream dos = new DataOutputStream(bos);
-        dos.writeInt(i);
-        dos.flush();
-        return bos.toByteArray();
+        return ByteBuffer.allocate(4).putInt(i).array();
+    }
+
+    /**
+     * Turns bytes into a String with one char per byte, without any decoding.
+     * Each byte is cast to a char like it always was, so bytes from 0x80 up become the chars '\uFF80' to '\uFFFF'.
+     * {@link #rawStringToByteArray(String)} turns it back into the same bytes.
+     * @param bytes The bytes
+     * @return The String
+     */
+    public static String byteArrayToRawString(final byte[] bytes) {
+        char[] chars = new char[bytes.length];
+
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i] = (char) bytes[i];
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Turns a String made by {@link #byteArrayToRawString(byte[])} back into bytes.
+     * Only the low byte of each char is kept, so Strings that hold bytes from 0x80 up as the chars '\u0080' to '\u00FF' read back the same bytes too.
+     * @param string The String
+     * @return The bytes
+     */
+    public static byte[] rawStringToByteArray(final String string) {
+        byte[] bytes = new byte[string.length()];
+
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) string.charAt(i);
+        }
+
+        return bytes;
     }
 
     public static byte[] combineByteArrays(byte[] ...arrs) {
@@ -56,9 +74,8 @@ public class ByteConversions {
         byte[] result = new byte[length];
         int index = 0;
         for (byte[] arr : arrs) {
-            for (byte b : arr) {
-                result[index++] = b;
-            }
+            System.arraycopy(arr, 0, result, index, arr.length);
+            index += arr.length;
         }
 
         return result;
@@ -73,9 +90,8 @@ public class ByteConversions {
         byte[] result = new byte[length + ars.length - 1];
         int index = 0;
         for (byte[] arr : ars) {
-            for (byte b : arr) {
-                result[index++] = b;
-            }
+            System.arraycopy(arr, 0, result, index, arr.length);
+            index += arr.length;
 
             if (index < result.length) {
                 result[index++] = inbetween;
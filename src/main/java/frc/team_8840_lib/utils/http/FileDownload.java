@@ -0,0 +1,177 @@
+package frc.team_8840_lib.utils.http;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Downloads files from a few folders, streamed from the disk (see {@link Route.Resolution#file(File, long, long)}).
+ *
+ * Supports HTTP range requests, so an interrupted download can be resumed from where it stopped,
+ * and ETags (made from the size and the last modified time of the file), so a file that didn't change isn't downloaded again.
+ * A resumed download that sends If-Range gets the whole file again if the file changed in the meantime.
+ *
+ * Examples of requests, where the path is either absolute or relative to the home folder:
+ * /download?path=8840applogs/log_1.baydat - downloads the whole file.
+ * /download?path=8840applogs/log_1.baydat with "Range: bytes=1048576-" - downloads the rest of the file from the first MB.
+ */
+public class FileDownload extends Constructor {
+    private final ArrayList<File> folders = new ArrayList<>();
+
+    /**
+     * Allows files in a folder (and its subfolders) to be downloaded. Nothing can be downloaded until a folder is added.
+     * @param folder The folder
+     * @return This download
+     */
+    public FileDownload addFolder(File folder) {
+        try {
+            folders.add(folder.getCanonicalFile());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return this;
+    }
+
+    @Override
+    public Route.Resolution finish(HttpExchange req, Route.Resolution res) {
+        String method = req.getRequestMethod();
+        if (!method.equalsIgnoreCase("GET") && !method.equalsIgnoreCase("HEAD")) {
+            return res.json(this.error("Invalid request method.")).status(405);
+        }
+
+        String rawQuery = req.getRequestURI().getRawQuery();
+        HashMap<String, String> query = rawQuery == null ? new HashMap<>() : this.parseQuery(rawQuery);
+
+        if (!query.containsKey("path")) {
+            return res.json(this.error("No path given.")).status(400);
+        }
+
+        File file;
+
+        try {
+            file = resolve(URLDecoder.decode(query.get("path"), "UTF-8"));
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return res.json(this.error("Invalid path.")).status(400);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return res.json(this.error("Unable to read the file.")).status(500);
+        }
+
+        if (file == null) {
+            return res.json(this.error("The file is outside of the download folders.")).status(403);
+        }
+
+        if (!file.isFile()) {
+            return res.json(this.error("File not found.")).status(404);
+        }
+
+        long size = file.length();
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(file.lastModified()) + "\"";
+
+        res.setHeader("Content-Type", "application/octet-stream");
+        res.setHeader("Content-Disposition", "attachment; filename=\"" + file.getName().replace("\"", "") + "\"");
+        res.setHeader("Accept-Ranges", "bytes");
+        res.setHeader("ETag", etag);
+        res.setHeader("Access-Control-Expose-Headers", "Accept-Ranges, Content-Range, Content-Length, ETag");
+
+        String ifNoneMatch = req.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null && (ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag))) {
+            return res.file(null, 0, 0).status(304);
+        }
+
+        String range = req.getRequestHeaders().getFirst("Range");
+        String ifRange = req.getRequestHeaders().getFirst("If-Range");
+
+        //The range is only for the version of the file the client has, otherwise the whole file is sent again.
+        if (range == null || (ifRange != null && !ifRange.trim().equals(etag))) {
+            res.setHeader("Content-Length", String.valueOf(size));
+            return res.file(file, 0, size);
+        }
+
+        long[] bytes = parseRange(range, size);
+
+        //Ranges that can't be read (or several ranges at once) are ignored, and the whole file is sent.
+        if (bytes == null) {
+            res.setHeader("Content-Length", String.valueOf(size));
+            return res.file(file, 0, size);
+        }
+
+        if (bytes[0] >= size || bytes[1] < bytes[0]) {
+            res.setHeader("Content-Range", "bytes */" + size);
+            return res.file(null, 0, 0).status(416);
+        }
+
+        long length = bytes[1] - bytes[0] + 1;
+
+        res.setHeader("Content-Range", "bytes " + bytes[0] + "-" + bytes[1] + "/" + size);
+        res.setHeader("Content-Length", String.valueOf(length));
+
+        return res.file(file, bytes[0], length).status(206);
+    }
+
+    /**
+     * @param path A path, either absolute or relative to the home folder
+     * @return The file, or null if it isn't in one of the download folders
+     */
+    private File resolve(String path) throws IOException {
+        File file = new File(path);
+        if (!file.isAbsolute()) file = new File(System.getProperty("user.home"), path);
+
+        //The canonical path has no ".." or links left, so it can't get out of the folders.
+        file = file.getCanonicalFile();
+
+        for (File folder : folders) {
+            if (file.toPath().startsWith(folder.toPath()) && !file.equals(folder)) return file;
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads a single range of a Range header, "bytes=first-last", "bytes=first-" or "bytes=-suffixLength".
+     * @param range The header
+     * @param size The size of the file
+     * @return The first and last byte of the range (the last clamped to the file), or null if the header can't be used
+     */
+    static long[] parseRange(String range, long size) {
+        range = range.trim();
+
+        if (!range.startsWith("bytes=") || range.contains(",")) return null;
+
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) return null;
+
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+
+        try {
+            if (first.isEmpty()) {
+                if (last.isEmpty()) return null;
+
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) return new long[] { size, size };
+
+                return new long[] { Math.max(0, size - suffix), size - 1 };
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+
+            if (start < 0) return null;
+
+            //A last byte before the first is invalid, not unsatisfiable, so it's ignored.
+            if (!last.isEmpty() && Long.parseLong(last) < start) return null;
+
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -2,10 +2,17 @@ package frc.team_8840_lib.utils.http;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import frc.team_8840_lib.info.console.LogLevel;
+import frc.team_8840_lib.info.console.Logger;
 import frc.team_8840_lib.utils.http.html.Element;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.HashMap;
 
 import org.json.JSONObject;
@@ -15,10 +22,13 @@ public class Route implements HttpHandler {
     private String path;
     private Constructor callback;
 
-    private static boolean notifyRequests = false;
-    
+    /**
+     * Turns the request notifications on or off. They're debug messages of the "Route" log group,
+     * so this sets the threshold of that group.
+     * @param notify Whether to log every request
+     */
     public static void setServerNotifications(boolean notify) {
-    	notifyRequests = notify;
+    	Logger.setLevel("Route", notify ? LogLevel.DEBUG : LogLevel.INFO);
     }
 
     public Route(String path, Constructor callback) {
@@ -34,24 +44,30 @@ public class Route implements HttpHandler {
     public void handle(HttpExchange exchange) throws IOException {
         exchange.getResponseHeaders().add("Access-Control-Allow-Origin", "*");
         if (exchange.getRequestMethod().equalsIgnoreCase("OPTIONS")) {
-            exchange.getResponseHeaders().add("Access-Control-Allow-Methods", "GET, OPTIONS");
-            exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type,Authorization");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Methods", "GET, HEAD, OPTIONS");
+            exchange.getResponseHeaders().add("Access-Control-Allow-Headers", "Content-Type,Authorization,Range,If-Range,If-None-Match");
             exchange.sendResponseHeaders(204, -1);
             return;
         }
 
         Resolution res = this.callback.finish(exchange, new Resolution());
         
-        String body = res.getBody();
         int status = res.getStatus();
 
-        if (Route.notifyRequests) System.out.println(exchange.getRequestMethod().toUpperCase() + " Request \"" + exchange.getRequestURI().toString() + "\" " + status + " " + res.getHeaders());
+        Logger.Debug("Route", () -> exchange.getRequestMethod().toUpperCase() + " Request \"" + exchange.getRequestURI().toString() + "\" " + status + " " + res.getHeaders());
 
         //Add headers from getHeaders() to the response
         for (String header : res.getHeaders().keySet()) {
             exchange.getResponseHeaders().add(header, res.getHeaders().get(header));
         }
 
+        if (res.getContentType() == ContentType.FILE) {
+            sendFile(exchange, res);
+            return;
+        }
+
+        String body = res.getBody();
+
         int responseLength = body.getBytes().length;
 
         exchange.sendResponseHeaders(status, responseLength);
@@ -63,8 +79,42 @@ public class Route implements HttpHandler {
         exchange.close();
     }
 
+    /**
+     * Streams the file of a resolution straight from the disk into the response, without reading it into memory.
+     */
+    private void sendFile(HttpExchange exchange, Resolution res) throws IOException {
+        //Nothing is sent for HEAD requests or "not modified" responses, only the headers.
+        if (res.getFile() == null || res.getStatus() == 304 || exchange.getRequestMethod().equalsIgnoreCase("HEAD")) {
+            exchange.sendResponseHeaders(res.getStatus(), -1);
+            exchange.close();
+            return;
+        }
+
+        //A length of 0 means a chunked response to the HttpServer, so empty files are sent without a body.
+        exchange.sendResponseHeaders(res.getStatus(), res.getFileLength() > 0 ? res.getFileLength() : -1);
+
+        try (
+            FileChannel channel = FileChannel.open(res.getFile().toPath(), StandardOpenOption.READ);
+            WritableByteChannel out = Channels.newChannel(exchange.getResponseBody())
+        ) {
+            long position = res.getFilePosition();
+            long end = position + res.getFileLength();
+
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+
+                //The file got shorter since the headers were sent, the client will see the missing bytes.
+                if (sent <= 0) break;
+
+                position += sent;
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
     public static enum ContentType {
-        HTML, JSON, TEXT
+        HTML, JSON, TEXT, FILE
     }
 
     public static class Resolution {
@@ -75,6 +125,10 @@ public class Route implements HttpHandler {
         private HashMap<String, String> headers;
         private ContentType contentType;
 
+        private File file;
+        private long filePosition;
+        private long fileLength;
+
         public Resolution() {
             status = 200;
             body = Element.CreatePage(Element.CreateHead(), Element.CreateBody());
@@ -121,6 +175,23 @@ public class Route implements HttpHandler {
             return this;
         }
 
+        /**
+         * Sends part of a file. The file is streamed when the response is sent, so it's never read into memory.
+         * The Content-Type is left to the caller.
+         * @param file The file, or null to only send the headers
+         * @param position The first byte to send
+         * @param length The number of bytes to send
+         * @return This resolution
+         */
+        public Resolution file(File file, long position, long length) {
+            this.file = file;
+            this.filePosition = position;
+            this.fileLength = length;
+            this.contentType = ContentType.FILE;
+            status(200);
+            return this;
+        }
+
         public Resolution setContent(String content) {
             this.contentType = ContentType.TEXT;
             this.text = content;
@@ -152,5 +223,21 @@ public class Route implements HttpHandler {
         public HashMap<String, String> getHeaders() {
             return headers;
         }
+
+        public ContentType getContentType() {
+            return contentType;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public long getFilePosition() {
+            return filePosition;
+        }
+
+        public long getFileLength() {
+            return fileLength;
+        }
     }
 }
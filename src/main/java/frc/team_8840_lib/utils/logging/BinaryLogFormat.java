@@ -0,0 +1,76 @@
+package frc.team_8840_lib.utils.logging;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Constants for the binary log format written by {@link frc.team_8840_lib.info.console.BinaryWriter}.
+ *
+ * A binary log starts with a header (the magic bytes followed by a version byte), then a list of records.
+ * Version 2 logs (written by {@link frc.team_8840_lib.info.console.MappedLogWriter}) add a long to the header with the
+ * committed length of the records, since the rest of the file may be preallocated space or a record torn by a power cut.
+ * Each record is laid out as:
+ * <pre>
+ * [1 byte tag][4 byte payload length][payload]
+ * </pre>
+ * The payload of each tag:
+ * <pre>
+ * MESSAGE      - UTF-8 console line
+ * INFO         - UTF-8 encoded info, same format as the text .baydat info lines
+ * DECLARATION  - [int reference][1 byte type (LogType#smallString)][UTF-8 name]
+ * CYCLE        - [int cycle][1 byte flags][int tier mask] (the tier mask is missing in older logs)
+ * DATA         - [int reference][value, depending on the declared type]
+ * </pre>
+ * Values are big endian. Strings are UTF-8, and take up the rest of the payload.
+ * String arrays are [int count] then [int length][UTF-8] per element, double arrays are [int count] then the doubles,
+ * byte arrays take up the rest of the payload.
+ */
+public final class BinaryLogFormat {
+    private BinaryLogFormat() {}
+
+    public static final String EXTENSION = "baybin";
+
+    public static final byte[] MAGIC = new byte[] { 'B', 'A', 'Y', 'B' };
+    public static final byte VERSION = 1;
+    public static final byte MAPPED_VERSION = 2;
+
+    public static final int HEADER_LENGTH = MAGIC.length + 1;
+    public static final int COMMITTED_LENGTH_OFFSET = HEADER_LENGTH;
+    public static final int MAPPED_HEADER_LENGTH = HEADER_LENGTH + 8;
+    public static final int RECORD_HEADER_LENGTH = 5;
+
+    public static final byte MESSAGE = 1;
+    public static final byte INFO = 2;
+    public static final byte DECLARATION = 3;
+    public static final byte CYCLE = 4;
+    public static final byte DATA = 5;
+
+    public static final byte CYCLE_FLAG_EARLY = 0b1;
+
+    /**
+     * Returns whether the data starts with the binary log magic bytes.
+     * @param data The start of the file
+     * @return Whether the data is a binary log
+     */
+    public static boolean isBinaryLog(byte[] data) {
+        if (data.length < MAGIC.length) return false;
+
+        return Arrays.equals(Arrays.copyOf(data, MAGIC.length), MAGIC);
+    }
+
+    /**
+     * Returns whether the file starts with the binary log magic bytes.
+     * @param file The file to check
+     * @return Whether the file is a binary log
+     */
+    public static boolean isBinaryLog(File file) {
+        try (InputStream in = new FileInputStream(file)) {
+            return isBinaryLog(in.readNBytes(MAGIC.length));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package frc.team_8840_lib.utils.logging;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import frc.team_8840_lib.info.console.Logger;
+
+/**
+ * Handles log files on disk: segmented sessions, compressing closed segments, and keeping the log folder under a quota.
+ *
+ * A session is split into segments (base.baydat, base_1.baydat, base_2.baydat, ...), listed in order in a manifest (base.baylog).
+ * Closed segments are gzipped in the background into segment.gz, so readers look for both names.
+ * Reading a session concatenates the segments back into the original log.
+ * A segment can also have a signal index next to it (segment.baysig), which belongs to the session like the segment does.
+ */
+public class LogStorage {
+    public static final String MANIFEST_EXTENSION = "baylog";
+    public static final String COMPRESSED_EXTENSION = "gz";
+    //The sidecar of a signal index (see frc.team_8840_lib.replay.SignalIndex).
+    public static final String INDEX_EXTENSION = "baysig";
+
+    private static final String MANIFEST_HEADER = "8840 log session";
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    //Extensions of logs. Compressed logs keep theirs before the .gz, so a bare .gz file is never taken for a log.
+    private static final String[] LOG_EXTENSIONS = new String[] { "baydat", "baybin", "wpilog" };
+
+    private static ExecutorService compressor;
+
+    private static synchronized ExecutorService getCompressor() {
+        if (compressor == null) {
+            compressor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Log Compression Thread");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+
+        return compressor;
+    }
+
+    /**
+     * Returns the path of a segment of a session.
+     * @param basePath The path of the session without the extension
+     * @param segment The segment number
+     * @param extension The extension of the log
+     * @return The segment path. Segment 0 is just the base path, so a session that never rolls over looks like a normal log file.
+     */
+    public static String getSegmentPath(String basePath, int segment, String extension) {
+        return basePath + (segment == 0 ? "" : "_" + segment) + "." + extension;
+    }
+
+    /**
+     * Rewrites the manifest of a session.
+     * @param manifest The manifest file
+     * @param segments The segment files, in order
+     */
+    public static void writeManifest(File manifest, List<File> segments) {
+        StringBuilder builder = new StringBuilder(MANIFEST_HEADER).append('\n');
+
+        for (File segment : segments) {
+            builder.append(segment.getName()).append('\n');
+        }
+
+        try {
+            //Write to a temporary file first, so the manifest is never half written.
+            File temp = new File(manifest.getPath() + ".tmp");
+            Files.write(temp.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), manifest.toPath(), java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Logger.Log("[LogStorage] Unable to write the log manifest " + manifest.getName() + "!");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the segments listed in a manifest.
+     * @param manifest The manifest file
+     * @return The segment files, in order. Segments that were compressed are returned with their .gz name.
+     * @throws IOException If the manifest can't be read
+     */
+    public static List<File> readManifest(File manifest) throws IOException {
+        List<String> lines = Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8);
+
+        if (lines.isEmpty() || !lines.get(0).equals(MANIFEST_HEADER)) {
+            throw new IOException(manifest.getName() + " is not a log manifest!");
+        }
+
+        ArrayList<File> segments = new ArrayList<>();
+
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) continue;
+
+            File segment = new File(manifest.getParentFile(), line.trim());
+            File compressed = new File(segment.getPath() + "." + COMPRESSED_EXTENSION);
+
+            if (segment.exists()) {
+                segments.add(segment);
+            } else if (compressed.exists()) {
+                segments.add(compressed);
+            } else {
+                Logger.Log("[LogStorage] Segment " + segment.getName() + " of " + manifest.getName() + " is missing. Skipping it.");
+            }
+        }
+
+        return segments;
+    }
+
+    /**
+     * @param logFile A log file
+     * @return The sidecar file the signal index of the log is saved to
+     */
+    public static File getIndexFile(File logFile) {
+        return new File(logFile.getPath() + "." + INDEX_EXTENSION);
+    }
+
+    /**
+     * Reads a log file, decompressing it if it's gzipped.
+     * @param file The log file
+     * @return The contents of the log
+     * @throws IOException If the file can't be read
+     */
+    public static byte[] readLogFile(File file) throws IOException {
+        if (!isCompressed(file)) return Files.readAllBytes(file.toPath());
+
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(Integer.MAX_VALUE - 8, file.length() * 4));
+            in.transferTo(out);
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Opens a log file for reading, decompressing it on the fly if it's gzipped.
+     * @param file The log file
+     * @return A buffered stream of the contents of the log
+     * @throws IOException If the file can't be opened
+     */
+    public static InputStream openLogFile(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+
+        if (isCompressed(file)) in = new GZIPInputStream(in, READ_BUFFER_SIZE);
+
+        return new BufferedInputStream(in, READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Opens every segment of a session as one stream. Each segment is only opened once the one before it has been read.
+     * @param manifest The manifest file of the session
+     * @return A buffered stream of the contents of the whole session
+     * @throws IOException If the manifest can't be read
+     */
+    public static InputStream openSession(File manifest) throws IOException {
+        Iterator<File> segments = readManifest(manifest).iterator();
+
+        return new BufferedInputStream(new SequenceInputStream(new Enumeration<InputStream>() {
+            @Override
+            public boolean hasMoreElements() {
+                return segments.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return openLogFile(segments.next());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }), READ_BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a log file, a gzipped log file, or a whole session from its manifest.
+     * @param file The file
+     * @return A buffered stream of the contents of the log, which supports mark and reset
+     * @throws IOException If the file can't be opened
+     */
+    public static InputStream open(File file) throws IOException {
+        return isManifest(file) ? openSession(file) : openLogFile(file);
+    }
+
+    /**
+     * Reads every segment of a session and joins them into one log.
+     * @param manifest The manifest file of the session
+     * @return The contents of the whole session
+     * @throws IOException If the manifest or a segment can't be read
+     */
+    public static byte[] readSession(File manifest) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        for (File segment : readManifest(manifest)) {
+            out.write(readLogFile(segment));
+        }
+
+        return out.toByteArray();
+    }
+
+    public static boolean isCompressed(File file) {
+        return file.getName().endsWith("." + COMPRESSED_EXTENSION);
+    }
+
+    public static boolean isManifest(File file) {
+        return file.getName().endsWith("." + MANIFEST_EXTENSION);
+    }
+
+    /**
+     * Returns the extension of a log file, ignoring the .gz of compressed files.
+     * @param file The log file
+     * @return The extension, without the dot
+     */
+    public static String getLogExtension(File file) {
+        String name = file.getName();
+
+        if (isCompressed(file)) name = name.substring(0, name.length() - COMPRESSED_EXTENSION.length() - 1);
+
+        return name.substring(name.lastIndexOf(".") + 1);
+    }
+
+    /**
+     * Gzips a closed segment in the background, deleting the original once it's done, then enforces the quota on its folder.
+     * @param segment The segment to compress
+     * @param quotaBytes The quota of the folder in bytes, or 0 for no quota
+     * @param keep Files that the quota can't delete (the files of the current session)
+     */
+    public static void compressInBackground(File segment, long quotaBytes, List<File> keep) {
+        List<File> kept = new ArrayList<>(keep);
+
+        getCompressor().submit(() -> {
+            compress(segment);
+
+            if (quotaBytes > 0) enforceQuota(segment.getParentFile(), quotaBytes, kept);
+        });
+    }
+
+    /**
+     * Waits for the background compression to finish.
+     * @param timeoutMs The longest time to wait, in milliseconds
+     */
+    public static void awaitCompression(long timeoutMs) {
+        try {
+            getCompressor().submit(() -> {}).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            Logger.Log("[LogStorage] Log compression didn't finish in time.");
+        }
+    }
+
+    /**
+     * Gzips a file into file.gz and deletes the original.
+     * @param file The file to compress
+     * @return The compressed file, or the original if it couldn't be compressed
+     */
+    public static File compress(File file) {
+        File compressed = new File(file.getPath() + "." + COMPRESSED_EXTENSION);
+        File temp = new File(compressed.getPath() + ".tmp");
+
+        try (InputStream in = new FileInputStream(file); OutputStream out = new GZIPOutputStream(new FileOutputStream(temp), 65536)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            Logger.Log("[LogStorage] Unable to compress " + file.getName() + ". Leaving it uncompressed.");
+            e.printStackTrace();
+
+            temp.delete();
+            return file;
+        }
+
+        //Only swap the files once the compressed one is complete, so there's always a full copy on disk.
+        if (!temp.renameTo(compressed)) {
+            temp.delete();
+            return file;
+        }
+
+        file.delete();
+
+        //An index only works on the uncompressed file, so it's no use anymore.
+        getIndexFile(file).delete();
+
+        return compressed;
+    }
+
+    /**
+     * Deletes the oldest sessions in a folder until the sessions in it are under the quota.
+     * Only sessions written by the FileWriter are counted or deleted: the manifests in the folder, the segments they list and the indexes of the segments.
+     * Anything else in the folder, even other logs, is never touched.
+     * @param folder The log folder
+     * @param quotaBytes The quota in bytes
+     * @param keep Files of sessions that won't be deleted (either name, compressed or not)
+     */
+    public static void enforceQuota(File folder, long quotaBytes, List<File> keep) {
+        File[] manifests = folder.listFiles(file -> file.isFile() && isManifest(file));
+        if (manifests == null) return;
+
+        //Oldest first. The manifest is rewritten on every rollover, so this is when the session last rolled over.
+        Arrays.sort(manifests, Comparator.comparingLong(File::lastModified));
+
+        ArrayList<List<File>> sessions = new ArrayList<>();
+        long total = 0;
+
+        for (File manifest : manifests) {
+            List<File> files;
+
+            try {
+                files = getSessionFiles(manifest);
+            } catch (IOException e) {
+                //Not a manifest of ours, so it's left alone.
+                continue;
+            }
+
+            for (File file : files) total += file.length();
+
+            sessions.add(files);
+        }
+
+        for (List<File> files : sessions) {
+            if (total <= quotaBytes) break;
+            if (files.stream().anyMatch(file -> isKept(file, keep))) continue;
+
+            for (File file : files) {
+                long length = file.length();
+
+                if (file.delete()) total -= length;
+            }
+
+            Logger.Log("[LogStorage] Deleted the old log session " + files.get(0).getName() + " to stay under the log quota.");
+        }
+    }
+
+    /**
+     * @param manifest The manifest of a session
+     * @return The manifest, then every segment of the session that's still on disk, each followed by its signal index if it has one
+     * @throws IOException If the manifest can't be read
+     */
+    public static List<File> getSessionFiles(File manifest) throws IOException {
+        ArrayList<File> files = new ArrayList<>();
+
+        files.add(manifest);
+
+        for (File segment : readManifest(manifest)) {
+            files.add(segment);
+
+            //The index is named after the uncompressed segment.
+            String path = segment.getPath();
+            if (isCompressed(segment)) path = path.substring(0, path.length() - COMPRESSED_EXTENSION.length() - 1);
+
+            File index = getIndexFile(new File(path));
+            if (index.exists()) files.add(index);
+        }
+
+        return files;
+    }
+
+    /**
+     * Lists the logs in a folder that can be replayed: every session manifest, and every log that isn't a segment of one.
+     * @param folder The folder
+     * @return The logs, sorted by name
+     */
+    public static List<File> listReplayableLogs(File folder) {
+        File[] files = folder.listFiles(file -> file.isFile() && isLogFile(file));
+        if (files == null) return new ArrayList<>();
+
+        Arrays.sort(files);
+
+        ArrayList<File> segments = new ArrayList<>();
+
+        for (File file : files) {
+            if (!isManifest(file)) continue;
+
+            try {
+                segments.addAll(readManifest(file));
+            } catch (IOException e) {
+                Logger.Log("[LogStorage] Unable to read the manifest " + file.getName() + ".");
+            }
+        }
+
+        ArrayList<File> logs = new ArrayList<>();
+
+        for (File file : files) {
+            if (!isKept(file, segments)) logs.add(file);
+        }
+
+        return logs;
+    }
+
+    private static boolean isLogFile(File file) {
+        if (isManifest(file)) return true;
+
+        String name = file.getName();
+
+        for (String extension : LOG_EXTENSIONS) {
+            if (name.endsWith("." + extension) || name.endsWith("." + extension + "." + COMPRESSED_EXTENSION)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean isKept(File file, List<File> keep) {
+        //The files to keep can be relative (the path the writer was given), while listed files are in the folder's form.
+        String path = canonicalPath(file);
+
+        for (File kept : keep) {
+            String keptPath = canonicalPath(kept);
+
+            if (path.equals(keptPath) || path.equals(keptPath + "." + COMPRESSED_EXTENSION)) return true;
+        }
+
+        return false;
+    }
+
+    private static String canonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+}
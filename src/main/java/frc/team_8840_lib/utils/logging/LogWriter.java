@@ -1,8 +1,18 @@
 package frc.team_8840_lib.utils.logging;
 
+import java.util.Arrays;
+
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.utils.buffer.ByteConversions;
+
+/**
+ * Saves what the {@link frc.team_8840_lib.info.console.Logger} logs.
+ * Apart from {@link #initialize()} and {@link #close()}, the Logger only calls a writer from the Logger thread (including the auto logs and flushes),
+ * so a writer doesn't have to be thread safe unless it's used by other code too.
+ */
 public abstract class LogWriter {
     private String[] args;
-    
+
     public LogWriter(String ...args) {
         this.args = args;
     };
@@ -15,6 +25,95 @@ public abstract class LogWriter {
 
     public abstract void close();
 
+    /**
+     * Writes anything that's buffered by the writer. Called when the game phase changes.
+     * Does nothing by default, since most writers don't buffer anything.
+     */
+    public void flush() {}
+
+    /**
+     * Saves the base interval of the auto log cycles, which is how far apart consecutive cycle numbers are.
+     * By default, this is encoded in the text format and passed into {@link #saveInfo(String)}.
+     * @param intervalMs The interval in milliseconds
+     */
+    public void saveInterval(long intervalMs) {
+        saveInfo("ALI" + intervalMs);
+    }
+
+    /**
+     * Saves a rate tier of the auto logs.
+     * By default, this is encoded in the text format and passed into {@link #saveInfo(String)}.
+     * @param tier The index of the tier (the bit in the cycle tier masks)
+     * @param periodMs How often the tier is logged, in milliseconds
+     */
+    public void saveTier(int tier, long periodMs) {
+        saveInfo("ALT" + tier + "/" + periodMs);
+    }
+
+    /**
+     * Saves the start of an auto log cycle.
+     * By default, this is encoded in the text format and passed into {@link #saveInfo(String)}.
+     * @param cycle The cycle number. Cycles where no tier fires are skipped, so this can jump.
+     * @param early Whether the cycle is one of the early cycles, where no data is saved
+     * @param tiers The mask of the rate tiers that were logged in the cycle
+     */
+    public void saveCycle(int cycle, boolean early, int tiers) {
+        saveInfo("ALC" + cycle + (early ? "(s)" : "/" + tiers));
+    }
+
+    /**
+     * Saves the declaration of an auto logged value, linking the name to a reference number.
+     * By default, this is encoded in the text format and passed into {@link #saveInfo(String)}.
+     * @param name The full name of the value (base name + "|" + name)
+     * @param type The type of the value
+     * @param reference The reference number that the datapoints will use
+     */
+    public void saveDeclaration(String name, LogType type, int reference) {
+        saveInfo("a" + name + type.smallString() + "/" + reference);
+    }
+
+    /*
+     * Datapoints. These are all encoded in the text format by default,
+     * but binary writers can override them to skip the string formatting.
+     */
+
+    public void saveData(int reference, String value) {
+        saveInfo("d" + reference + "/" + value);
+    }
+
+    public void saveData(int reference, int value) {
+        saveInfo("d" + reference + "/" + value);
+    }
+
+    public void saveData(int reference, double value) {
+        saveInfo("d" + reference + "/" + value);
+    }
+
+    public void saveData(int reference, boolean value) {
+        saveInfo("d" + reference + "/" + value);
+    }
+
+    public void saveData(int reference, String[] value) {
+        saveInfo("d" + reference + "/" + Arrays.toString(value));
+    }
+
+    public void saveData(int reference, double[] value) {
+        //Saved as [a,b,c], without the spaces that Arrays.toString adds.
+        StringBuilder builder = new StringBuilder("d").append(reference).append("/[");
+
+        for (int i = 0; i < value.length; i++) {
+            if (i > 0) builder.append(',');
+            builder.append(value[i]);
+        }
+
+        saveInfo(builder.append(']').toString());
+    }
+
+    public void saveData(int reference, byte[] value) {
+        //Each byte is saved as a character.
+        saveInfo("d" + reference + "/" + ByteConversions.byteArrayToRawString(value));
+    }
+
     public String[] getArgs() {
         return args;
     }
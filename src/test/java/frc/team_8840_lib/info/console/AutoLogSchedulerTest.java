@@ -0,0 +1,83 @@
+package frc.team_8840_lib.info.console;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class AutoLogSchedulerTest {
+    private static boolean fires(AutoLogScheduler scheduler, long tickCount, int tier) {
+        return (scheduler.firingMask(tickCount) & (1 << tier)) != 0;
+    }
+
+    @Test
+    public void tickIsTheGcdOfEveryTier() {
+        AutoLogScheduler scheduler = new AutoLogScheduler(100);
+
+        scheduler.tierOf(1000);
+        scheduler.tierOf(30);
+
+        assertEquals(10, scheduler.start());
+    }
+
+    @Test
+    public void samePeriodSharesATier() {
+        AutoLogScheduler scheduler = new AutoLogScheduler(100);
+
+        int tier = scheduler.tierOf(0);
+
+        assertEquals(tier, scheduler.tierOf(100));
+        assertEquals(1, scheduler.getTierCount());
+    }
+
+    @Test
+    public void tiersFireAtTheirPeriod() {
+        AutoLogScheduler scheduler = new AutoLogScheduler(100);
+
+        int slow = scheduler.tierOf(1000);
+        int fast = scheduler.tierOf(100);
+
+        scheduler.start();
+
+        for (long tick = 0; tick < 50; tick++) {
+            assertTrue(fires(scheduler, tick, fast));
+            assertEquals(tick % 10 == 0, fires(scheduler, tick, slow), "1000ms tier at tick " + tick);
+        }
+    }
+
+    @Test
+    public void fasterTierAfterStartLowersTheTick() {
+        //Like the robot: the Logger's own tier exists when logging starts, the SwerveDrive is made in robotInit after it.
+        AutoLogScheduler scheduler = new AutoLogScheduler(100);
+
+        int logger = scheduler.tierOf(1000);
+
+        assertEquals(100, scheduler.start());
+
+        int swerve = scheduler.tierOf(20);
+
+        assertEquals(20, scheduler.getTick());
+        assertEquals(20, scheduler.getPeriod(swerve));
+
+        int fallback = scheduler.tierOf(0);
+
+        for (long tick = 0; tick < 100; tick++) {
+            assertTrue(fires(scheduler, tick, swerve), "20ms tier at tick " + tick);
+            assertEquals(tick % 5 == 0, fires(scheduler, tick, fallback), "100ms tier at tick " + tick);
+            assertEquals(tick % 50 == 0, fires(scheduler, tick, logger), "1000ms tier at tick " + tick);
+        }
+    }
+
+    @Test
+    public void tickIsNotLoweredPastTheMinimum() {
+        AutoLogScheduler scheduler = new AutoLogScheduler(100);
+
+        scheduler.start();
+
+        //The gcd of 100 and 101 is 1ms, so the period is rounded instead.
+        int tier = scheduler.tierOf(101);
+
+        assertEquals(100, scheduler.getTick());
+        assertEquals(100, scheduler.getPeriod(tier));
+    }
+}
@@ -0,0 +1,126 @@
+package frc.team_8840_lib.info.console;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class LogRingBufferTest {
+    @Test
+    public void fullBufferDropsEvents() {
+        LogRingBuffer buffer = new LogRingBuffer(8);
+
+        for (int i = 0; i < 8; i++) {
+            LogRingBuffer.Event event = buffer.claim();
+            assertNotNull(event);
+            buffer.publish(event);
+        }
+
+        assertNull(buffer.claim());
+        assertEquals(1, buffer.getDropped());
+
+        //Releasing one event makes room for one more.
+        buffer.release(buffer.poll());
+
+        assertNotNull(buffer.claim());
+        assertNull(buffer.claim());
+        assertEquals(2, buffer.getDropped());
+    }
+
+    @Test
+    public void unpublishedEventBlocksTheOnesAfterIt() {
+        LogRingBuffer buffer = new LogRingBuffer(8);
+
+        LogRingBuffer.Event first = buffer.claim();
+        LogRingBuffer.Event second = buffer.claim();
+
+        buffer.publish(second);
+        assertNull(buffer.poll());
+
+        buffer.publish(first);
+        assertSame(first, buffer.poll());
+        buffer.release(first);
+        assertSame(second, buffer.poll());
+        buffer.release(second);
+
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void concurrentProducersDeliverEveryEventInOrder() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 20000;
+
+        //Small, so the producers keep filling it up and have to retry.
+        LogRingBuffer buffer = new LogRingBuffer(64);
+        AtomicLong retries = new AtomicLong();
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+
+        for (int p = 0; p < producers; p++) {
+            final String group = String.valueOf(p);
+
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                for (int i = 0; i < perProducer; i++) {
+                    LogRingBuffer.Event event;
+
+                    while ((event = buffer.claim()) == null) {
+                        retries.incrementAndGet();
+                        Thread.yield();
+                    }
+
+                    event.kind = LogRingBuffer.Event.LOG;
+                    event.group = group;
+                    event.message = String.valueOf(i);
+                    buffer.publish(event);
+                }
+            });
+
+            threads[p].start();
+        }
+
+        start.countDown();
+
+        int[] next = new int[producers];
+        int received = 0;
+
+        //Consumes on this thread, like the Logger thread.
+        while (received < producers * perProducer) {
+            LogRingBuffer.Event event = buffer.poll();
+
+            if (event == null) {
+                Thread.yield();
+                continue;
+            }
+
+            int producer = Integer.parseInt(event.group);
+
+            assertEquals(next[producer], Integer.parseInt(event.message), "event of producer " + producer);
+            next[producer]++;
+
+            buffer.release(event);
+            received++;
+        }
+
+        for (Thread thread : threads) thread.join();
+
+        for (int p = 0; p < producers; p++) assertEquals(perProducer, next[p]);
+
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+        assertEquals(retries.get(), buffer.getDropped());
+    }
+}
@@ -0,0 +1,150 @@
+package frc.team_8840_lib.input.communication;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.networktables.DoubleArraySubscriber;
+import edu.wpi.first.networktables.DoubleSubscriber;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+public class TelemetryHandleTest {
+    //A local instance, so nothing is sent anywhere.
+    private NetworkTableInstance instance;
+
+    @BeforeEach
+    public void setUp() {
+        instance = NetworkTableInstance.create();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        instance.close();
+    }
+
+    private TelemetryHandle.DoubleHandle doubleHandle(String key) {
+        return new TelemetryHandle.DoubleHandle("test", key, "test/" + key, instance.getDoubleTopic("test/" + key).publish());
+    }
+
+    private DoubleSubscriber subscribe(TelemetryHandle handle) {
+        return instance.getDoubleTopic(handle.getName()).subscribe(Double.NaN);
+    }
+
+    private static void assertCounts(TelemetryHandle handle, long sent, long suppressed) {
+        assertEquals(sent, handle.getSentCount(), "sent");
+        assertEquals(suppressed, handle.getSuppressedCount(), "suppressed");
+    }
+
+    @Test
+    public void unchangedValuesAreOnlyPublishedOnce() {
+        TelemetryHandle.DoubleHandle handle = doubleHandle("speed");
+        DoubleSubscriber subscriber = subscribe(handle);
+
+        //The first value is published even if it's the default of the handle.
+        handle.set(0);
+        handle.set(0);
+        handle.set(-0.0);
+        handle.set(2);
+        handle.set(2);
+
+        assertCounts(handle, 2, 3);
+        assertEquals(2, subscriber.get());
+
+        handle.set(Double.NaN);
+        handle.set(Double.NaN);
+
+        assertCounts(handle, 3, 4);
+        assertEquals(Double.NaN, subscriber.get());
+    }
+
+    @Test
+    public void deadbandComparesToTheLastPublishedValue() {
+        TelemetryHandle.DoubleHandle handle = doubleHandle("angle").setDeadband(0.5);
+        DoubleSubscriber subscriber = subscribe(handle);
+
+        handle.set(0);
+        handle.set(0.25);
+        handle.set(0.5);
+        handle.set(-0.5);
+
+        assertCounts(handle, 1, 3);
+        assertEquals(0, subscriber.get());
+
+        //A slow drift is still published once it's past the deadband from what was sent.
+        handle.set(0.75);
+
+        assertCounts(handle, 2, 3);
+        assertEquals(0.75, subscriber.get());
+
+        handle.set(1);
+
+        assertCounts(handle, 2, 4);
+        assertEquals(0.75, subscriber.get());
+    }
+
+    @Test
+    public void minIntervalHoldsBackChanges() {
+        TelemetryHandle.DoubleHandle handle = doubleHandle("voltage");
+        handle.setMinInterval(10_000);
+
+        DoubleSubscriber subscriber = subscribe(handle);
+
+        handle.set(12);
+        handle.set(11);
+        handle.set(10);
+
+        assertCounts(handle, 1, 2);
+        assertEquals(12, subscriber.get());
+    }
+
+    @Test
+    public void heldBackChangeIsPublishedByTheNextSetAfterTheInterval() throws InterruptedException {
+        TelemetryHandle.DoubleHandle handle = doubleHandle("current");
+        handle.setMinInterval(20);
+
+        DoubleSubscriber subscriber = subscribe(handle);
+
+        handle.set(1);
+        Thread.sleep(50);
+        handle.set(2);
+
+        assertCounts(handle, 2, 0);
+        assertEquals(2, subscriber.get());
+
+        //Unchanged values are still suppressed after the interval.
+        Thread.sleep(50);
+        handle.set(2);
+
+        assertCounts(handle, 2, 1);
+    }
+
+    @Test
+    public void arrayDeadbandAndCopies() {
+        TelemetryHandle.DoubleArrayHandle handle = new TelemetryHandle.DoubleArrayHandle(
+            "test", "modules", "test/modules", instance.getDoubleArrayTopic("test/modules").publish()
+        ).setDeadband(0.5);
+
+        DoubleArraySubscriber subscriber = instance.getDoubleArrayTopic("test/modules").subscribe(new double[0]);
+
+        double[] modules = { 1, 2 };
+
+        handle.set(modules);
+
+        //Changing the array that was passed in doesn't change what the handle compares to.
+        modules[0] = 0.75;
+        handle.set(modules);
+        modules[0] = 3;
+        handle.set(modules);
+
+        assertCounts(handle, 2, 1);
+        assertArrayEquals(new double[] { 3, 2 }, subscriber.get());
+
+        //A different length is always a change.
+        handle.set(new double[] { 3, 2, 0 });
+
+        assertCounts(handle, 3, 1);
+    }
+}
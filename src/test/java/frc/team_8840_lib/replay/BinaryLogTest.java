@@ -0,0 +1,209 @@
+package frc.team_8840_lib.replay;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import frc.team_8840_lib.info.console.BinaryWriter;
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.info.console.MappedLogWriter;
+import frc.team_8840_lib.utils.logging.BinaryLogFormat;
+import frc.team_8840_lib.utils.logging.LogWriter;
+
+public class BinaryLogTest {
+    private static final int EARLY_CYCLES = 3;
+
+    @TempDir
+    File folder;
+
+    //Writes the cycles like the Logger does: a few early cycles, the declarations, then one value of each type per cycle.
+    private static void writeCycles(LogWriter writer, int from, int to) {
+        if (from == 0) {
+            writer.saveInterval(20);
+            writer.saveTier(0, 20);
+
+            for (int cycle = 0; cycle < EARLY_CYCLES; cycle++) writer.saveCycle(cycle, true, 0);
+
+            writer.saveDeclaration("Drive|speed", LogType.DOUBLE, 0);
+            writer.saveDeclaration("Drive|count", LogType.INT, 1);
+            writer.saveDeclaration("Drive|enabled", LogType.BOOLEAN, 2);
+            writer.saveDeclaration("Drive|state", LogType.STRING, 3);
+            writer.saveDeclaration("Drive|modules", LogType.DOUBLE_ARRAY, 4);
+            writer.saveDeclaration("Drive|names", LogType.STRING_ARRAY, 5);
+            writer.saveDeclaration("Drive|raw", LogType.BYTE_ARRAY, 6);
+
+            from = EARLY_CYCLES;
+        }
+
+        for (int cycle = from; cycle < to; cycle++) {
+            writer.saveCycle(cycle, false, 1);
+            writer.saveData(0, cycle * 0.5);
+            writer.saveData(1, cycle);
+            writer.saveData(2, cycle % 2 == 0);
+            writer.saveData(3, "state " + cycle);
+            writer.saveData(4, new double[] { cycle, -cycle });
+            writer.saveData(5, new String[] { "a" + cycle, "" });
+            writer.saveData(6, new byte[] { (byte) cycle, (byte) -cycle });
+        }
+    }
+
+    //The values of a cycle are read back at the cycle after it.
+    private static void assertCycle(ReplayLog log, int cycle) {
+        int at = cycle + 1;
+
+        assertEquals(cycle * 0.5, log.getThreadsMap().get("Drive|speed").getDoubleByCycle(at), "speed at " + cycle);
+        assertEquals(cycle, log.getThreadsMap().get("Drive|count").getIntByCycle(at), "count at " + cycle);
+        assertEquals(cycle % 2 == 0, log.getThreadsMap().get("Drive|enabled").getBooleanByCycle(at), "enabled at " + cycle);
+        assertEquals("state " + cycle, log.getThreadsMap().get("Drive|state").getByCycle(at));
+        assertArrayEquals(new double[] { cycle, -cycle }, (double[]) log.getThreadsMap().get("Drive|modules").getByCycle(at));
+        assertArrayEquals(new String[] { "a" + cycle, "" }, (String[]) log.getThreadsMap().get("Drive|names").getByCycle(at));
+        assertArrayEquals(new byte[] { (byte) cycle, (byte) -cycle }, (byte[]) log.getThreadsMap().get("Drive|raw").getByCycle(at));
+    }
+
+    private static void assertCycles(ReplayLog log, int cycles) {
+        assertEquals(20, log.getInterval());
+        assertEquals(cycles, log.getCycles());
+        assertEquals(EARLY_CYCLES, log.getEarlyCycles());
+
+        for (int cycle = EARLY_CYCLES; cycle < cycles; cycle++) assertCycle(log, cycle);
+    }
+
+    @Test
+    public void binaryLogRoundTrip() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        BinaryWriter writer = new BinaryWriter(file.getPath());
+        writer.initialize();
+        writeCycles(writer, 0, 200);
+        writer.close();
+
+        ReplayLog log = ReplayLog.read(file);
+
+        assertFalse(log.isTruncated());
+        assertCycles(log, 200);
+        assertEquals(2, log.getMessageCount());
+    }
+
+    @Test
+    public void mappedLogRoundTrip() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        //Small chunks, so the records cross several mapped regions.
+        MappedLogWriter writer = new MappedLogWriter(file.getPath()).setChunkSize(4096);
+        writer.initialize();
+        writeCycles(writer, 0, 200);
+        writer.close();
+
+        //The unused end of the last chunk is cut off when closing.
+        assertEquals(BinaryLogFormat.MAPPED_HEADER_LENGTH + writer.getCommittedLength(), file.length());
+
+        ReplayLog log = ReplayLog.read(file);
+
+        assertFalse(log.isTruncated());
+        assertCycles(log, 200);
+    }
+
+    @Test
+    public void recordCutOffAtTheEndIsDropped() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        BinaryWriter writer = new BinaryWriter(file.getPath());
+        writer.initialize();
+        writeCycles(writer, 0, 100);
+        writer.flush();
+
+        byte[] written = Files.readAllBytes(file.toPath());
+        writer.close();
+
+        //The last record is the byte array of cycle 99 (5 + 4 + 2 bytes), cut off in its payload, then in its header.
+        for (int cut : new int[] { 3, 9 }) {
+            ReplayLog log = new ReplayLog(Arrays.copyOf(written, written.length - cut));
+
+            assertTrue(log.isTruncated());
+            assertEquals(100, log.getCycles());
+            assertEquals(99 * 0.5, log.getThreadsMap().get("Drive|speed").getDoubleByCycle(100));
+            assertArrayEquals(new byte[] { 98, -98 }, (byte[]) log.getThreadsMap().get("Drive|raw").getByCycle(100));
+        }
+    }
+
+    @Test
+    public void mappedLogStopsAtTheCommittedLength() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        MappedLogWriter writer = new MappedLogWriter(file.getPath()).setChunkSize(4096);
+        writer.initialize();
+        writeCycles(writer, 0, 100);
+        writer.flush();
+
+        //What's on the disk if the robot loses power now: the preallocated, zeroed end of the chunk is still there.
+        byte[] crashed = Files.readAllBytes(file.toPath());
+
+        writeCycles(writer, 100, 150);
+        writer.close();
+
+        assertTrue(crashed.length > BinaryLogFormat.MAPPED_HEADER_LENGTH + ByteBuffer.wrap(crashed).getLong(BinaryLogFormat.COMMITTED_LENGTH_OFFSET));
+
+        ReplayLog log = new ReplayLog(crashed);
+
+        assertFalse(log.isTruncated());
+        assertCycles(log, 100);
+    }
+
+    @Test
+    public void mappedLogOnlyCommitsForcedRecords() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        MappedLogWriter writer = new MappedLogWriter(file.getPath()).setForceInterval(0);
+        writer.initialize();
+        writeCycles(writer, 0, 50);
+
+        //Nothing was forced yet, so the header doesn't count any of the records.
+        ReplayLog log = new ReplayLog(Files.readAllBytes(file.toPath()));
+
+        assertFalse(log.isTruncated());
+        assertEquals(0, log.getCycles());
+
+        writer.flush();
+
+        log = new ReplayLog(Files.readAllBytes(file.toPath()));
+
+        assertFalse(log.isTruncated());
+        assertCycles(log, 50);
+
+        writer.close();
+    }
+
+    @Test
+    public void mappedLogWithATornRecordIsTruncated() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        MappedLogWriter writer = new MappedLogWriter(file.getPath());
+        writer.initialize();
+        writeCycles(writer, 0, 100);
+        writer.close();
+
+        byte[] written = Files.readAllBytes(file.toPath());
+
+        //A data record of a double whose payload never made it to the disk, but is counted in the committed length.
+        byte[] torn = Arrays.copyOf(written, written.length + 9);
+        ByteBuffer buffer = ByteBuffer.wrap(torn);
+        buffer.position(written.length);
+        buffer.put(BinaryLogFormat.DATA).putInt(12).putInt(0);
+        buffer.putLong(BinaryLogFormat.COMMITTED_LENGTH_OFFSET, torn.length - BinaryLogFormat.MAPPED_HEADER_LENGTH + 8);
+
+        ReplayLog log = new ReplayLog(torn);
+
+        assertTrue(log.isTruncated());
+        assertCycles(log, 100);
+    }
+}
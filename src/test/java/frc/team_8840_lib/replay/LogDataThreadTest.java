@@ -0,0 +1,79 @@
+package frc.team_8840_lib.replay;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import frc.team_8840_lib.info.console.Logger.LogType;
+
+public class LogDataThreadTest {
+    //A 100ms signal in a 20ms log: a sample every 5 cycles, starting at cycle 3, with a long gap (disabled) in the middle.
+    private static LogDataThread gappedThread() {
+        LogDataThread thread = new LogDataThread("Drive|speed", LogType.DOUBLE);
+
+        for (int cycle = 3; cycle < 500; cycle += 5) thread.push(String.valueOf(cycle), cycle);
+        for (int cycle = 2003; cycle < 2500; cycle += 5) thread.push(String.valueOf(cycle), cycle);
+
+        return thread;
+    }
+
+    //The value at a cycle is the last sample at or before it, or the first sample before any of them.
+    private static double expected(int cycle) {
+        if (cycle < 3) return 3;
+        if (cycle >= 500 && cycle < 2003) return 498;
+        if (cycle >= 2498) return 2498;
+
+        return cycle - (cycle - 3) % 5;
+    }
+
+    @Test
+    public void emptyThreadHasNoValue() {
+        LogDataThread thread = new LogDataThread("Drive|speed", LogType.DOUBLE);
+
+        assertEquals(-1, thread.getIndexByCycle(10));
+        assertNull(thread.getByCycle(10));
+    }
+
+    @Test
+    public void lookupMovingForward() {
+        LogDataThread thread = gappedThread();
+
+        for (int cycle = 0; cycle < 2600; cycle++) {
+            assertEquals(expected(cycle), thread.getDoubleByCycle(cycle), "cycle " + cycle);
+        }
+    }
+
+    @Test
+    public void lookupMovingBackwardAndJumping() {
+        LogDataThread thread = gappedThread();
+
+        for (int cycle = 2600; cycle >= 0; cycle -= 7) {
+            assertEquals(expected(cycle), thread.getDoubleByCycle(cycle), "cycle " + cycle);
+        }
+
+        Random random = new Random(8840);
+
+        for (int i = 0; i < 2000; i++) {
+            int cycle = random.nextInt(2600);
+            assertEquals(expected(cycle), thread.getDoubleByCycle(cycle), "cycle " + cycle);
+        }
+    }
+
+    @Test
+    public void arraysAreLookedUpByCycle() {
+        LogDataThread thread = new LogDataThread("Drive|modules", LogType.DOUBLE_ARRAY);
+
+        thread.push("[1.0,2.0]", 1);
+        thread.push("[3.5, 4.5, 5]", 4);
+        thread.push("[]", 6);
+
+        assertArrayEquals(new double[] { 1, 2 }, (double[]) thread.getByCycle(0));
+        assertArrayEquals(new double[] { 1, 2 }, (double[]) thread.getByCycle(3));
+        assertArrayEquals(new double[] { 3.5, 4.5, 5 }, (double[]) thread.getByCycle(5));
+        assertArrayEquals(new double[0], (double[]) thread.getByCycle(100));
+    }
+}
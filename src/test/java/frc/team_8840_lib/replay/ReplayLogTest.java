@@ -0,0 +1,92 @@
+package frc.team_8840_lib.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ReplayLogTest {
+    @Test
+    public void lowerIntervalScalesTheCyclesReadSoFar() {
+        //The tick is lowered from 100ms to 20ms after cycle 4. The logger continues at (5 - 1) * 5 + 1 = 21.
+        String text = String.join("\n",
+            "ALI100",
+            "ALT0/100",
+            "ALC0(s)",
+            "ALC1(s)",
+            "ALC2(s)",
+            "aBase|vd/0",
+            "ALC3/1",
+            "d0/1.0",
+            "ALC4/1",
+            "d0/2.0",
+            "ALI20",
+            "ALT1/20",
+            "ALC21/3",
+            "d0/3.0",
+            "ALC22/2",
+            "d0/4.0"
+        );
+
+        ReplayLog log = new ReplayLog(text);
+        LogDataThread thread = log.getThreadsMap().get("Base|v");
+
+        assertEquals(20, log.getInterval());
+        assertEquals(23, log.getCycles());
+
+        //Cycle 4 (400ms) at 100ms is cycle 20 at 20ms, its value is at the cycle after it.
+        assertEquals(1.0, thread.getDoubleByCycle(16));
+        assertEquals(1.0, thread.getDoubleByCycle(20));
+        assertEquals(2.0, thread.getDoubleByCycle(21));
+        assertEquals(3.0, thread.getDoubleByCycle(22));
+        assertEquals(4.0, thread.getDoubleByCycle(23));
+    }
+
+    @Test
+    public void badLineInTheMiddleIsSkipped() {
+        String text = String.join("\n",
+            "ALI20",
+            "ALC0(s)",
+            "aBase|vd/0",
+            "ALC1/1",
+            "d0/1.0",
+            "ALC2/1",
+            "d0/not a number",
+            "d7/2.0",
+            "ALC3/1",
+            "d0/3.0",
+            ""
+        );
+
+        ReplayLog log = new ReplayLog(text);
+        LogDataThread thread = log.getThreadsMap().get("Base|v");
+
+        assertFalse(log.isTruncated());
+        assertEquals(2, log.getSkippedLines());
+        assertEquals(4, log.getCycles());
+
+        assertEquals(1.0, thread.getDoubleByCycle(3));
+        assertEquals(3.0, thread.getDoubleByCycle(4));
+    }
+
+    @Test
+    public void unfinishedLastLineCutsOffTheLog() {
+        //The writer stopped in the middle of the last line.
+        String text = String.join("\n",
+            "ALI20",
+            "ALC0(s)",
+            "aBase|vd/0",
+            "ALC1/1",
+            "d0/1.0",
+            "ALC2/1",
+            "d0/2.5e"
+        );
+
+        ReplayLog log = new ReplayLog(text);
+
+        assertTrue(log.isTruncated());
+        assertEquals(0, log.getSkippedLines());
+        assertEquals(1.0, log.getThreadsMap().get("Base|v").getDoubleByCycle(3));
+    }
+}
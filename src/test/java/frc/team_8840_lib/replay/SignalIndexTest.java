@@ -0,0 +1,171 @@
+package frc.team_8840_lib.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import frc.team_8840_lib.info.console.BinaryWriter;
+import frc.team_8840_lib.info.console.Logger.LogType;
+import frc.team_8840_lib.info.console.MappedLogWriter;
+import frc.team_8840_lib.utils.logging.LogWriter;
+
+public class SignalIndexTest {
+    @TempDir
+    File folder;
+
+    /**
+     * Collects the text format of the log, like the FileWriter saves it.
+     */
+    private static class TextWriter extends LogWriter {
+        private final StringBuilder text = new StringBuilder();
+
+        @Override
+        public void initialize() {}
+
+        @Override
+        public void saveLine(String line) {}
+
+        @Override
+        public void saveInfo(String encodedInfo) {
+            text.append(encodedInfo).append('\n');
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    //A 20ms tier with a value every cycle, and a 100ms tier with a value every 5th cycle.
+    private static void writeLog(LogWriter writer, int cycles) {
+        writer.saveInterval(20);
+        writer.saveTier(0, 20);
+        writer.saveTier(1, 100);
+
+        for (int cycle = 0; cycle < 3; cycle++) writer.saveCycle(cycle, true, 0);
+
+        writer.saveDeclaration("Drive|speed", LogType.DOUBLE, 0);
+        writer.saveDeclaration("Drive|enabled", LogType.BOOLEAN, 1);
+        writer.saveDeclaration("Drive|state", LogType.STRING, 2);
+        writer.saveDeclaration("Drive|modules", LogType.DOUBLE_ARRAY, 3);
+        writer.saveDeclaration("Drive|names", LogType.STRING_ARRAY, 4);
+        writer.saveDeclaration("Drive|raw", LogType.BYTE_ARRAY, 5);
+
+        for (int cycle = 3; cycle < cycles; cycle++) {
+            boolean slow = cycle % 5 == 0;
+
+            writer.saveCycle(cycle, false, slow ? 3 : 1);
+            writer.saveData(0, cycle * 0.25);
+            writer.saveData(1, cycle % 3 == 0);
+
+            if (slow) {
+                writer.saveData(2, "state " + cycle);
+                writer.saveData(3, new double[] { cycle, cycle / 2.0 });
+                writer.saveData(4, new String[] { "fl" + cycle, "fr" });
+                writer.saveData(5, new byte[] { (byte) cycle, 0, -1 });
+            }
+        }
+
+        writer.close();
+    }
+
+    private static void assertMatchesReplayLog(File file) throws IOException {
+        ReplayLog log = ReplayLog.read(file);
+
+        //The first open builds the index and saves the sidecar, the second one loads it.
+        for (int pass = 0; pass < 2; pass++) {
+            SignalIndex index = SignalIndex.open(file);
+
+            assertTrue(SignalIndex.getSidecarFile(file).exists());
+            assertEquals(log.getInterval(), index.getInterval());
+            assertEquals(log.getCycles(), index.getCycles());
+            assertEquals(log.getThreadsMap().size(), index.getSignalNames().size());
+
+            for (String name : index.getSignalNames()) {
+                LogDataThread expected = log.getThreadsMap().get(name);
+                LogDataThread thread = index.read(name);
+
+                assertEquals(expected.getDataType(), thread.getDataType(), name);
+                assertEquals(expected.size(), thread.size(), name);
+
+                for (int i = 0; i < thread.size(); i++) {
+                    assertEquals(expected.getCycle(i), thread.getCycle(i), name + " cycle of " + i);
+                    assertTrue(Objects.deepEquals(expected.getByIndex(i), thread.getByIndex(i)), name + " value of " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void textLogMatchesReplayLog() throws IOException {
+        File file = new File(folder, "log.baydat");
+
+        TextWriter writer = new TextWriter();
+        writeLog(writer, 300);
+        Files.write(file.toPath(), writer.text.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertMatchesReplayLog(file);
+    }
+
+    @Test
+    public void textLogWithBadLinesMatchesReplayLog() throws IOException {
+        File file = new File(folder, "log.baydat");
+
+        TextWriter writer = new TextWriter();
+        writeLog(writer, 300);
+
+        //A value that can't be read and a reference that was never declared, in the middle of the log.
+        String text = writer.text.toString().replace("ALC151/1\n", "ALC151/1\nd0/not a number\nd99/1.0\n");
+        Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, ReplayLog.read(file).getSkippedLines());
+        assertMatchesReplayLog(file);
+    }
+
+    @Test
+    public void binaryLogMatchesReplayLog() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        BinaryWriter writer = new BinaryWriter(file.getPath());
+        writer.initialize();
+        writeLog(writer, 300);
+
+        assertMatchesReplayLog(file);
+    }
+
+    @Test
+    public void mappedLogMatchesReplayLog() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        MappedLogWriter writer = new MappedLogWriter(file.getPath()).setChunkSize(4096);
+        writer.initialize();
+        writeLog(writer, 300);
+
+        assertMatchesReplayLog(file);
+    }
+
+    @Test
+    public void changedLogIsIndexedAgain() throws IOException {
+        File file = new File(folder, "log.baybin");
+
+        BinaryWriter writer = new BinaryWriter(file.getPath());
+        writer.initialize();
+        writeLog(writer, 100);
+
+        assertEquals(100, SignalIndex.open(file).getCycles());
+
+        //Same file, longer log: the old sidecar doesn't match it anymore.
+        writer = new BinaryWriter(file.getPath());
+        writer.initialize();
+        writeLog(writer, 300);
+
+        assertEquals(300, SignalIndex.open(file).getCycles());
+        assertMatchesReplayLog(file);
+    }
+}
@@ -0,0 +1,59 @@
+package frc.team_8840_lib.utils.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class FileDownloadTest {
+    private static final long SIZE = 1000;
+
+    private static void assertRange(long first, long last, String header) {
+        assertArrayEquals(new long[] { first, last }, FileDownload.parseRange(header, SIZE), header);
+    }
+
+    @Test
+    public void closedAndOpenRanges() {
+        assertRange(0, 99, "bytes=0-99");
+        assertRange(500, 500, "bytes=500-500");
+        assertRange(100, 999, "bytes=100-");
+        assertRange(1, 2, "  bytes= 1 - 2 ");
+    }
+
+    @Test
+    public void lastByteIsClampedToTheFile() {
+        assertRange(0, 999, "bytes=0-5000");
+        assertRange(999, 999, "bytes=999-1000");
+    }
+
+    @Test
+    public void suffixRanges() {
+        assertRange(900, 999, "bytes=-100");
+        assertRange(0, 999, "bytes=-1000");
+        assertRange(0, 999, "bytes=-5000");
+    }
+
+    @Test
+    public void unsatisfiableRangesStartAtOrPastTheEnd() {
+        //These are answered with 416, since the first byte isn't in the file.
+        assertRange(1000, 999, "bytes=1000-");
+        assertRange(2000, 999, "bytes=2000-3000");
+        assertRange(SIZE, SIZE, "bytes=-0");
+
+        assertArrayEquals(new long[] { 0, -1 }, FileDownload.parseRange("bytes=0-", 0));
+        assertArrayEquals(new long[] { 0, -1 }, FileDownload.parseRange("bytes=-10", 0));
+    }
+
+    @Test
+    public void unusableHeadersAreIgnored() {
+        //The whole file is sent for these.
+        assertNull(FileDownload.parseRange("bytes=5-2", SIZE));
+        assertNull(FileDownload.parseRange("bytes=0-1,5-6", SIZE));
+        assertNull(FileDownload.parseRange("items=0-1", SIZE));
+        assertNull(FileDownload.parseRange("bytes=-", SIZE));
+        assertNull(FileDownload.parseRange("bytes=5", SIZE));
+        assertNull(FileDownload.parseRange("bytes=a-b", SIZE));
+        assertNull(FileDownload.parseRange("bytes=-1-2", SIZE));
+        assertNull(FileDownload.parseRange("bytes=99999999999999999999-", SIZE));
+    }
+}
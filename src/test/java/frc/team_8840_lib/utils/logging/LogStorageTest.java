@@ -0,0 +1,119 @@
+package frc.team_8840_lib.utils.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogStorageTest {
+    @TempDir
+    File folder;
+
+    private File file(String name, int size, long modified) throws IOException {
+        File file = new File(folder, name);
+        Files.write(file.toPath(), new byte[size]);
+        file.setLastModified(modified);
+        return file;
+    }
+
+    //A session of two segments, the first one compressed, with the manifest written last.
+    private List<File> session(String base, long modified) throws IOException {
+        ArrayList<File> segments = new ArrayList<>();
+        segments.add(file(base + ".baydat.gz", 100, modified));
+        segments.add(file(base + "_1.baydat", 100, modified));
+
+        File manifest = new File(folder, base + "." + LogStorage.MANIFEST_EXTENSION);
+        LogStorage.writeManifest(manifest, List.of(new File(folder, base + ".baydat"), segments.get(1)));
+        manifest.setLastModified(modified);
+
+        segments.add(0, manifest);
+        return segments;
+    }
+
+    @Test
+    public void quotaOnlyDeletesOldSessions() throws IOException {
+        List<File> oldest = session("old", 1000_000);
+        List<File> older = session("older", 2000_000);
+        List<File> current = session("current", 3000_000);
+
+        //Files the library didn't write, even ones that look like logs, are never counted or deleted.
+        File archive = file("photos.gz", 10_000, 1000);
+        File otherLog = file("other.baydat", 10_000, 1000);
+
+        LogStorage.enforceQuota(folder, 500, List.of(current.get(0), current.get(2)));
+
+        for (File file : oldest) assertFalse(file.exists(), file.getName());
+        for (File file : older) assertTrue(file.exists(), file.getName());
+        for (File file : current) assertTrue(file.exists(), file.getName());
+
+        assertTrue(archive.exists());
+        assertTrue(otherLog.exists());
+    }
+
+    @Test
+    public void currentSessionIsKeptWithARelativePath() throws IOException {
+        List<File> current = session("current", 1000_000);
+
+        //The writer keeps the path it was given, which doesn't have to be absolute.
+        File relative = new File(new File("").getAbsoluteFile().toPath().relativize(current.get(2).toPath()).toString());
+
+        LogStorage.enforceQuota(folder, 0, List.of(relative));
+
+        for (File file : current) assertTrue(file.exists(), file.getName());
+    }
+
+    @Test
+    public void indexesAreDeletedWithTheirSession() throws IOException {
+        List<File> oldest = session("old", 1000_000);
+        List<File> current = session("current", 2000_000);
+
+        File oldIndex = file("old_1.baydat." + LogStorage.INDEX_EXTENSION, 10_000, 1000_000);
+        File compressedIndex = file("old.baydat." + LogStorage.INDEX_EXTENSION, 10_000, 1000_000);
+        File currentIndex = file("current_1.baydat." + LogStorage.INDEX_EXTENSION, 10, 2000_000);
+
+        assertTrue(LogStorage.getSessionFiles(oldest.get(0)).containsAll(List.of(oldIndex, compressedIndex)));
+
+        //The indexes count towards the quota: without them, both sessions fit.
+        LogStorage.enforceQuota(folder, 1000, List.of(current.get(0), current.get(2)));
+
+        for (File file : oldest) assertFalse(file.exists(), file.getName());
+        assertFalse(oldIndex.exists());
+        assertFalse(compressedIndex.exists());
+
+        for (File file : current) assertTrue(file.exists(), file.getName());
+        assertTrue(currentIndex.exists());
+    }
+
+    @Test
+    public void compressingASegmentDeletesItsIndex() throws IOException {
+        File segment = file("match.baydat", 100, 1000);
+        File index = file("match.baydat." + LogStorage.INDEX_EXTENSION, 100, 1000);
+
+        File compressed = LogStorage.compress(segment);
+
+        assertTrue(compressed.exists());
+        assertFalse(segment.exists());
+        assertFalse(index.exists());
+    }
+
+    @Test
+    public void bareCompressedFilesAreNotReplayable() throws IOException {
+        file("photos.gz", 10, 1000);
+        file("match.baybin.gz", 10, 1000);
+        file("match.wpilog", 10, 1000);
+
+        List<File> logs = LogStorage.listReplayableLogs(folder);
+
+        assertEquals(2, logs.size());
+        assertEquals("match.baybin.gz", logs.get(0).getName());
+        assertEquals("match.wpilog", logs.get(1).getName());
+    }
+}